@@ -1,45 +0,0 @@
-package XXL.Chess.GameObject.chessPieces;
-
-import processing.core.PImage;
-import XXL.Chess.physics.Vector2D;
-import XXL.Chess.movement.Movement;
-import XXL.Chess.movement.RookMovement;
-import XXL.Chess.GameObject.Tile;
-
-import java.util.HashMap;
-
-/**
- * Class representing a Rook chess piece.
- */
-public class Rook extends ChessPiece {
-
-    /**
-     * Constructor for the Rook class.
-     * @param coordinate Initial coordinate of the Rook
-     * @param isWhite True if the Rook is white, false if black
-     * @param image Image representing the Rook
-     */
-    public Rook(Vector2D coordinate, boolean isWhite, PImage image) {
-        super(coordinate, isWhite, image);
-    }
-
-    /**
-     * Generates possible moves for the Rook on the chessboard.
-     * @param chessboard 2D array representing the chessboard tiles
-     * @param coordinate Current coordinate of the Rook
-     * @return HashMap containing possible moves mapped to their respective information
-     */
-    @Override
-    public HashMap<Vector2D, int[]> makePossibleMoves(Tile[][] chessboard, Vector2D coordinate) {
-        HashMap<Vector2D, int[]> moves = new HashMap<>();
-        try {
-            // Uses RookMovement class to calculate possible moves
-            Movement movement = new RookMovement(chessboard, coordinate);
-            moves = movement.getPossibleMoves(coordinate);
-        } catch(Exception e) {
-            // Handle any exceptions that might occur during movement calculation
-            // Currently catching all exceptions; adjust as per specific needs
-        }
-        return moves;
-    }
-}
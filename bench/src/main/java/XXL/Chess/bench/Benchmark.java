@@ -0,0 +1,56 @@
+package XXL.Chess.bench;
+
+/**
+ * Minimal timing harness: runs a task for a number of warm-up rounds, then measures it.
+ */
+public final class Benchmark {
+
+    /**
+     * A unit of benchmark work.
+     */
+    public interface Task {
+
+        /**
+         * Runs the work once.
+         *
+         * @return The number of operations performed, used to report throughput
+         * @throws Exception If the work fails
+         */
+        long run() throws Exception;
+    }
+
+    private Benchmark() {
+    }
+
+    /**
+     * Runs and times a task, printing the mean time per round and the throughput.
+     *
+     * @param name       Name printed with the result
+     * @param warmup     Number of untimed rounds run first
+     * @param iterations Number of timed rounds
+     * @param unit       Name of the operations counted by the task
+     * @param task       The work to measure
+     * @return Operations per second over the timed rounds
+     * @throws Exception If the task fails
+     */
+    public static double measure(String name, int warmup, int iterations, String unit, Task task) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += task.run();
+        }
+
+        long operations = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operations += task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double perSecond = operations * 1e9 / elapsed;
+        System.out.printf("%-32s %10.3f ms/round %14.0f %s/s%n", name, elapsed / 1e6 / iterations, perSecond, unit);
+        if (sink == 42) {
+            System.out.println(); // Keeps the warm-up results live
+        }
+        return perSecond;
+    }
+}
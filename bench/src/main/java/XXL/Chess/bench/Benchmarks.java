@@ -0,0 +1,444 @@
+package XXL.Chess.bench;
+
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.PackedState;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.Search;
+import XXL.Chess.engine.db.GameDatabase;
+import XXL.Chess.engine.record.BinaryGameCodec;
+import XXL.Chess.engine.record.GameReader;
+import XXL.Chess.engine.record.GameRecord;
+import XXL.Chess.engine.record.GameReplay;
+import XXL.Chess.engine.record.GameWriter;
+import XXL.Chess.engine.record.MoveJournal;
+import XXL.Chess.engine.server.GameSession;
+import XXL.Chess.engine.server.NetProtocol;
+import XXL.Chess.engine.server.NetServer;
+import XXL.Chess.engine.server.SessionManager;
+import XXL.Chess.engine.server.SessionServer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Entry point for the engine benchmarks.
+ * Pass benchmark names as arguments to run a subset; with no arguments every benchmark runs.
+ */
+public class Benchmarks {
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args Names of the benchmarks to run
+     * @throws Exception If a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        boolean all = args.length == 0;
+        for (String name : new String[] { "perft", "search", "notation", "record", "codec", "database", "journal", "replay", "server", "net", "state", "boards" }) {
+            if (all || contains(args, name)) {
+                run(name);
+            }
+        }
+    }
+
+    private static void run(String name) throws Exception {
+        switch (name) {
+            case "perft":
+                Position position = Position.startPosition();
+                Benchmark.measure("perft 3 (start position)", 3, 5, "nodes", () -> perft(position, 3));
+                break;
+            case "search":
+                Benchmark.measure("search depth 4 (start position)", 1, 3, "nodes", () -> {
+                    Search search = new Search(Position.startPosition());
+                    search.run(4, null);
+                    return search.getNodes();
+                });
+                break;
+            case "notation":
+                String[] texts = notationSamples(256);
+                Position target = Position.startPosition();
+                Benchmark.measure("notation parse", 3, 10, "positions", () -> {
+                    for (int round = 0; round < 1000; round++) {
+                        for (String text : texts) {
+                            Notation.parse(text, 0, text.length(), target);
+                        }
+                    }
+                    return 1000L * texts.length;
+                });
+                char[] out = new char[Notation.maxLength(target)];
+                Position[] samples = new Position[texts.length];
+                for (int i = 0; i < texts.length; i++) {
+                    samples[i] = Notation.parse(texts[i]);
+                }
+                Benchmark.measure("notation write", 3, 10, "positions", () -> {
+                    long length = 0;
+                    for (int round = 0; round < 1000; round++) {
+                        for (Position sample : samples) {
+                            length += Notation.write(sample, out, 0);
+                        }
+                    }
+                    return length > 0 ? 1000L * samples.length : 0;
+                });
+                break;
+            case "record":
+                File file = File.createTempFile("xxl-bench", ".xgn");
+                file.deleteOnExit();
+                GameRecord game = sampleGame(200);
+                Benchmark.measure("record write 1000 games", 1, 3, "moves", () -> {
+                    try (GameWriter writer = new GameWriter(new BufferedWriter(new FileWriter(file)))) {
+                        for (int i = 0; i < 1000; i++) {
+                            writer.write(game);
+                        }
+                    }
+                    return 1000L * game.moveCount();
+                });
+                GameRecord read = new GameRecord();
+                Benchmark.measure("record read 1000 games", 1, 3, "moves", () -> {
+                    long moves = 0;
+                    try (GameReader reader = new GameReader(new FileReader(file))) {
+                        while (reader.next(read)) {
+                            moves += read.moveCount();
+                        }
+                    }
+                    return moves;
+                });
+                break;
+            case "codec":
+                GameRecord[] games = new GameRecord[100];
+                for (int i = 0; i < games.length; i++) {
+                    games[i] = sampleGame(40 + i * 3);
+                }
+                BinaryGameCodec codec = new BinaryGameCodec();
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+                long moveTotal = 0;
+                for (GameRecord sample : games) {
+                    moveTotal += sample.moveCount();
+                }
+                long moveCount = moveTotal;
+                Benchmark.measure("codec encode 100 games", 2, 5, "moves", () -> {
+                    buffer.clear();
+                    for (GameRecord sample : games) {
+                        codec.encode(sample, buffer);
+                    }
+                    return moveCount;
+                });
+                buffer.flip();
+                int binarySize = buffer.limit();
+                GameRecord decoded = new GameRecord();
+                Benchmark.measure("codec decode 100 games", 2, 5, "moves", () -> {
+                    buffer.rewind();
+                    while (codec.decode(buffer, decoded)) {
+                        // Decoding is the work being measured
+                    }
+                    return moveCount;
+                });
+
+                StringWriter text = new StringWriter();
+                GameWriter textWriter = new GameWriter(text);
+                for (GameRecord sample : games) {
+                    textWriter.write(sample);
+                }
+                System.out.printf("%-32s %10d bytes text %10d bytes binary (%.2f bits/move, %.1fx smaller)%n",
+                        "codec size 100 games", text.getBuffer().length(), binarySize,
+                        binarySize * 8.0 / moveCount, text.getBuffer().length() / (double) binarySize);
+                break;
+            case "database":
+                Path directory = Files.createTempDirectory("xxl-bench");
+                Path path = directory.resolve("games.xgdb");
+                GameRecord[] openings = new GameRecord[64];
+                for (int i = 0; i < openings.length; i++) {
+                    openings[i] = sampleGame(60 + i);
+                }
+                try (GameDatabase database = GameDatabase.open(path)) {
+                    Benchmark.measure("database append 5000 games", 0, 1, "games", () -> {
+                        for (int i = 0; i < 5000; i++) {
+                            database.append(openings[i % openings.length]);
+                        }
+                        return 5000;
+                    });
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    for (int threads : new int[] { 1, cores }) {
+                        Benchmark.measure("database index " + threads + " thread(s)", 0, 1, "games", () -> {
+                            database.rebuildIndex(threads);
+                            return 5000;
+                        });
+                    }
+                    Position probe = openings[0].replay(20);
+                    Benchmark.measure("database lookup", 100, 1000, "lookups", () -> database.findGames(probe).length > 0 ? 1 : 0);
+                } finally {
+                    Files.deleteIfExists(path);
+                    Files.deleteIfExists(directory.resolve("games.xgdb.idx"));
+                    Files.delete(directory);
+                }
+                break;
+            case "journal":
+                GameRecord played = sampleGame(200);
+                Path journalPath = Files.createTempFile("xxl-journal", ".bin");
+                try {
+                    // Forcing after every move, as a naive journal would, against one force per commit interval
+                    try (MoveJournal journal = MoveJournal.create(journalPath, played.getStart(), 0)) {
+                        Benchmark.measure("journal force every move", 0, 3, "moves", () -> {
+                            for (int i = 0; i < 100; i++) {
+                                journal.append(played.getMove(i), 60000, 60000);
+                                journal.sync();
+                            }
+                            return 100;
+                        });
+                    }
+                    try (MoveJournal journal = MoveJournal.create(journalPath, played.getStart(), 10)) {
+                        Benchmark.measure("journal group commit", 0, 3, "moves", () -> {
+                            for (int i = 0; i < 100; i++) {
+                                journal.append(played.getMove(i), 60000, 60000);
+                            }
+                            journal.sync();
+                            return 100;
+                        });
+                    }
+                } finally {
+                    Files.deleteIfExists(journalPath);
+                }
+                break;
+            case "replay":
+                GameRecord longGame = sampleGame(400);
+                int plies = longGame.moveCount();
+                Benchmark.measure("replay seek from start (" + plies + " plies)", 10, 50, "seeks", () -> {
+                    for (int i = 0; i < 100; i++) {
+                        longGame.replay((i * 37) % plies);
+                    }
+                    return 100;
+                });
+                GameReplay keyframed = new GameReplay(longGame);
+                Benchmark.measure("replay seek keyframes (" + keyframed.keyframeBytes() + " bytes)", 10, 50, "seeks", () -> {
+                    for (int i = 0; i < 1000; i++) {
+                        keyframed.seek((i * 37) % plies);
+                    }
+                    return 1000;
+                });
+                break;
+            case "server":
+                SessionManager sessions = new SessionManager();
+                Runtime runtime = Runtime.getRuntime();
+                System.gc();
+                long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+                for (int i = 0; i < 10000; i++) {
+                    sessions.create(SessionServer.DEFAULT_TIME_MS, 0);
+                }
+                System.gc();
+                long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+                System.out.printf("%-32s %10d games %10d bytes/game%n", "session idle games",
+                        sessions.size(), (heapAfter - heapBefore) / sessions.size());
+                try (SessionServer server = new SessionServer(sessions, 0)) {
+                    LoadClient.run("127.0.0.1", server.getPort(), 8, 4, 200); // Warm-up
+                    long start = System.nanoTime();
+                    long[] latencies = LoadClient.run("127.0.0.1", server.getPort(), 64, 16, 400);
+                    LoadClient.report(latencies, System.nanoTime() - start);
+                }
+                break;
+            case "net":
+                GameRecord netGame = sampleGame(120);
+                try (NetServer server = new NetServer(new SessionManager(), 0)) {
+                    NetLoadClient.run("127.0.0.1", server.getPort(), 4, 16, netGame); // Warm-up
+                    long start = System.nanoTime();
+                    long moves = NetLoadClient.run("127.0.0.1", server.getPort(), 16, 64, netGame);
+                    long elapsed = System.nanoTime() - start;
+                    System.out.printf("%-32s %10d moves %14.0f moves/s%n", "net play (16 pairs x 64 games)",
+                            moves, moves * 1e9 / elapsed);
+                    System.out.printf("%-32s %10.2f frames/write%n", "net server batching", server.framesPerWrite());
+                }
+                try (NetServer server = new NetServer(new SessionManager(), 0)) {
+                    long elapsed = NetLoadClient.watch("127.0.0.1", server.getPort(), 256, netGame);
+                    System.out.printf("%-32s %10d moves %14.3f ms to reach all%n", "net 256 spectators",
+                            netGame.moveCount(), elapsed / 1e6);
+                    System.out.printf("%-32s %10.2f frames/write %6d resyncs  %d bytes/move instead of %d%n",
+                            "net spectator fan-out", server.framesPerWrite(), server.resyncCount(),
+                            NetProtocol.frameSize(NetProtocol.DELTA),
+                            NetProtocol.SNAPSHOT_HEADER + Position.startPosition().snapshotSize());
+                }
+                break;
+            case "state":
+                GameRecord opening = sampleGame(40);
+                Position reached = opening.getStart().copy();
+                for (int i = 0; i < opening.moveCount(); i++) {
+                    reached.makeMove(opening.getMove(i));
+                }
+                int stateGames = 10000;
+                System.out.printf("%-32s %10d bytes/game%n", "live Position", heapPerGame(stateGames, () -> {
+                    Position copy = Position.startPosition();
+                    for (int i = 0; i < opening.moveCount(); i++) {
+                        copy.makeMove(opening.getMove(i));
+                    }
+                    return copy;
+                }));
+                System.out.printf("%-32s %10d bytes/game%n", "live GameSession", heapPerGame(stateGames,
+                        () -> new GameSession(0, SessionServer.DEFAULT_TIME_MS, 0)));
+                PackedState packer = PackedState.STANDARD;
+                System.out.printf("%-32s %10d bytes/game (%d bytes of state)%n", "packed state", heapPerGame(stateGames, () -> {
+                    byte[] packed = new byte[packer.size()];
+                    packer.pack(reached, 60000, 60000, packed, 0);
+                    return packed;
+                }), packer.size());
+                byte[] state = new byte[packer.size()];
+                Benchmark.measure("pack state", 3, 10, "states", () -> {
+                    for (int i = 0; i < 100000; i++) {
+                        packer.pack(reached, 60000, 60000, state, 0);
+                    }
+                    return 100000;
+                });
+                Position unpacked = Position.startPosition();
+                Benchmark.measure("unpack state", 3, 10, "states", () -> {
+                    for (int i = 0; i < 100000; i++) {
+                        packer.unpack(state, 0, unpacked);
+                    }
+                    return 100000;
+                });
+                break;
+            case "boards":
+                // Move generation walks the board square by square, so its cost per square shows how it scales with area
+                int[] boardMoves = new int[MoveGenerator.maxMoves(32, 32)]; // Large enough for every size measured
+                for (int size : new int[] { 8, 14, 20, 26, 32 }) {
+                    Position board = scaledStart(size);
+                    Benchmark.measure("perft 3 (" + size + "x" + size + ")", 2, 5, "nodes", () -> perft(board, 3));
+                    double generated = Benchmark.measure("movegen (" + size + "x" + size + ")", 3, 10, "positions", () -> {
+                        for (int i = 0; i < 10000; i++) {
+                            MoveGenerator.generateLegalMoves(board, boardMoves);
+                        }
+                        return 10000;
+                    });
+                    System.out.printf("%-32s %10.2f ns/square%n", "", 1e9 / (generated * size * size));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Measures the heap retained per object by creating many of them.
+     *
+     * @param count   Number of objects to create
+     * @param factory Creates one object
+     * @return Heap growth divided by the count, in bytes
+     */
+    private static long heapPerGame(int count, Supplier<Object> factory) {
+        Object[] kept = new Object[count];
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        for (int i = 0; i < count; i++) {
+            kept[i] = factory.get();
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        return kept.length == 0 ? 0 : (after - before) / kept.length;
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree to a fixed depth.
+     *
+     * @param position The position, restored on return
+     * @param depth    The depth to count to
+     * @return The number of leaf nodes
+     */
+    static long perft(Position position, int depth) {
+        // One buffer per depth, since a buffer for a large board costs more to allocate than to fill
+        return perft(position, depth, new int[depth + 1][MoveGenerator.maxMoves(position.getWidth(), position.getHeight())]);
+    }
+
+    private static long perft(Position position, int depth, int[][] buffers) {
+        int[] moves = buffers[depth];
+        int count = MoveGenerator.generateLegalMoves(position, moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            nodes += perft(position, depth - 1, buffers);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Builds positions for the notation benchmarks by playing the first legal move of a
+     * rotating index, starting from the standard layout.
+     *
+     * @param count Number of positions
+     * @return The positions in notation
+     */
+    private static String[] notationSamples(int count) {
+        String[] texts = new String[count];
+        Position position = Position.startPosition();
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        for (int i = 0; i < count; i++) {
+            int moveCount = MoveGenerator.generateLegalMoves(position, moves);
+            if (moveCount == 0) {
+                position = Position.startPosition();
+                moveCount = MoveGenerator.generateLegalMoves(position, moves);
+            }
+            position.makeMove(moves[(i * 7) % moveCount]);
+            texts[i] = Notation.toString(position);
+        }
+        return texts;
+    }
+
+    /**
+     * Plays a game of rotating legal moves from the standard layout.
+     *
+     * @param plies Maximum number of moves
+     * @return The game
+     */
+    private static GameRecord sampleGame(int plies) {
+        GameRecord game = new GameRecord();
+        Position position = Position.startPosition();
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        for (int i = 0; i < plies; i++) {
+            int moveCount = MoveGenerator.generateLegalMoves(position, moves);
+            if (moveCount == 0) {
+                break;
+            }
+            game.addMove(moves[(i * 7) % moveCount]);
+            position.makeMove(game.getMove(game.moveCount() - 1));
+        }
+        return game;
+    }
+
+    /**
+     * Builds a starting position for a square board of any size, with pawns on the second
+     * rank from each edge and a back rank cut from the middle of the standard one or padded
+     * with minor pieces on both sides, so each side has exactly one king.
+     *
+     * @param size Number of files and ranks
+     * @return The position
+     */
+    static Position scaledStart(int size) {
+        String standard = "rnbhcgakgcebnr";
+        StringBuilder rank = new StringBuilder();
+        int first = (standard.length() - size) / 2;
+        for (int x = 0; x < size; x++) {
+            int i = first + x;
+            rank.append(i >= 0 && i < standard.length() ? standard.charAt(i) : "nbr".charAt(Math.floorMod(i, 3)));
+        }
+        String pawns = "p".repeat(size);
+        String black = rank.toString();
+        String layout = black.toUpperCase() + "/" + pawns.toUpperCase() + "/".repeat(size - 3) + pawns + "/" + black;
+        return Position.fromLayout(layout, size, size);
+    }
+
+    private static boolean contains(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
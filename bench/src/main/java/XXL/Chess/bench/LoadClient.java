@@ -0,0 +1,169 @@
+package XXL.Chess.bench;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Position;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Load-test client for the session server. Each client connection plays random legal
+ * moves in several games of its own and times every move from sending the command to
+ * receiving the commit, then the latencies of all clients are reported as percentiles.
+ */
+public class LoadClient {
+
+    /**
+     * Runs the clients until each has sent its moves.
+     *
+     * @param host           Server host
+     * @param port           Server port
+     * @param clients        Number of concurrent connections
+     * @param gamesPerClient Games played side by side on each connection
+     * @param movesPerClient Moves sent by each connection
+     * @return Latency of every committed move in nanoseconds, sorted
+     * @throws Exception If a client fails
+     */
+    public static long[] run(String host, int port, int clients, int gamesPerClient, int movesPerClient) throws Exception {
+        long[][] latencies = new long[clients][];
+        Thread[] threads = new Thread[clients];
+        Exception[] failure = new Exception[1];
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            threads[c] = new Thread(() -> {
+                try {
+                    latencies[client] = play(host, port, client, gamesPerClient, movesPerClient);
+                } catch (Exception e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            }, "load-" + c);
+            threads[c].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        long[] all = new long[clients * movesPerClient];
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, c * movesPerClient, movesPerClient);
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * Gets a percentile of sorted latencies.
+     *
+     * @param sorted     Latencies in ascending order
+     * @param percentile The percentile, from 0 to 100
+     * @return The latency at the percentile
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Body of one client: keeps a mirror of each game to pick legal moves and starts a new
+     * game whenever one finishes.
+     */
+    private static long[] play(String host, int port, int client, int games, int moveCount) throws IOException {
+        long[] latencies = new long[moveCount];
+        Random random = new Random(client);
+        int[] moves = new int[MoveGenerator.maxMoves(Position.DEFAULT_WIDTH, Position.DEFAULT_HEIGHT)];
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            long[] ids = new long[games];
+            Position[] positions = new Position[games];
+            for (int g = 0; g < games; g++) {
+                ids[g] = newGame(in, out);
+                positions[g] = Position.startPosition();
+            }
+
+            for (int i = 0; i < moveCount; i++) {
+                int g = i % games;
+                int count = MoveGenerator.generateLegalMoves(positions[g], moves);
+                int move = moves[random.nextInt(count)];
+                long start = System.nanoTime();
+                String reply = request(in, out, "move " + ids[g] + " " + Move.toString(positions[g], move));
+                latencies[i] = System.nanoTime() - start;
+                if (!reply.startsWith("ok ")) {
+                    throw new IOException("Move rejected: " + reply);
+                }
+                positions[g].makeMove(move);
+                if (!reply.split(" ")[2].equals("*")) {
+                    request(in, out, "close " + ids[g]);
+                    ids[g] = newGame(in, out);
+                    positions[g] = Position.startPosition();
+                }
+            }
+            request(in, out, "quit");
+        }
+        return latencies;
+    }
+
+    private static long newGame(BufferedReader in, Writer out) throws IOException {
+        String reply = request(in, out, "new");
+        return Long.parseLong(reply.substring("game ".length()));
+    }
+
+    private static String request(BufferedReader in, Writer out, String command) throws IOException {
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        if (command.equals("quit")) {
+            return null;
+        }
+        String reply = in.readLine();
+        if (reply == null) {
+            throw new IOException("Connection closed by the server");
+        }
+        return reply;
+    }
+
+    /**
+     * Runs a load test against a running server and prints the latency percentiles.
+     *
+     * @param args Host, port, clients, games per client and moves per client
+     * @throws Exception If a client fails
+     */
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "127.0.0.1";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7014;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        int moves = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+        long start = System.nanoTime();
+        long[] latencies = run(host, port, clients, games, moves);
+        report(latencies, System.nanoTime() - start);
+    }
+
+    /**
+     * Prints throughput and latency percentiles.
+     *
+     * @param latencies    Sorted latencies in nanoseconds
+     * @param elapsedNanos Wall time of the whole run
+     */
+    static void report(long[] latencies, long elapsedNanos) {
+        System.out.printf("%-32s %10d moves %14.0f moves/s%n", "session load", latencies.length,
+                latencies.length * 1e9 / elapsedNanos);
+        System.out.printf("%-32s p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", "session move commit",
+                percentile(latencies, 50) / 1e6, percentile(latencies, 99) / 1e6, latencies[latencies.length - 1] / 1e6);
+    }
+}
@@ -0,0 +1,254 @@
+package XXL.Chess.bench;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.GameRecord;
+import XXL.Chess.engine.server.NetClient;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput client for the NetServer. Each pair of connections plays many games at once,
+ * one connection seated as white and the other as black in all of them. Every game replays
+ * the same moves, each side sending its next move as soon as the server reports the
+ * previous one, so many frames are in flight on every connection at the same time.
+ */
+public class NetLoadClient {
+
+    /**
+     * Plays the games until each has replayed its moves or ended.
+     *
+     * @param host         Server host
+     * @param port         Server port
+     * @param pairs        Number of connection pairs
+     * @param gamesPerPair Games played side by side on each pair
+     * @param game         Moves to replay in every game
+     * @return Number of moves played
+     * @throws Exception If a connection fails or the games stall
+     */
+    public static long run(String host, int port, int pairs, int gamesPerPair, GameRecord game) throws Exception {
+        AtomicLong played = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(pairs * gamesPerPair);
+        Pair[] running = new Pair[pairs];
+        try {
+            for (int p = 0; p < pairs; p++) {
+                running[p] = new Pair(host, port, gamesPerPair, game, played, finished);
+            }
+            for (Pair pair : running) {
+                pair.start();
+            }
+            if (!finished.await(5, TimeUnit.MINUTES)) {
+                throw new IOException("Games did not finish");
+            }
+        } finally {
+            for (Pair pair : running) {
+                if (pair != null) {
+                    pair.close();
+                }
+            }
+        }
+        return played.get();
+    }
+
+    /**
+     * Plays one game watched by many spectators, as fast as the two players can move.
+     *
+     * @param host       Server host
+     * @param port       Server port
+     * @param spectators Number of spectator connections
+     * @param game       Moves to replay
+     * @return Nanoseconds from the first move until every spectator has seen the last one
+     * @throws Exception If a connection fails or the spectators stall
+     */
+    public static long watch(String host, int port, int spectators, GameRecord game) throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        CountDownLatch ready = new CountDownLatch(spectators);
+        CountDownLatch caughtUp = new CountDownLatch(spectators);
+        NetClient[] watchers = new NetClient[spectators];
+        Pair pair = new Pair(host, port, 1, game, new AtomicLong(), finished);
+        try {
+            for (int i = 0; i < spectators; i++) {
+                watchers[i] = new NetClient(host, port, new Spectator(game.moveCount(), ready, caughtUp));
+                watchers[i].join(pair.ids[0]);
+            }
+            if (!ready.await(1, TimeUnit.MINUTES)) {
+                throw new IOException("Spectators did not join");
+            }
+            long start = System.nanoTime();
+            pair.start();
+            if (!caughtUp.await(5, TimeUnit.MINUTES)) {
+                throw new IOException("Spectators did not see the game");
+            }
+            return System.nanoTime() - start;
+        } finally {
+            pair.close();
+            for (NetClient watcher : watchers) {
+                if (watcher != null) {
+                    watcher.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the plies of a watched game until it reaches the last move.
+     */
+    private static final class Spectator implements NetClient.Listener {
+        private final int plies; // Plies of the complete game
+        private final CountDownLatch ready;
+        private final CountDownLatch caughtUp;
+        private int ply = -1; // Plies seen so far, -1 before the first snapshot
+
+        private Spectator(int plies, CountDownLatch ready, CountDownLatch caughtUp) {
+            this.plies = plies;
+            this.ready = ready;
+            this.caughtUp = caughtUp;
+        }
+
+        public void joined(int game, int seat) {
+        }
+
+        public void moved(int game, int from, int to, String result, long whiteMs, long blackMs) {
+            advance(this.ply + 1);
+        }
+
+        public void rejected(int game, int from, int to) {
+        }
+
+        public void snapshot(int game, int ply, Position position, String result, long whiteMs, long blackMs) {
+            if (this.ply < 0) {
+                this.ready.countDown();
+            }
+            advance(ply);
+        }
+
+        private void advance(int ply) {
+            if (this.ply < this.plies && ply == this.plies) {
+                this.caughtUp.countDown();
+            }
+            this.ply = ply;
+        }
+    }
+
+    /**
+     * Two connections seated against each other in several games.
+     */
+    private static final class Pair {
+        private final GameRecord game; // Moves replayed in every game
+        private final AtomicLong played;
+        private final CountDownLatch finished;
+        private final NetClient white;
+        private final NetClient black;
+        private final int[] ids; // Server identifier of each game
+        private final int[] next; // Index of the next move of each game
+        private final HashMap<Integer, Integer> index = new HashMap<>(); // Game identifier to game index
+        private final CountDownLatch seated; // Counts the join answers still expected
+
+        private Pair(String host, int port, int games, GameRecord game, AtomicLong played, CountDownLatch finished)
+                throws IOException, InterruptedException {
+            this.game = game;
+            this.played = played;
+            this.finished = finished;
+            this.ids = new int[games];
+            this.next = new int[games];
+            this.seated = new CountDownLatch(2 * games);
+            this.white = new NetClient(host, port, new Side(true));
+            this.black = new NetClient(host, port, new Side(false));
+            for (int g = 0; g < games; g++) {
+                this.white.join(0);
+            }
+            while (this.seated.getCount() > games) {
+                if (!this.seated.await(10, TimeUnit.MILLISECONDS) && !this.white.isConnected()) {
+                    throw new IOException("Connection closed by the server");
+                }
+            }
+            synchronized (this) {
+                for (int id : this.ids) {
+                    this.black.join(id);
+                }
+            }
+            if (!this.seated.await(1, TimeUnit.MINUTES)) {
+                throw new IOException("Cannot join games");
+            }
+        }
+
+        private synchronized void start() {
+            for (int g = 0; g < this.ids.length; g++) {
+                send(g);
+            }
+        }
+
+        private void send(int g) {
+            int move = this.game.getMove(this.next[g]);
+            (this.next[g] % 2 == 0 ? this.white : this.black).move(this.ids[g], Move.from(move), Move.to(move));
+        }
+
+        /**
+         * Handles a move reported to one seat. Both seats are told of every move; the seat
+         * that did not play it counts it and answers with the next move. The seat that played
+         * it may hear of it only after the answer, so the move itself is checked as well.
+         */
+        private synchronized void moved(boolean white, int game, int from, int to, String result) {
+            Integer g = this.index.get(game);
+            if (g == null || this.next[g] == this.game.moveCount() || (this.next[g] % 2 == 0) == white) {
+                return;
+            }
+            int expected = this.game.getMove(this.next[g]);
+            if (Move.from(expected) != from || Move.to(expected) != to) {
+                return;
+            }
+            this.next[g]++;
+            this.played.incrementAndGet();
+            if (this.next[g] == this.game.moveCount() || !result.equals(GameRecord.UNFINISHED)) {
+                this.finished.countDown();
+            } else {
+                send(g);
+            }
+        }
+
+        private synchronized void joined(boolean white, int game) {
+            if (white) {
+                int g = this.index.size();
+                this.ids[g] = game;
+                this.index.put(game, g);
+            }
+            this.seated.countDown();
+        }
+
+        private void close() throws IOException {
+            this.white.close();
+            this.black.close();
+        }
+
+        /**
+         * Listener of the connection seated on one side.
+         */
+        private final class Side implements NetClient.Listener {
+            private final boolean white;
+
+            private Side(boolean white) {
+                this.white = white;
+            }
+
+            public void joined(int game, int seat) {
+                Pair.this.joined(this.white, game);
+            }
+
+            public void moved(int game, int from, int to, String result, long whiteMs, long blackMs) {
+                Pair.this.moved(this.white, game, from, to, result);
+            }
+
+            public void rejected(int game, int from, int to) {
+                System.err.println("Move rejected in game " + game);
+            }
+
+            public void snapshot(int game, int ply, Position position, String result, long whiteMs, long blackMs) {
+                // Players are not sent snapshots
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package XXL.Chess.engine;
+
+/**
+ * A chess clock for both sides, counting down in milliseconds with a per-move increment.
+ * Time is read from System.nanoTime only when the clock is read or pressed.
+ */
+public class Clock {
+    private final long[] remainingMs = new long[2]; // Remaining time for white (0) and black (1)
+    private final long[] incrementMs = new long[2]; // Increment added after each move
+    private boolean whiteRunning = true; // Side whose time is running
+    private boolean running = false; // Flag indicating the clock has been started
+    private long startedNanos; // System.nanoTime when the running side's time last resumed
+
+    /**
+     * Constructor for Clock.
+     *
+     * @param whiteMs        White's starting time in milliseconds
+     * @param whiteIncrement White's increment per move in milliseconds
+     * @param blackMs        Black's starting time in milliseconds
+     * @param blackIncrement Black's increment per move in milliseconds
+     */
+    public Clock(long whiteMs, long whiteIncrement, long blackMs, long blackIncrement) {
+        this.remainingMs[0] = whiteMs;
+        this.remainingMs[1] = blackMs;
+        this.incrementMs[0] = whiteIncrement;
+        this.incrementMs[1] = blackIncrement;
+    }
+
+    /**
+     * Starts the clock for a side.
+     *
+     * @param white True to run white's time, false for black's
+     */
+    public void start(boolean white) {
+        this.whiteRunning = white;
+        this.running = true;
+        this.startedNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the clock, charging the running side for the time used.
+     */
+    public void stop() {
+        if (this.running) {
+            charge(System.nanoTime());
+            this.running = false;
+        }
+    }
+
+    /**
+     * Ends the running side's move: charges its time, adds its increment and starts the other side.
+     */
+    public void press() {
+        long now = System.nanoTime();
+        if (this.running) {
+            charge(now);
+            int side = side(this.whiteRunning);
+            if (this.remainingMs[side] > 0) {
+                this.remainingMs[side] += this.incrementMs[side];
+            }
+        }
+        this.whiteRunning = !this.whiteRunning;
+        this.running = true;
+        this.startedNanos = now;
+    }
+
+    /**
+     * Gets the remaining time of a side, including the time used so far on a running move.
+     *
+     * @param white True for white, false for black
+     * @return Remaining time in milliseconds, never negative
+     */
+    public long remainingMs(boolean white) {
+        long remaining = this.remainingMs[side(white)];
+        if (this.running && this.whiteRunning == white) {
+            remaining -= (System.nanoTime() - this.startedNanos) / 1_000_000;
+        }
+        return Math.max(0, remaining);
+    }
+
+    /**
+     * Sets the remaining time of a side, for example when restoring a saved game.
+     *
+     * @param white       True for white, false for black
+     * @param remainingMs Remaining time in milliseconds
+     */
+    public void setRemainingMs(boolean white, long remainingMs) {
+        this.remainingMs[side(white)] = remainingMs;
+        if (this.running && this.whiteRunning == white) {
+            this.startedNanos = System.nanoTime();
+        }
+    }
+
+    public long incrementMs(boolean white) {
+        return this.incrementMs[side(white)];
+    }
+
+    /**
+     * Checks if a side has run out of time.
+     *
+     * @param white True for white, false for black
+     * @return True if the side's time is used up, false otherwise
+     */
+    public boolean isFlagged(boolean white) {
+        return remainingMs(white) == 0;
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    public boolean isWhiteRunning() {
+        return this.whiteRunning;
+    }
+
+    private void charge(long now) {
+        int side = side(this.whiteRunning);
+        long elapsedMs = (now - this.startedNanos) / 1_000_000;
+        this.remainingMs[side] = Math.max(0, this.remainingMs[side] - elapsedMs);
+        this.startedNanos += elapsedMs * 1_000_000; // Keep the sub-millisecond remainder
+    }
+
+    private static int side(boolean white) {
+        return white ? 0 : 1;
+    }
+}
@@ -0,0 +1,38 @@
+package XXL.Chess.engine;
+
+/**
+ * Static evaluation of a Position: material plus a bonus for pawns advancing towards promotion.
+ */
+public final class Evaluation {
+    private static final int PAWN_ADVANCE = 8; // Bonus per rank a pawn has advanced, in centipawns
+
+    private Evaluation() {
+    }
+
+    /**
+     * Evaluates a position from the side to move's point of view.
+     *
+     * @param position The position
+     * @return The score in centipawns, positive when the side to move is better
+     */
+    public static int evaluate(Position position) {
+        int score = 0;
+        int width = position.getWidth();
+        int size = position.squareCount();
+        int promotionRank = position.promotionRank();
+        for (int square = 0; square < size; square++) {
+            byte piece = position.get(square);
+            if (piece == Piece.EMPTY) {
+                continue;
+            }
+            int code = Piece.code(piece);
+            int value = MoveTables.VALUE[code];
+            if (code == PieceType.PAWN.code()) {
+                int distance = Math.abs(promotionRank - square / width);
+                value += PAWN_ADVANCE * (promotionRank - distance);
+            }
+            score += Piece.isWhite(piece) ? value : -value;
+        }
+        return position.isWhiteToMove() ? score : -score;
+    }
+}
@@ -0,0 +1,177 @@
+package XXL.Chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pieces declared at startup in Betza notation, added to the built-in PieceTypes.
+ * A declaration is compiled into the same leaper and slider tables the built-in pieces use,
+ * so the move generator, attack detection and evaluation treat a declared piece exactly like
+ * a built-in one. Declared pieces take the piece codes left free by PieceType, 12 to 15.
+ *
+ * The notation is a sequence of atoms, each a leap in every direction:
+ *   W (0,1)  F (1,1)  D (0,2)  N (1,2)  A (2,2)  H (0,3)  C (1,3)  Z (2,3)  G (3,3)
+ *   (x,y) for any other leap, for example (1,4)
+ * An atom written twice or followed by 0 slides instead, so WW or W0 is the rook. The
+ * shorthands K (WF), R (WW), B (FF) and Q (WWFF) are accepted too, so the amazon is QN and the
+ * camel is C. Modifiers that restrict direction or split moves from captures are not supported,
+ * since the tables make every piece move and capture the same way in every direction.
+ */
+public final class FairyPieces {
+    public static final int FIRST_CODE = PieceType.values().length + 1; // Code given to the first declared piece
+
+    private static final String ATOMS = "WFDNAHCZG"; // Leap atoms, indexing ATOM_OFFSETS
+    private static final int[][] ATOM_OFFSETS = {
+        {0, 1}, {1, 1}, {0, 2}, {1, 2}, {2, 2}, {0, 3}, {1, 3}, {2, 3}, {3, 3}
+    };
+    private static final char[] LETTERS = new char[MoveTables.CODES]; // Lower-case letter per declared code, 0 if free
+
+    private FairyPieces() {
+    }
+
+    /**
+     * Declares a piece, or changes the rules of a piece declared earlier with the same letter.
+     *
+     * @param letter   The layout letter; upper-case places a white piece, lower-case a black one
+     * @param notation The movement in Betza notation, such as "QN" or "C"
+     * @param value    The material value in centipawns
+     * @return The piece code
+     * @throws IllegalArgumentException If the notation is invalid, the letter belongs to a built-in
+     *                                  piece or is not a letter, or every free code is taken
+     */
+    public static synchronized int define(char letter, String notation, int value) {
+        char lower = Character.toLowerCase(letter);
+        if (lower < 'a' || lower > 'z') {
+            throw new IllegalArgumentException("Piece letter must be a letter: '" + letter + "'");
+        }
+        if (PieceType.fromLetter(lower) != null) {
+            throw new IllegalArgumentException("Piece letter '" + lower + "' belongs to a built-in piece");
+        }
+        int[][][] rules = parse(notation);
+
+        int code = code(lower);
+        if (code == 0) {
+            for (int free = FIRST_CODE; free < MoveTables.CODES && code == 0; free++) {
+                if (LETTERS[free] == 0) {
+                    code = free;
+                }
+            }
+            if (code == 0) {
+                throw new IllegalArgumentException("No piece code left for '" + lower + "'");
+            }
+        }
+        LETTERS[code] = lower;
+        Piece.register(lower, code);
+        MoveTables.define(code, value, rules[0], rules[1]);
+        return code;
+    }
+
+    /**
+     * Gets the code of a declared piece.
+     *
+     * @param letter The layout letter, in either case
+     * @return The piece code, or 0 if no piece was declared with that letter
+     */
+    public static synchronized int code(char letter) {
+        char lower = Character.toLowerCase(letter);
+        for (int code = FIRST_CODE; code < MoveTables.CODES; code++) {
+            if (LETTERS[code] == lower) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compiles Betza notation into leap and slide offsets.
+     *
+     * @param notation The movement in Betza notation
+     * @return {leaps, slides}, each a list of {dx, dy} pairs without duplicates
+     * @throws IllegalArgumentException If the notation is empty or uses unsupported syntax
+     */
+    static int[][][] parse(String notation) {
+        List<int[]> leaps = new ArrayList<>();
+        List<int[]> slides = new ArrayList<>();
+        int i = 0;
+        while (i < notation.length()) {
+            char c = notation.charAt(i);
+            int[] atom;
+            if (c == 'K' || c == 'R' || c == 'B' || c == 'Q') {
+                if (c == 'K' || c == 'R' || c == 'Q') {
+                    addSymmetric(c == 'K' ? leaps : slides, 0, 1);
+                }
+                if (c == 'K' || c == 'B' || c == 'Q') {
+                    addSymmetric(c == 'K' ? leaps : slides, 1, 1);
+                }
+                i++;
+                continue;
+            } else if (ATOMS.indexOf(c) >= 0) {
+                atom = ATOM_OFFSETS[ATOMS.indexOf(c)];
+                i++;
+            } else if (c == '(') {
+                int close = notation.indexOf(')', i);
+                String[] parts = close < 0 ? new String[0] : notation.substring(i + 1, close).split(",");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected (x,y) at " + i + " in \"" + notation + "\"");
+                }
+                try {
+                    atom = new int[] { Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()) };
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Expected (x,y) at " + i + " in \"" + notation + "\"");
+                }
+                if (atom[0] == 0 && atom[1] == 0) {
+                    throw new IllegalArgumentException("Leap (0,0) in \"" + notation + "\"");
+                }
+                i = close + 1;
+            } else {
+                throw new IllegalArgumentException("Unsupported '" + c + "' at " + i + " in \"" + notation + "\"");
+            }
+
+            // A repeated atom or a trailing 0 makes a rider
+            boolean rider = false;
+            if (i < notation.length() && notation.charAt(i) == '0') {
+                rider = true;
+                i++;
+            } else if (c != '(' && i < notation.length() && notation.charAt(i) == c) {
+                rider = true;
+                i++;
+            } else if (i < notation.length() && Character.isDigit(notation.charAt(i))) {
+                throw new IllegalArgumentException("Limited range at " + i + " in \"" + notation + "\"; only 0 is supported");
+            }
+            addSymmetric(rider ? slides : leaps, atom[0], atom[1]);
+        }
+        if (leaps.isEmpty() && slides.isEmpty()) {
+            throw new IllegalArgumentException("Empty piece notation");
+        }
+
+        // A leap already covered by a slide would only generate the same move twice
+        leaps.removeIf(leap -> contains(slides, leap[0], leap[1]));
+        return new int[][][] { leaps.toArray(new int[0][]), slides.toArray(new int[0][]) };
+    }
+
+    /**
+     * Adds the offset in all eight directions, skipping those already present.
+     */
+    private static void addSymmetric(List<int[]> offsets, int x, int y) {
+        for (int flip = 0; flip < 2; flip++) {
+            int dx = flip == 0 ? x : y;
+            int dy = flip == 0 ? y : x;
+            for (int sx = -1; sx <= 1; sx += 2) {
+                for (int sy = -1; sy <= 1; sy += 2) {
+                    if (!contains(offsets, sx * dx, sy * dy)) {
+                        offsets.add(new int[] { sx * dx, sy * dy });
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean contains(List<int[]> offsets, int dx, int dy) {
+        for (int[] offset : offsets) {
+            if (offset[0] == dx && offset[1] == dy) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,135 @@
+package XXL.Chess.engine;
+
+/**
+ * Helpers for the int encoding of moves.
+ * Bits 0-9 hold the origin square, bits 10-19 the target square and bits 20-23
+ * the code of the piece a pawn promotes to, or 0.
+ */
+public final class Move {
+    public static final int NONE = 0; // No move; never a real move since origin and target differ
+
+    private static final int SQUARE_BITS = 10;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int PROMOTION_SHIFT = 2 * SQUARE_BITS;
+
+    private Move() {
+    }
+
+    /**
+     * Encodes a move.
+     *
+     * @param from      The origin square
+     * @param to        The target square
+     * @param promotion The code of the piece to promote to, or 0
+     * @return The encoded move
+     */
+    public static int of(int from, int to, int promotion) {
+        return from | (to << SQUARE_BITS) | (promotion << PROMOTION_SHIFT);
+    }
+
+    /**
+     * Encodes a move without promotion.
+     *
+     * @param from The origin square
+     * @param to   The target square
+     * @return The encoded move
+     */
+    public static int of(int from, int to) {
+        return from | (to << SQUARE_BITS);
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> SQUARE_BITS) & SQUARE_MASK;
+    }
+
+    public static int promotion(int move) {
+        return (move >>> PROMOTION_SHIFT) & Piece.TYPE_MASK;
+    }
+
+    /**
+     * Formats a square in coordinate notation: file letters from 'a', rank number from 1.
+     * Files after 'z' take two letters, "aa" to "af" on a 32-file board.
+     *
+     * @param position The position the square belongs to
+     * @param square   The square index
+     * @return The square name, for example "b2"
+     */
+    public static String squareName(Position position, int square) {
+        int x = position.x(square);
+        String file = x < 26 ? String.valueOf((char) ('a' + x)) : "" + (char) ('a' + x / 26 - 1) + (char) ('a' + x % 26);
+        return file + (position.y(square) + 1);
+    }
+
+    /**
+     * Formats a move in coordinate notation, for example "b2b4" or "c7c8q" for a promotion.
+     *
+     * @param position The position the move belongs to
+     * @param move     The encoded move
+     * @return The move text
+     */
+    public static String toString(Position position, int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        String text = squareName(position, from(move)) + squareName(position, to(move));
+        PieceType promotion = PieceType.fromCode(promotion(move));
+        return promotion == null ? text : text + promotion.letter();
+    }
+
+    /**
+     * Parses a square name in coordinate notation.
+     *
+     * @param position The position the square belongs to
+     * @param text     The text holding the square
+     * @param start    Index of the first file letter
+     * @param end      Index just past the rank number
+     * @return The square index, or -1 if the text is not a square on the board
+     */
+    public static int parseSquare(Position position, CharSequence text, int start, int end) {
+        int x = 0;
+        int i = start;
+        for (; i < end && text.charAt(i) >= 'a' && text.charAt(i) <= 'z' && x <= Position.MAX_SIZE; i++) {
+            x = x * 26 + (text.charAt(i) - 'a' + 1);
+        }
+        x -= 1;
+        if (i == start || i == end) {
+            return -1;
+        }
+        int y = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            y = y * 10 + (c - '0');
+        }
+        y -= 1;
+        if (!position.isWithinRange(x, y)) {
+            return -1;
+        }
+        return position.square(x, y);
+    }
+
+    /**
+     * Parses a move in coordinate notation and matches it against the legal moves.
+     *
+     * @param position The position to play the move in
+     * @param text     The move text, for example "b2b4"
+     * @return The legal move, or NONE if the text does not name one
+     */
+    public static int parse(Position position, String text) {
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        int count = MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < count; i++) {
+            String name = toString(position, moves[i]);
+            if (name.equals(text) || (promotion(moves[i]) != 0 && name.substring(0, name.length() - 1).equals(text))) {
+                return moves[i];
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,330 @@
+package XXL.Chess.engine;
+
+/**
+ * Generates moves and detects attacks on a Position using the compiled move tables.
+ * Moves are written into caller-supplied int buffers so generation does not allocate.
+ */
+public final class MoveGenerator {
+    private static final int PAWN_SOURCES = 4; // Squares a pawn can move to a square from: one and two steps behind, and two diagonals
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Gets the size of a move buffer large enough for any position on a board.
+     * A square can be moved to by at most one piece along each slide offset, the first one
+     * behind it, by one piece per leap offset and by four pawns, so the bound is the area times
+     * the number of distinct offsets of the pieces defined so far.
+     *
+     * @param width  Number of files
+     * @param height Number of ranks
+     * @return The largest number of moves a position on the board can have
+     */
+    public static int maxMoves(int width, int height) {
+        MoveTables.Tables tables = MoveTables.tables;
+        return width * height * (tables.attackLeapDx.length + tables.attackSlideDx.length + PAWN_SOURCES);
+    }
+
+    /**
+     * Gets a move buffer large enough for a position, reusing a buffer when it is.
+     *
+     * @param moves    The buffer to reuse, may be null
+     * @param position The position moves will be generated for
+     * @return The buffer, or a new one of maxMoves entries if it was null or too small
+     */
+    public static int[] buffer(int[] moves, Position position) {
+        int size = maxMoves(position.getWidth(), position.getHeight());
+        return moves != null && moves.length >= size ? moves : new int[size];
+    }
+
+    /**
+     * Generates the pseudo-legal moves of the side to move, which may leave its own king in check.
+     *
+     * @param position The position
+     * @param moves    Buffer receiving the encoded moves
+     * @return The number of moves written
+     */
+    public static int generateMoves(Position position, int[] moves) {
+        return generate(position, moves, false);
+    }
+
+    /**
+     * Generates the pseudo-legal captures and promotions of the side to move.
+     *
+     * @param position The position
+     * @param moves    Buffer receiving the encoded moves
+     * @return The number of moves written
+     */
+    public static int generateCaptures(Position position, int[] moves) {
+        return generate(position, moves, true);
+    }
+
+    /**
+     * Generates the legal moves of the side to move.
+     *
+     * @param position The position
+     * @param moves    Buffer receiving the encoded moves
+     * @return The number of moves written
+     */
+    public static int generateLegalMoves(Position position, int[] moves) {
+        int count = generateMoves(position, moves);
+        int king = position.kingSquare(position.isWhiteToMove());
+        boolean inCheck = isInCheck(position, position.isWhiteToMove());
+        int legal = 0;
+        for (int i = 0; i < count; i++) {
+            // Out of check, only the king and pieces on a slide line through it can expose the king
+            int from = Move.from(moves[i]);
+            boolean safe = king < 0 || (!inCheck && from != king && !isOnSlideLine(position, king, from));
+            if (safe || isLegal(position, moves[i])) {
+                moves[legal++] = moves[i];
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * Checks if a pseudo-legal move leaves the mover's king safe.
+     *
+     * @param position The position
+     * @param move     The move to check
+     * @return True if the move is legal, false otherwise
+     */
+    public static boolean isLegal(Position position, int move) {
+        boolean mover = position.isWhiteToMove();
+        position.makeMove(move);
+        boolean legal = !isInCheck(position, mover);
+        position.unmakeMove();
+        return legal;
+    }
+
+    /**
+     * Checks if the side to move has at least one legal move.
+     *
+     * @param position The position
+     * @param moves    Scratch buffer for move generation
+     * @return True if a legal move exists, false on checkmate or stalemate
+     */
+    public static boolean hasLegalMove(Position position, int[] moves) {
+        int count = generateMoves(position, moves);
+        for (int i = 0; i < count; i++) {
+            if (isLegal(position, moves[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a side's king is attacked.
+     *
+     * @param position The position
+     * @param isWhite  True to test white's king, false for black's
+     * @return True if the king is in check, false otherwise or if there is no king
+     */
+    public static boolean isInCheck(Position position, boolean isWhite) {
+        int king = position.kingSquare(isWhite);
+        return king >= 0 && isAttacked(position, king, !isWhite);
+    }
+
+    /**
+     * Checks if a square lies on a line some slider could attack another square along,
+     * ignoring the pieces in between.
+     *
+     * @param position The position
+     * @param target   The square a slider would attack
+     * @param square   The square to test
+     * @return True if the square is a whole number of slide offsets away from the target
+     */
+    private static boolean isOnSlideLine(Position position, int target, int square) {
+        int dx = position.x(square) - position.x(target);
+        int dy = position.y(square) - position.y(target);
+        MoveTables.Tables tables = MoveTables.tables;
+        int[] slideDx = tables.attackSlideDx;
+        int[] slideDy = tables.attackSlideDy;
+        for (int i = 0; i < slideDx.length; i++) {
+            int sx = slideDx[i];
+            int sy = slideDy[i];
+            int steps = sx != 0 ? dx / sx : dy / sy;
+            if (steps != 0 && dx == steps * sx && dy == steps * sy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a square is attacked by a side.
+     *
+     * @param position The position
+     * @param square   The square to test
+     * @param byWhite  True to test attacks by white, false by black
+     * @return True if a piece of that side attacks the square, false otherwise
+     */
+    public static boolean isAttacked(Position position, int square, boolean byWhite) {
+        int x = position.x(square);
+        int y = position.y(square);
+        int colour = byWhite ? 0 : Piece.BLACK;
+
+        // Pawns capture diagonally forwards, so look one rank behind the square
+        int pawn = PieceType.PAWN.code() | colour;
+        int pawnY = byWhite ? y - 1 : y + 1;
+        if (position.isWithinRange(x - 1, pawnY) && position.get(position.square(x - 1, pawnY)) == pawn) {
+            return true;
+        }
+        if (position.isWithinRange(x + 1, pawnY) && position.get(position.square(x + 1, pawnY)) == pawn) {
+            return true;
+        }
+
+        // A piece leaping by (dx, dy) attacks this square from (x - dx, y - dy)
+        MoveTables.Tables tables = MoveTables.tables;
+        int[] leapDx = tables.attackLeapDx;
+        int[] leapDy = tables.attackLeapDy;
+        int[] leapCodes = tables.attackLeapCodes;
+        for (int i = 0; i < leapDx.length; i++) {
+            int fromX = x - leapDx[i];
+            int fromY = y - leapDy[i];
+            if (!position.isWithinRange(fromX, fromY)) {
+                continue;
+            }
+            byte piece = position.get(position.square(fromX, fromY));
+            if (piece != Piece.EMPTY && (piece & Piece.BLACK) == colour && (leapCodes[i] & (1 << Piece.code(piece))) != 0) {
+                return true;
+            }
+        }
+
+        // Walk backwards along each slide offset to the first piece
+        int[] slideDx = tables.attackSlideDx;
+        int[] slideDy = tables.attackSlideDy;
+        int[] slideCodes = tables.attackSlideCodes;
+        for (int i = 0; i < slideDx.length; i++) {
+            int fromX = x - slideDx[i];
+            int fromY = y - slideDy[i];
+            while (position.isWithinRange(fromX, fromY)) {
+                byte piece = position.get(position.square(fromX, fromY));
+                if (piece != Piece.EMPTY) {
+                    if ((piece & Piece.BLACK) == colour && (slideCodes[i] & (1 << Piece.code(piece))) != 0) {
+                        return true;
+                    }
+                    break;
+                }
+                fromX -= slideDx[i];
+                fromY -= slideDy[i];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates pseudo-legal moves for every piece of the side to move.
+     */
+    private static int generate(Position position, int[] moves, boolean capturesOnly) {
+        boolean white = position.isWhiteToMove();
+        int colour = white ? 0 : Piece.BLACK;
+        MoveTables.Tables tables = MoveTables.tables;
+        int count = 0;
+        int size = position.squareCount();
+        for (int from = 0; from < size; from++) {
+            byte piece = position.get(from);
+            if (piece == Piece.EMPTY || (piece & Piece.BLACK) != colour) {
+                continue;
+            }
+            int code = Piece.code(piece);
+            if (code == PieceType.PAWN.code()) {
+                count = generatePawnMoves(position, from, white, moves, count, capturesOnly);
+            } else {
+                count = generatePieceMoves(position, tables, from, code, colour, moves, count, capturesOnly);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generates leaps and slides for a non-pawn piece from the move tables.
+     */
+    private static int generatePieceMoves(Position position, MoveTables.Tables tables, int from, int code, int colour, int[] moves, int count, boolean capturesOnly) {
+        int x = position.x(from);
+        int y = position.y(from);
+
+        int[] leapDx = tables.leapDx[code];
+        int[] leapDy = tables.leapDy[code];
+        for (int i = 0; i < leapDx.length; i++) {
+            int toX = x + leapDx[i];
+            int toY = y + leapDy[i];
+            if (!position.isWithinRange(toX, toY)) {
+                continue;
+            }
+            int to = position.square(toX, toY);
+            byte target = position.get(to);
+            if (target == Piece.EMPTY ? !capturesOnly : (target & Piece.BLACK) != colour) {
+                moves[count++] = Move.of(from, to);
+            }
+        }
+
+        int[] slideDx = tables.slideDx[code];
+        int[] slideDy = tables.slideDy[code];
+        for (int i = 0; i < slideDx.length; i++) {
+            int toX = x + slideDx[i];
+            int toY = y + slideDy[i];
+            while (position.isWithinRange(toX, toY)) {
+                int to = position.square(toX, toY);
+                byte target = position.get(to);
+                if (target != Piece.EMPTY) {
+                    if ((target & Piece.BLACK) != colour) {
+                        moves[count++] = Move.of(from, to);
+                    }
+                    break;
+                }
+                if (!capturesOnly) {
+                    moves[count++] = Move.of(from, to);
+                }
+                toX += slideDx[i];
+                toY += slideDy[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generates pawn moves: one step forwards, two from the second rank from either edge,
+     * and diagonal captures. A pawn landing on the promotion rank becomes a queen.
+     */
+    private static int generatePawnMoves(Position position, int from, boolean white, int[] moves, int count, boolean capturesOnly) {
+        int x = position.x(from);
+        int y = position.y(from);
+        int direction = white ? 1 : -1;
+        int forwardY = y + direction;
+        int promotionRank = position.promotionRank();
+
+        // Forward movement
+        if (position.isWithinRange(x, forwardY) && position.get(position.square(x, forwardY)) == Piece.EMPTY) {
+            if (!capturesOnly || forwardY == promotionRank) {
+                moves[count++] = pawnMove(from, position.square(x, forwardY), forwardY == promotionRank);
+            }
+
+            // Double move from starting position
+            int doubleForwardY = y + 2 * direction;
+            if (!capturesOnly && (y == 1 || y == position.getHeight() - 2) && position.isWithinRange(x, doubleForwardY)
+                    && position.get(position.square(x, doubleForwardY)) == Piece.EMPTY) {
+                moves[count++] = pawnMove(from, position.square(x, doubleForwardY), doubleForwardY == promotionRank);
+            }
+        }
+
+        // Diagonal captures
+        for (int offset = -1; offset <= 1; offset += 2) {
+            int captureX = x + offset;
+            if (!position.isWithinRange(captureX, forwardY)) {
+                continue;
+            }
+            int to = position.square(captureX, forwardY);
+            byte target = position.get(to);
+            if (target != Piece.EMPTY && Piece.isWhite(target) != white) {
+                moves[count++] = pawnMove(from, to, forwardY == promotionRank);
+            }
+        }
+        return count;
+    }
+
+    private static int pawnMove(int from, int to, boolean promotes) {
+        return Move.of(from, to, promotes ? PieceType.QUEEN.code() : 0);
+    }
+}
@@ -0,0 +1,124 @@
+package XXL.Chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leaper and slider tables indexed by piece code, compiled from the piece definitions.
+ * The move generator reads these flat arrays instead of dispatching on the piece type.
+ * Attack detection uses the union of all offsets, each tagged with a bitmask of the
+ * piece codes that move along it.
+ */
+final class MoveTables {
+    static final int CODES = 16; // Number of piece codes that fit in the type bits
+
+    static final int[] VALUE = new int[CODES]; // Material value per piece code
+
+    // Compiled offsets, replaced as a whole by define; readers load the field once per call
+    static volatile Tables tables = new Tables(new int[CODES][0], new int[CODES][0], new int[CODES][0], new int[CODES][0]);
+
+    static {
+        for (PieceType type : PieceType.values()) {
+            define(type.code(), type.value(), type.leaps(), type.slides());
+        }
+    }
+
+    /**
+     * The offsets of every piece code and their union, never changed once built, so a reader
+     * holding one sees the x and y offsets of the same definitions while define runs.
+     */
+    static final class Tables {
+        final int[][] leapDx; // Leap x offsets per piece code
+        final int[][] leapDy; // Leap y offsets per piece code
+        final int[][] slideDx; // Slide x offsets per piece code
+        final int[][] slideDy; // Slide y offsets per piece code
+
+        // Union of all leap and slide offsets, with the codes moving along each
+        final int[] attackLeapDx;
+        final int[] attackLeapDy;
+        final int[] attackLeapCodes;
+        final int[] attackSlideDx;
+        final int[] attackSlideDy;
+        final int[] attackSlideCodes;
+
+        private Tables(int[][] leapDx, int[][] leapDy, int[][] slideDx, int[][] slideDy) {
+            this.leapDx = leapDx;
+            this.leapDy = leapDy;
+            this.slideDx = slideDx;
+            this.slideDy = slideDy;
+
+            List<int[]> leaps = new ArrayList<>();
+            List<int[]> slides = new ArrayList<>();
+            for (int code = 1; code < CODES; code++) {
+                for (int i = 0; i < leapDx[code].length; i++) {
+                    addAttacker(leaps, leapDx[code][i], leapDy[code][i], code);
+                }
+                for (int i = 0; i < slideDx[code].length; i++) {
+                    addAttacker(slides, slideDx[code][i], slideDy[code][i], code);
+                }
+            }
+
+            int[][] leapTable = transpose(leaps);
+            int[][] slideTable = transpose(slides);
+            this.attackLeapDx = leapTable[0];
+            this.attackLeapDy = leapTable[1];
+            this.attackLeapCodes = leapTable[2];
+            this.attackSlideDx = slideTable[0];
+            this.attackSlideDy = slideTable[1];
+            this.attackSlideCodes = slideTable[2];
+        }
+    }
+
+    private MoveTables() {
+    }
+
+    /**
+     * Compiles the movement rules of a piece code into new tables and publishes them.
+     *
+     * @param code   The piece code
+     * @param value  The material value in centipawns
+     * @param leaps  Single-step jump offsets as {dx, dy} pairs
+     * @param slides Repeated sliding offsets as {dx, dy} pairs
+     */
+    static synchronized void define(int code, int value, int[][] leaps, int[][] slides) {
+        VALUE[code] = value;
+        Tables old = tables;
+        int[][] leapDx = old.leapDx.clone();
+        int[][] leapDy = old.leapDy.clone();
+        int[][] slideDx = old.slideDx.clone();
+        int[][] slideDy = old.slideDy.clone();
+        leapDx[code] = column(leaps, 0);
+        leapDy[code] = column(leaps, 1);
+        slideDx[code] = column(slides, 0);
+        slideDy[code] = column(slides, 1);
+        tables = new Tables(leapDx, leapDy, slideDx, slideDy);
+    }
+
+    private static int[] column(int[][] offsets, int index) {
+        int[] column = new int[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            column[i] = offsets[i][index];
+        }
+        return column;
+    }
+
+    private static void addAttacker(List<int[]> offsets, int dx, int dy, int code) {
+        for (int[] entry : offsets) {
+            if (entry[0] == dx && entry[1] == dy) {
+                entry[2] |= 1 << code;
+                return;
+            }
+        }
+        offsets.add(new int[] { dx, dy, 1 << code });
+    }
+
+    private static int[][] transpose(List<int[]> entries) {
+        int[][] table = new int[3][entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            for (int j = 0; j < 3; j++) {
+                table[j][i] = entries.get(i)[j];
+            }
+        }
+        return table;
+    }
+}
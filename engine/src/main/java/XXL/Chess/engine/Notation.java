@@ -0,0 +1,215 @@
+package XXL.Chess.engine;
+
+/**
+ * One-line position notation in the spirit of FEN, sized for XXL boards.
+ *
+ * A position is written as four fields separated by spaces:
+ *   RNBHCGAKGCEBNR/PPPPPPPPPPPPPP/14/14/14/14/14/14/14/14/14/14/pppppppppppppp/rnbhcgakgcebnr w 0 1
+ * The board lists ranks from white's side, in the same order as a layout file, separated by '/'.
+ * Pieces use the layout letters (upper-case for white) and a number is a run of empty squares,
+ * which may take more than one digit on wide boards. It is followed by the side to move (w or b),
+ * the halfmove clock and the fullmove number; the two clocks may be left out.
+ *
+ * Parsing reads straight from the characters given and can fill an existing Position, so
+ * no strings or boards are allocated per position.
+ */
+public final class Notation {
+
+    private Notation() {
+    }
+
+    /**
+     * Parses a position, taking the board size from the notation.
+     *
+     * @param text The notation
+     * @return The position
+     * @throws IllegalArgumentException If the notation is malformed
+     */
+    public static Position parse(CharSequence text) {
+        int end = text.length();
+        int start = skipSpaces(text, 0, end);
+        int width = 0;
+        int height = 1;
+        int boardEnd = start;
+        int run = 0;
+        for (; boardEnd < end && text.charAt(boardEnd) != ' '; boardEnd++) {
+            char c = text.charAt(boardEnd);
+            if (c == '/') {
+                height++;
+            } else if (height == 1) {
+                if (isDigit(c)) {
+                    run = run * 10 + (c - '0');
+                } else {
+                    width += run + 1;
+                    run = 0;
+                }
+            }
+        }
+        width += run;
+        Position position = new Position(width, height);
+        parse(text, start, end, position);
+        return position;
+    }
+
+    /**
+     * Parses a position into an existing one, replacing its contents and undo history.
+     *
+     * @param text     Characters holding the notation
+     * @param start    Index of the first character to read
+     * @param end      Index after the last character to read
+     * @param position The position to fill; its board size must match the notation
+     * @return The index after the last character consumed
+     * @throws IllegalArgumentException If the notation is malformed or does not fit the board
+     */
+    public static int parse(CharSequence text, int start, int end, Position position) {
+        position.clear();
+        int width = position.getWidth();
+        int i = skipSpaces(text, start, end);
+        int x = 0;
+        int y = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                break;
+            }
+            if (c == '/') {
+                if (x != width) {
+                    throw error(i, "rank " + (y + 1) + " has " + x + " squares");
+                }
+                x = 0;
+                y++;
+            } else if (isDigit(c) && c != '0') {
+                int run = c - '0';
+                while (i + 1 < end && isDigit(text.charAt(i + 1))) {
+                    run = run * 10 + (text.charAt(++i) - '0');
+                }
+                x += run;
+                if (x > width) {
+                    throw error(i, "rank " + (y + 1) + " has too many squares");
+                }
+            } else {
+                byte piece = Piece.fromLetter(c);
+                if (piece == Piece.EMPTY || !position.isWithinRange(x, y)) {
+                    throw error(i, "unexpected '" + c + "'");
+                }
+                position.set(position.square(x, y), piece);
+                x++;
+            }
+        }
+        if (x != width || y != position.getHeight() - 1) {
+            throw error(i, "expected " + position.getHeight() + " ranks of " + width + " squares");
+        }
+
+        i = skipSpaces(text, i, end);
+        if (i < end && !isDigit(text.charAt(i))) {
+            char side = text.charAt(i);
+            if (side != 'w' && side != 'b') {
+                throw error(i, "expected side to move");
+            }
+            position.setWhiteToMove(side == 'w');
+            i = skipSpaces(text, i + 1, end);
+        }
+        if (i < end && isDigit(text.charAt(i))) {
+            int clock = 0;
+            for (; i < end && isDigit(text.charAt(i)); i++) {
+                clock = clock * 10 + (text.charAt(i) - '0');
+            }
+            position.setHalfmoveClock(clock);
+            i = skipSpaces(text, i, end);
+        }
+        if (i < end && isDigit(text.charAt(i))) {
+            int number = 0;
+            for (; i < end && isDigit(text.charAt(i)); i++) {
+                number = number * 10 + (text.charAt(i) - '0');
+            }
+            position.setFullmoveNumber(number);
+        }
+        return i;
+    }
+
+    /**
+     * Formats a position.
+     *
+     * @param position The position
+     * @return The notation
+     */
+    public static String toString(Position position) {
+        char[] out = new char[maxLength(position)];
+        return new String(out, 0, write(position, out, 0));
+    }
+
+    /**
+     * Writes the notation of a position into a buffer.
+     *
+     * @param position The position
+     * @param out      The buffer, with at least maxLength(position) characters free from offset
+     * @param offset   Index of the first character to write
+     * @return The index after the last character written
+     */
+    public static int write(Position position, char[] out, int offset) {
+        int width = position.getWidth();
+        int height = position.getHeight();
+        int i = offset;
+        int square = 0;
+        for (int y = 0; y < height; y++) {
+            if (y > 0) {
+                out[i++] = '/';
+            }
+            int empty = 0;
+            for (int x = 0; x < width; x++, square++) {
+                byte piece = position.get(square);
+                if (piece == Piece.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    i = writeNumber(empty, out, i);
+                    empty = 0;
+                }
+                out[i++] = Piece.toLetter(piece);
+            }
+            if (empty > 0) {
+                i = writeNumber(empty, out, i);
+            }
+        }
+        out[i++] = ' ';
+        out[i++] = position.isWhiteToMove() ? 'w' : 'b';
+        out[i++] = ' ';
+        i = writeNumber(position.getHalfmoveClock(), out, i);
+        out[i++] = ' ';
+        return writeNumber(position.getFullmoveNumber(), out, i);
+    }
+
+    /**
+     * Gets an upper bound on the length of the notation for a board, for sizing buffers.
+     *
+     * @param position The position
+     * @return The maximum number of characters write produces
+     */
+    public static int maxLength(Position position) {
+        return position.getWidth() * position.getHeight() + position.getHeight() + 26;
+    }
+
+    private static int writeNumber(int value, char[] out, int i) {
+        if (value >= 10) {
+            i = writeNumber(value / 10, out, i);
+        }
+        out[i++] = (char) ('0' + value % 10);
+        return i;
+    }
+
+    private static int skipSpaces(CharSequence text, int i, int end) {
+        while (i < end && text.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static IllegalArgumentException error(int index, String message) {
+        return new IllegalArgumentException("Invalid notation at " + index + ": " + message);
+    }
+}
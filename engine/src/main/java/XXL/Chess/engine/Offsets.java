@@ -0,0 +1,38 @@
+package XXL.Chess.engine;
+
+/**
+ * Movement offsets shared by the piece type definitions, as {dx, dy} pairs.
+ */
+final class Offsets {
+    static final int[][] NONE = {};
+    static final int[][] ORTHOGONAL = { {1, 0}, {-1, 0}, {0, 1}, {0, -1} };
+    static final int[][] DIAGONAL = { {1, 1}, {1, -1}, {-1, 1}, {-1, -1} };
+    static final int[][] ALL = join(ORTHOGONAL, DIAGONAL);
+    static final int[][] KING = ALL;
+    static final int[][] KNIGHT = { {2, 1}, {1, 2}, {-1, 2}, {-2, 1}, {-2, -1}, {-1, -2}, {1, -2}, {2, -1} };
+    static final int[][] CAMEL = { {3, 1}, {3, -1}, {-3, 1}, {-3, -1}, {1, 3}, {1, -3}, {-1, 3}, {-1, -3} };
+
+    private Offsets() {
+    }
+
+    /**
+     * Concatenates offset lists.
+     *
+     * @param lists The offset lists to join
+     * @return A new list holding every offset in order
+     */
+    static int[][] join(int[][]... lists) {
+        int length = 0;
+        for (int[][] list : lists) {
+            length += list.length;
+        }
+        int[][] joined = new int[length][];
+        int i = 0;
+        for (int[][] list : lists) {
+            for (int[] offset : list) {
+                joined[i++] = offset;
+            }
+        }
+        return joined;
+    }
+}
@@ -0,0 +1,198 @@
+package XXL.Chess.engine;
+
+/**
+ * Fixed-size encoding of a game's state for keeping many games in memory or on disk.
+ * Each square takes 4 bits for the piece code and 1 bit for its colour. The side to move,
+ * both move counters, the Zobrist hash and both clocks follow, so a stored game can be
+ * indexed by hash or have its clocks read without unpacking the board. The standard 14x14
+ * board packs into 144 bytes, against the kilobytes of a live Position with its undo and
+ * repetition history.
+ *
+ * A PackedState holds no game; it is the codec for one board size and can be shared.
+ *
+ * Layout, numbers big-endian:
+ *   [squares / 2 bytes]  piece codes, two squares per byte, the even square in the low nibble
+ *   [squares / 8 bytes]  colour bits, set for black pieces, square 0 in the lowest bit
+ *   [byte]               1 if black is to move
+ *   [short] halfmove clock   [short] fullmove number
+ *   [long] hash   [int] white ms   [int] black ms
+ */
+public final class PackedState {
+    public static final PackedState STANDARD = new PackedState(Position.DEFAULT_WIDTH, Position.DEFAULT_HEIGHT); // Codec for the standard board
+
+    private static final int FIXED = 1 + 2 * Short.BYTES + Long.BYTES + 2 * Integer.BYTES; // Bytes after the board
+
+    private final int width; // Number of files
+    private final int height; // Number of ranks
+    private final int colourOffset; // Offset of the colour bits
+    private final int fixedOffset; // Offset of the side to move
+
+    /**
+     * Creates the codec for one board size.
+     *
+     * @param width  Number of files
+     * @param height Number of ranks
+     */
+    public PackedState(int width, int height) {
+        int squares = width * height;
+        this.width = width;
+        this.height = height;
+        this.colourOffset = (squares + 1) / 2;
+        this.fixedOffset = this.colourOffset + (squares + 7) / 8;
+    }
+
+    /**
+     * Gets the number of bytes a packed state takes.
+     *
+     * @return The size in bytes
+     */
+    public int size() {
+        return this.fixedOffset + FIXED;
+    }
+
+    /**
+     * Packs a position and both clocks.
+     *
+     * @param position The position, of this codec's size
+     * @param whiteMs  White's remaining time in milliseconds
+     * @param blackMs  Black's remaining time in milliseconds
+     * @param out      The buffer to write to
+     * @param offset   Index of the first byte to write; size() bytes are written
+     * @throws IllegalArgumentException If the position has another size
+     */
+    public void pack(Position position, long whiteMs, long blackMs, byte[] out, int offset) {
+        checkSize(position);
+        int squares = position.squareCount();
+        for (int i = offset + this.colourOffset; i < offset + this.fixedOffset; i++) {
+            out[i] = 0;
+        }
+        for (int square = 0; square < squares; square += 2) {
+            int low = position.get(square);
+            int high = square + 1 < squares ? position.get(square + 1) : Piece.EMPTY;
+            out[offset + square / 2] = (byte) ((low & Piece.TYPE_MASK) | (high & Piece.TYPE_MASK) << 4);
+            if ((low & Piece.BLACK) != 0) {
+                out[offset + this.colourOffset + square / 8] |= (byte) (1 << (square & 7));
+            }
+            if ((high & Piece.BLACK) != 0) {
+                out[offset + this.colourOffset + (square + 1) / 8] |= (byte) (1 << ((square + 1) & 7));
+            }
+        }
+        int at = offset + this.fixedOffset;
+        out[at++] = (byte) (position.isWhiteToMove() ? 0 : 1);
+        at = putShort(out, at, position.getHalfmoveClock());
+        at = putShort(out, at, position.getFullmoveNumber());
+        at = putInt(out, at, (int) (position.hash() >>> 32));
+        at = putInt(out, at, (int) position.hash());
+        at = putInt(out, at, (int) whiteMs);
+        putInt(out, at, (int) blackMs);
+    }
+
+    /**
+     * Restores a packed position. The undo and repetition history are cleared; the hash is
+     * recomputed and checked against the stored one.
+     *
+     * @param in       The buffer to read from
+     * @param offset   Index of the first byte of the packed state
+     * @param position The position to restore into, of this codec's size
+     * @throws IllegalArgumentException If the position has another size or the stored hash does not match
+     */
+    public void unpack(byte[] in, int offset, Position position) {
+        checkSize(position);
+        position.clear();
+        for (int square = 0; square < position.squareCount(); square++) {
+            byte piece = piece(in, offset, square);
+            if (piece != Piece.EMPTY) {
+                position.set(square, piece);
+            }
+        }
+        int at = offset + this.fixedOffset;
+        position.setWhiteToMove(in[at] == 0);
+        position.setHalfmoveClock(getShort(in, at + 1));
+        position.setFullmoveNumber(getShort(in, at + 3));
+        if (position.hash() != hash(in, offset)) {
+            throw new IllegalArgumentException("Packed state does not match its hash");
+        }
+    }
+
+    /**
+     * Reads one square without unpacking the board.
+     *
+     * @param in     The buffer holding the packed state
+     * @param offset Index of the first byte of the packed state
+     * @param square The square index
+     * @return The encoded piece, or Piece.EMPTY
+     */
+    public byte piece(byte[] in, int offset, int square) {
+        int code = (in[offset + square / 2] >> ((square & 1) * 4)) & Piece.TYPE_MASK;
+        if (code == 0) {
+            return Piece.EMPTY;
+        }
+        boolean black = (in[offset + this.colourOffset + square / 8] & (1 << (square & 7))) != 0;
+        return (byte) (black ? code | Piece.BLACK : code);
+    }
+
+    /**
+     * Checks whose turn it is in a packed state.
+     *
+     * @param in     The buffer holding the packed state
+     * @param offset Index of the first byte of the packed state
+     * @return True if white is to move
+     */
+    public boolean isWhiteToMove(byte[] in, int offset) {
+        return in[offset + this.fixedOffset] == 0;
+    }
+
+    /**
+     * Reads the Zobrist hash of a packed state.
+     *
+     * @param in     The buffer holding the packed state
+     * @param offset Index of the first byte of the packed state
+     * @return The hash, as Position.hash() gave it when packing
+     */
+    public long hash(byte[] in, int offset) {
+        int at = offset + this.fixedOffset + 1 + 2 * Short.BYTES;
+        return (long) getInt(in, at) << 32 | (getInt(in, at + Integer.BYTES) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads a side's remaining time from a packed state.
+     *
+     * @param in      The buffer holding the packed state
+     * @param offset  Index of the first byte of the packed state
+     * @param isWhite True for white's clock, false for black's
+     * @return The remaining time in milliseconds
+     */
+    public long remainingMs(byte[] in, int offset, boolean isWhite) {
+        int at = offset + this.fixedOffset + 1 + 2 * Short.BYTES + Long.BYTES;
+        return getInt(in, isWhite ? at : at + Integer.BYTES);
+    }
+
+    private void checkSize(Position position) {
+        if (position.getWidth() != this.width || position.getHeight() != this.height) {
+            throw new IllegalArgumentException("Position is " + position.getWidth() + "x" + position.getHeight()
+                    + ", not " + this.width + "x" + this.height);
+        }
+    }
+
+    private static int putShort(byte[] out, int at, int value) {
+        out[at] = (byte) (value >>> 8);
+        out[at + 1] = (byte) value;
+        return at + Short.BYTES;
+    }
+
+    private static int getShort(byte[] in, int at) {
+        return (in[at] & 0xFF) << 8 | (in[at + 1] & 0xFF);
+    }
+
+    private static int putInt(byte[] out, int at, int value) {
+        out[at] = (byte) (value >>> 24);
+        out[at + 1] = (byte) (value >>> 16);
+        out[at + 2] = (byte) (value >>> 8);
+        out[at + 3] = (byte) value;
+        return at + Integer.BYTES;
+    }
+
+    private static int getInt(byte[] in, int at) {
+        return (in[at] & 0xFF) << 24 | (in[at + 1] & 0xFF) << 16 | (in[at + 2] & 0xFF) << 8 | (in[at + 3] & 0xFF);
+    }
+}
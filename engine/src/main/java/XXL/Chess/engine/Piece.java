@@ -0,0 +1,107 @@
+package XXL.Chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for the byte encoding of pieces on a Position.
+ * The low four bits hold the PieceType code and bit 4 is set for black pieces; 0 is an empty square.
+ */
+public final class Piece {
+    public static final byte EMPTY = 0;
+    public static final int BLACK = 16; // Colour bit set on black pieces
+    public static final int TYPE_MASK = 15; // Bits holding the piece code
+
+    private static final byte[] BY_LETTER = new byte[128]; // Lookup from layout character to encoded piece
+    private static final char[] LETTERS = new char[32]; // Lookup from encoded piece to layout character
+
+    static {
+        Arrays.fill(LETTERS, '.');
+        for (PieceType type : PieceType.values()) {
+            byte white = of(type, true);
+            byte black = of(type, false);
+            LETTERS[white] = Character.toUpperCase(type.letter());
+            LETTERS[black] = type.letter();
+            BY_LETTER[LETTERS[white]] = white;
+            BY_LETTER[LETTERS[black]] = black;
+        }
+    }
+
+    private Piece() {
+    }
+
+    /**
+     * Encodes a piece.
+     *
+     * @param type    The piece type
+     * @param isWhite True for a white piece, false for black
+     * @return The encoded piece
+     */
+    public static byte of(PieceType type, boolean isWhite) {
+        return (byte) (type.code() | (isWhite ? 0 : BLACK));
+    }
+
+    /**
+     * Registers the layout letters of a piece code declared by FairyPieces.
+     *
+     * @param letter The lower-case layout letter
+     * @param code   The piece code
+     */
+    static synchronized void register(char letter, int code) {
+        byte white = (byte) code;
+        byte black = (byte) (code | BLACK);
+        LETTERS[white] = Character.toUpperCase(letter);
+        LETTERS[black] = letter;
+        BY_LETTER[LETTERS[white]] = white;
+        BY_LETTER[LETTERS[black]] = black;
+    }
+
+    /**
+     * Gets the code of an encoded piece.
+     *
+     * @param piece The encoded piece
+     * @return The piece code, or 0 for an empty square
+     */
+    public static int code(byte piece) {
+        return piece & TYPE_MASK;
+    }
+
+    /**
+     * Gets the type of an encoded piece.
+     *
+     * @param piece The encoded piece
+     * @return The piece type, or null for an empty square or a piece declared by FairyPieces
+     */
+    public static PieceType type(byte piece) {
+        return PieceType.fromCode(piece & TYPE_MASK);
+    }
+
+    /**
+     * Checks if an encoded piece is white.
+     *
+     * @param piece The encoded piece, must not be empty
+     * @return True if the piece is white, false if black
+     */
+    public static boolean isWhite(byte piece) {
+        return (piece & BLACK) == 0;
+    }
+
+    /**
+     * Converts a layout character into an encoded piece. Upper-case letters are white.
+     *
+     * @param letter The layout character
+     * @return The encoded piece, or EMPTY if the character is not a piece
+     */
+    public static byte fromLetter(char letter) {
+        return letter < BY_LETTER.length ? BY_LETTER[letter] : EMPTY;
+    }
+
+    /**
+     * Converts an encoded piece into its layout character. White pieces are upper-case.
+     *
+     * @param piece The encoded piece
+     * @return The layout character, or '.' for an empty square
+     */
+    public static char toLetter(byte piece) {
+        return LETTERS[piece & (BLACK | TYPE_MASK)];
+    }
+}
@@ -0,0 +1,101 @@
+package XXL.Chess.engine;
+
+/**
+ * The XXL chess piece types with their layout letter, material value and movement rules.
+ * Leaps jump once by an offset; slides repeat an offset until blocked. Pawns are handled
+ * separately by the move generator.
+ */
+public enum PieceType {
+    PAWN('p', 100, Offsets.NONE, Offsets.NONE),
+    ROOK('r', 500, Offsets.NONE, Offsets.ORTHOGONAL),
+    KNIGHT('n', 300, Offsets.KNIGHT, Offsets.NONE),
+    BISHOP('b', 325, Offsets.NONE, Offsets.DIAGONAL),
+    ARCHBISHOP('h', 850, Offsets.KNIGHT, Offsets.DIAGONAL),
+    CAMEL('c', 250, Offsets.CAMEL, Offsets.NONE),
+    KNIGHT_KING('g', 550, Offsets.join(Offsets.KNIGHT, Offsets.KING), Offsets.NONE),
+    AMAZON('a', 1250, Offsets.KNIGHT, Offsets.ALL),
+    KING('k', 0, Offsets.KING, Offsets.NONE),
+    CHANCELLOR('e', 875, Offsets.KNIGHT, Offsets.ORTHOGONAL),
+    QUEEN('q', 950, Offsets.NONE, Offsets.ALL);
+
+    private static final PieceType[] BY_CODE = new PieceType[16]; // Lookup from piece code to type
+
+    static {
+        for (PieceType type : values()) {
+            BY_CODE[type.code()] = type;
+        }
+    }
+
+    private final char letter; // Lower-case layout letter
+    private final int value; // Material value in centipawns
+    private final int[][] leaps; // Single-step jump offsets
+    private final int[][] slides; // Repeated sliding offsets
+
+    PieceType(char letter, int value, int[][] leaps, int[][] slides) {
+        this.letter = letter;
+        this.value = value;
+        this.leaps = leaps;
+        this.slides = slides;
+    }
+
+    /**
+     * Gets the code stored in the low bits of a piece byte.
+     *
+     * @return The piece code, from 1 to 11
+     */
+    public int code() {
+        return ordinal() + 1;
+    }
+
+    /**
+     * Gets the lower-case letter used for this piece in layout files.
+     *
+     * @return The layout letter
+     */
+    public char letter() {
+        return this.letter;
+    }
+
+    /**
+     * Gets the material value of the piece.
+     *
+     * @return The value in centipawns
+     */
+    public int value() {
+        return this.value;
+    }
+
+    int[][] leaps() {
+        return this.leaps;
+    }
+
+    int[][] slides() {
+        return this.slides;
+    }
+
+    /**
+     * Looks up a piece type by its code.
+     *
+     * @param code The piece code
+     * @return The piece type, or null if the code is unknown
+     */
+    public static PieceType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /**
+     * Looks up a piece type by its layout letter, ignoring case.
+     *
+     * @param letter The layout letter
+     * @return The piece type, or null if the letter is unknown
+     */
+    public static PieceType fromLetter(char letter) {
+        char lower = Character.toLowerCase(letter);
+        for (PieceType type : values()) {
+            if (type.letter == lower) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
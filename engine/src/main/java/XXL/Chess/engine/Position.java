@@ -0,0 +1,479 @@
+package XXL.Chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * A chess position stored as one byte per square, independent of any rendering.
+ * Squares are indexed row by row: square = y * width + x, with y = 0 on white's side.
+ * Moves are applied with makeMove and reverted with unmakeMove without allocating.
+ */
+public class Position {
+    public static final int DEFAULT_WIDTH = 14; // Width of the standard XXL board
+    public static final int DEFAULT_HEIGHT = 14; // Height of the standard XXL board
+    public static final int MAX_SIZE = 32; // Largest width or height; a 32x32 board fills the square bits of a move
+    public static final int FIFTY_MOVE_PLIES = 100; // Plies without a pawn move or capture after which the game is drawn
+    private static final int HASH_HISTORY = 256; // Hashes kept for repetition checks: the fifty-move window plus the deepest search
+
+    // Standard XXL layout, one row per segment from white's side, '.' for an empty square
+    public static final String START_LAYOUT = "RNBHCGAKGCEBNR/PPPPPPPPPPPPPP/"
+            + "/////////"
+            + "/pppppppppppppp/rnbhcgakgcebnr";
+
+    private final int width; // Number of files
+    private final int height; // Number of ranks
+    private final byte[] squares; // Encoded piece on each square
+    private final int[] kingSquare = { -1, -1 }; // King square for white (0) and black (1), -1 if absent
+    private boolean whiteToMove = true; // Side to move
+    private int halfmoveClock = 0; // Plies since the last pawn move or capture
+    private int fullmoveNumber = 1; // Move number, incremented after black moves
+    private long hash = 0; // Zobrist hash of the pieces and side to move
+    private final long[] hashHistory = new long[HASH_HISTORY]; // Ring of the hashes before each move, indexed by ply
+    private int ply = 0; // Moves made since the position was set up, indexes hashHistory
+
+    // Undo stack, one entry per move made
+    private int[] undoMove = new int[64];
+    private byte[] undoMoved = new byte[64];
+    private byte[] undoCaptured = new byte[64];
+    private int[] undoHalfmove = new int[64];
+    private long[] undoHash = new long[64];
+    private int undoSize = 0;
+
+    /**
+     * Creates an empty position.
+     *
+     * @param width  Number of files
+     * @param height Number of ranks
+     * @throws IllegalArgumentException If a side is not between 1 and MAX_SIZE
+     */
+    public Position(int width, int height) {
+        if (width < 1 || height < 1 || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Board is " + width + "x" + height + ", sides must be 1 to " + MAX_SIZE);
+        }
+        this.width = width;
+        this.height = height;
+        this.squares = new byte[width * height];
+    }
+
+    /**
+     * Creates the standard XXL starting position.
+     *
+     * @return The starting position
+     */
+    public static Position startPosition() {
+        return fromLayout(START_LAYOUT, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Creates a position from layout rows, using the letters of layout files.
+     * Rows are separated by '/' or line breaks and start from white's side; '.' and ' '
+     * are empty squares. Missing rows and squares are empty. White moves first.
+     *
+     * @param layout The layout rows
+     * @param width  Number of files
+     * @param height Number of ranks
+     * @return The position
+     * @throws IllegalArgumentException If the layout does not fit the board or holds unknown letters
+     */
+    public static Position fromLayout(String layout, int width, int height) {
+        Position position = new Position(width, height);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < layout.length(); i++) {
+            char c = layout.charAt(i);
+            if (c == '/' || c == '\n') {
+                x = 0;
+                y++;
+                continue;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (c != '.' && c != ' ') {
+                byte piece = Piece.fromLetter(c);
+                if (piece == Piece.EMPTY || !position.isWithinRange(x, y)) {
+                    throw new IllegalArgumentException("Invalid layout at '" + c + "' (" + x + ", " + y + ")");
+                }
+                position.set(position.square(x, y), piece);
+            }
+            x++;
+        }
+        return position;
+    }
+
+    /**
+     * Formats the position as layout rows separated by '/', using '.' for empty squares.
+     *
+     * @return The layout rows
+     */
+    public String toLayout() {
+        StringBuilder builder = new StringBuilder();
+        for (int y = 0; y < this.height; y++) {
+            if (y > 0) {
+                builder.append('/');
+            }
+            for (int x = 0; x < this.width; x++) {
+                builder.append(Piece.toLetter(this.squares[square(x, y)]));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates an independent copy of the board, side to move, clocks and repetition history,
+     * without the undo history.
+     *
+     * @return The copy
+     */
+    public Position copy() {
+        Position copy = new Position(this.width, this.height);
+        System.arraycopy(this.squares, 0, copy.squares, 0, this.squares.length);
+        copy.kingSquare[0] = this.kingSquare[0];
+        copy.kingSquare[1] = this.kingSquare[1];
+        copy.whiteToMove = this.whiteToMove;
+        copy.halfmoveClock = this.halfmoveClock;
+        copy.fullmoveNumber = this.fullmoveNumber;
+        copy.hash = this.hash;
+        System.arraycopy(this.hashHistory, 0, copy.hashHistory, 0, HASH_HISTORY);
+        copy.ply = this.ply;
+        return copy;
+    }
+
+    /**
+     * Empties the board and resets the side to move, clocks and undo history,
+     * so the position can be reused without allocating.
+     */
+    public void clear() {
+        Arrays.fill(this.squares, Piece.EMPTY);
+        this.kingSquare[0] = -1;
+        this.kingSquare[1] = -1;
+        this.whiteToMove = true;
+        this.halfmoveClock = 0;
+        this.fullmoveNumber = 1;
+        this.undoSize = 0;
+        this.hash = 0;
+        this.ply = 0;
+    }
+
+    /**
+     * Gets the number of bytes saveSnapshot writes: one per square, the side to move and both clocks.
+     *
+     * @return The snapshot size in bytes
+     */
+    public int snapshotSize() {
+        return this.squares.length + 1 + 2 * Integer.BYTES;
+    }
+
+    /**
+     * Saves the board, side to move and clocks, without the undo history.
+     *
+     * @param out    The buffer to write to
+     * @param offset Index of the first byte to write; snapshotSize() bytes are written
+     */
+    public void saveSnapshot(byte[] out, int offset) {
+        System.arraycopy(this.squares, 0, out, offset, this.squares.length);
+        int at = offset + this.squares.length;
+        out[at++] = (byte) (this.whiteToMove ? 0 : 1);
+        at = putInt(out, at, this.halfmoveClock);
+        putInt(out, at, this.fullmoveNumber);
+    }
+
+    /**
+     * Restores a snapshot saved with saveSnapshot from a position of the same size.
+     * The undo and repetition history are cleared; the hash and king squares are recomputed.
+     *
+     * @param in     The buffer to read from
+     * @param offset Index of the first byte of the snapshot
+     */
+    public void loadSnapshot(byte[] in, int offset) {
+        clear();
+        for (int square = 0; square < this.squares.length; square++) {
+            if (in[offset + square] != Piece.EMPTY) {
+                set(square, in[offset + square]);
+            }
+        }
+        int at = offset + this.squares.length;
+        setWhiteToMove(in[at++] == 0);
+        this.halfmoveClock = getInt(in, at);
+        this.fullmoveNumber = getInt(in, at + Integer.BYTES);
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int squareCount() {
+        return this.squares.length;
+    }
+
+    public int square(int x, int y) {
+        return y * this.width + x;
+    }
+
+    public int x(int square) {
+        return square % this.width;
+    }
+
+    public int y(int square) {
+        return square / this.width;
+    }
+
+    /**
+     * Checks if the given coordinates are on the board.
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return true if (x, y) is on the board, false otherwise
+     */
+    public boolean isWithinRange(int x, int y) {
+        return x >= 0 && y >= 0 && x < this.width && y < this.height;
+    }
+
+    /**
+     * Gets the rank on which pawns of either side promote.
+     *
+     * @return The promotion rank
+     */
+    public int promotionRank() {
+        return this.height / 2;
+    }
+
+    public byte get(int square) {
+        return this.squares[square];
+    }
+
+    /**
+     * Places a piece on a square, replacing whatever was there.
+     *
+     * @param square The square index
+     * @param piece  The encoded piece, or Piece.EMPTY to clear the square
+     */
+    public void set(int square, byte piece) {
+        byte old = this.squares[square];
+        if (old != Piece.EMPTY) {
+            this.hash ^= Zobrist.key(old, square);
+            if (Piece.code(old) == PieceType.KING.code() && this.kingSquare[side(old)] == square) {
+                this.kingSquare[side(old)] = -1;
+            }
+        }
+        this.squares[square] = piece;
+        if (piece != Piece.EMPTY) {
+            this.hash ^= Zobrist.key(piece, square);
+            if (Piece.code(piece) == PieceType.KING.code()) {
+                this.kingSquare[side(piece)] = square;
+            }
+        }
+    }
+
+    /**
+     * Gets the square of a side's king.
+     *
+     * @param isWhite True for white's king, false for black's
+     * @return The king square, or -1 if that side has no king
+     */
+    public int kingSquare(boolean isWhite) {
+        return this.kingSquare[isWhite ? 0 : 1];
+    }
+
+    public boolean isWhiteToMove() {
+        return this.whiteToMove;
+    }
+
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove) {
+            this.hash ^= Zobrist.BLACK_TO_MOVE;
+        }
+        this.whiteToMove = whiteToMove;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position. It covers the pieces and the side to move but
+     * not the clocks, so the same arrangement reached at different times hashes the same.
+     * Hashes are stable across runs.
+     *
+     * @return The hash
+     */
+    public long hash() {
+        return this.hash;
+    }
+
+    /**
+     * Counts the earlier occurrences of the current position since the last pawn move or capture.
+     * Only positions with the same side to move are compared, stepping back two plies at a time,
+     * so the cost is proportional to the halfmove clock and nothing is allocated.
+     * Positions from before the position was set up or restored are not known.
+     *
+     * @return The number of earlier occurrences: 1 for a repetition, 2 for a threefold repetition
+     */
+    public int repetitions() {
+        int limit = Math.min(this.halfmoveClock, Math.min(this.ply, HASH_HISTORY));
+        int count = 0;
+        // A side needs two moves of its own to leave a position and come back, so start four plies back
+        for (int back = 4; back <= limit; back += 2) {
+            if (this.hashHistory[(this.ply - back) & (HASH_HISTORY - 1)] == this.hash) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks the fifty-move rule: a hundred plies without a pawn move or capture.
+     *
+     * @return True if the game is drawn by the fifty-move rule
+     */
+    public boolean isFiftyMoveDraw() {
+        return this.halfmoveClock >= FIFTY_MOVE_PLIES;
+    }
+
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    public int getFullmoveNumber() {
+        return this.fullmoveNumber;
+    }
+
+    public void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    /**
+     * Gets the number of moves that can be reverted with unmakeMove.
+     *
+     * @return The size of the undo stack
+     */
+    public int historySize() {
+        return this.undoSize;
+    }
+
+    /**
+     * Gets a move from the undo stack.
+     *
+     * @param index Index from 0 (oldest) to historySize() - 1 (latest)
+     * @return The move
+     */
+    public int historyMove(int index) {
+        return this.undoMove[index];
+    }
+
+    /**
+     * Gets the piece captured by the latest move.
+     *
+     * @return The captured piece, or Piece.EMPTY if the latest move was not a capture
+     */
+    public byte lastCaptured() {
+        return this.undoSize == 0 ? Piece.EMPTY : this.undoCaptured[this.undoSize - 1];
+    }
+
+    /**
+     * Plays a move for the side to move. The move is not checked for legality.
+     *
+     * @param move The encoded move
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        byte moved = this.squares[from];
+        byte captured = this.squares[to];
+        pushUndo(move, moved, captured);
+        this.hashHistory[this.ply++ & (HASH_HISTORY - 1)] = this.hash;
+
+        int promotion = Move.promotion(move);
+        byte placed = promotion == 0 ? moved : (byte) (promotion | (moved & Piece.BLACK));
+        this.squares[from] = Piece.EMPTY;
+        this.squares[to] = placed;
+        this.hash ^= Zobrist.key(moved, from) ^ Zobrist.key(placed, to) ^ Zobrist.BLACK_TO_MOVE;
+        if (captured != Piece.EMPTY) {
+            this.hash ^= Zobrist.key(captured, to);
+        }
+        if (Piece.code(moved) == PieceType.KING.code()) {
+            this.kingSquare[side(moved)] = to;
+        }
+        if (captured != Piece.EMPTY && Piece.code(captured) == PieceType.KING.code()) {
+            this.kingSquare[side(captured)] = -1;
+        }
+
+        if (captured != Piece.EMPTY || Piece.code(moved) == PieceType.PAWN.code()) {
+            this.halfmoveClock = 0;
+        } else {
+            this.halfmoveClock++;
+        }
+        if (!this.whiteToMove) {
+            this.fullmoveNumber++;
+        }
+        this.whiteToMove = !this.whiteToMove;
+    }
+
+    /**
+     * Reverts the latest move made with makeMove.
+     */
+    public void unmakeMove() {
+        int index = --this.undoSize;
+        this.ply--;
+        int move = this.undoMove[index];
+        byte moved = this.undoMoved[index];
+        byte captured = this.undoCaptured[index];
+        int from = Move.from(move);
+        int to = Move.to(move);
+
+        this.whiteToMove = !this.whiteToMove;
+        if (!this.whiteToMove) {
+            this.fullmoveNumber--;
+        }
+        this.halfmoveClock = this.undoHalfmove[index];
+        this.hash = this.undoHash[index];
+
+        this.squares[from] = moved;
+        this.squares[to] = captured;
+        if (Piece.code(moved) == PieceType.KING.code()) {
+            this.kingSquare[side(moved)] = from;
+        }
+        if (captured != Piece.EMPTY && Piece.code(captured) == PieceType.KING.code()) {
+            this.kingSquare[side(captured)] = to;
+        }
+    }
+
+    /**
+     * Saves what is needed to revert a move, growing the undo stack when it is full.
+     */
+    private void pushUndo(int move, byte moved, byte captured) {
+        if (this.undoSize == this.undoMove.length) {
+            int capacity = this.undoSize * 2;
+            this.undoMove = Arrays.copyOf(this.undoMove, capacity);
+            this.undoMoved = Arrays.copyOf(this.undoMoved, capacity);
+            this.undoCaptured = Arrays.copyOf(this.undoCaptured, capacity);
+            this.undoHalfmove = Arrays.copyOf(this.undoHalfmove, capacity);
+            this.undoHash = Arrays.copyOf(this.undoHash, capacity);
+        }
+        this.undoMove[this.undoSize] = move;
+        this.undoMoved[this.undoSize] = moved;
+        this.undoCaptured[this.undoSize] = captured;
+        this.undoHalfmove[this.undoSize] = this.halfmoveClock;
+        this.undoHash[this.undoSize] = this.hash;
+        this.undoSize++;
+    }
+
+    private static int putInt(byte[] out, int at, int value) {
+        out[at] = (byte) (value >>> 24);
+        out[at + 1] = (byte) (value >>> 16);
+        out[at + 2] = (byte) (value >>> 8);
+        out[at + 3] = (byte) value;
+        return at + Integer.BYTES;
+    }
+
+    private static int getInt(byte[] in, int at) {
+        return (in[at] & 0xFF) << 24 | (in[at + 1] & 0xFF) << 16 | (in[at + 2] & 0xFF) << 8 | (in[at + 3] & 0xFF);
+    }
+
+    private static int side(byte piece) {
+        return Piece.isWhite(piece) ? 0 : 1;
+    }
+}
@@ -0,0 +1,302 @@
+package XXL.Chess.engine;
+
+/**
+ * Iterative-deepening alpha-beta search with a capture-only quiescence search.
+ * Buffers are allocated once per Search, the move buffers of a ply when the search first
+ * reaches it, so searching does not allocate once warmed up.
+ * The search can be stopped or given a new deadline from another thread.
+ */
+public class Search {
+    public static final int MAX_PLY = 64; // Deepest ply the search can reach
+    public static final int MATE = 1_000_000; // Score of a checkmate at the root
+    public static final int MATE_BOUND = MATE - MAX_PLY; // Scores beyond this are mate scores
+    public static final long NO_DEADLINE = Long.MAX_VALUE; // Deadline meaning search until stopped
+
+    /**
+     * Receives progress reports after each completed iteration.
+     */
+    public interface Listener {
+
+        /**
+         * Reports a completed iteration.
+         *
+         * @param depth     Depth reached
+         * @param score     Score from the side to move's view, in centipawns or mate scores
+         * @param nodes     Nodes searched so far
+         * @param timeMs    Milliseconds since the search started
+         * @param pv        Principal variation buffer
+         * @param pvLength  Number of moves in the principal variation
+         */
+        void info(int depth, int score, long nodes, long timeMs, int[] pv, int pvLength);
+    }
+
+    private final Position position; // Position searched, restored after every move
+    private final int maxMoves; // Size of the move buffers, from the board size
+    private final int[][] moves = new int[MAX_PLY + 1][]; // Move buffer per ply, null until the ply is reached
+    private final int[][] scores = new int[MAX_PLY + 1][]; // Ordering scores per ply, null until the ply is reached
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1]; // Triangular principal variation table
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private final int[] rootPv = new int[MAX_PLY + 1]; // Principal variation of the last completed iteration
+    private int rootPvLength = 0;
+
+    private volatile boolean stopped = false; // Set to abort the search
+    private volatile long deadline = NO_DEADLINE; // System.nanoTime after which the search stops
+    private long nodes = 0; // Nodes visited
+    private long nodeLimit = Long.MAX_VALUE; // Nodes after which the search stops
+
+    /**
+     * Constructor for Search.
+     *
+     * @param position The position to search; it is modified during the search and restored afterwards
+     */
+    public Search(Position position) {
+        this.position = position;
+        this.maxMoves = MoveGenerator.maxMoves(position.getWidth(), position.getHeight());
+    }
+
+    /**
+     * Stops the search as soon as possible. The best move of the last completed iteration is kept.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Sets the System.nanoTime deadline of the search.
+     *
+     * @param deadline The deadline, or NO_DEADLINE to search until stopped or the depth is reached
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the move the engine expects in reply to the best move.
+     *
+     * @return The second move of the principal variation, or Move.NONE
+     */
+    public int getPonderMove() {
+        return this.rootPvLength > 1 ? this.rootPv[1] : Move.NONE;
+    }
+
+    /**
+     * Searches the position with increasing depth until the depth limit, the deadline or a stop.
+     *
+     * @param maxDepth Deepest iteration to run
+     * @param listener Receives a report after each completed iteration, may be null
+     * @return The best move found, or Move.NONE if the side to move has no legal move
+     */
+    public int run(int maxDepth, Listener listener) {
+        long start = System.nanoTime();
+        this.nodes = 0;
+        this.rootPvLength = 0;
+
+        int[] legal = new int[this.maxMoves];
+        int legalCount = MoveGenerator.generateLegalMoves(this.position, legal);
+        if (legalCount == 0) {
+            return Move.NONE;
+        }
+        int bestMove = legal[0];
+
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+            int score = alphaBeta(depth, 0, -MATE - 1, MATE + 1);
+            if (this.stopped) {
+                // Incomplete iteration: keep the previous result, or the best move found so far
+                if (this.rootPvLength == 0 && this.pvLength[0] > 0) {
+                    bestMove = this.pv[0][0];
+                }
+                break;
+            }
+            if (this.pvLength[0] > 0) {
+                System.arraycopy(this.pv[0], 0, this.rootPv, 0, this.pvLength[0]);
+                this.rootPvLength = this.pvLength[0];
+                bestMove = this.rootPv[0];
+            }
+            if (listener != null) {
+                listener.info(depth, score, this.nodes, (System.nanoTime() - start) / 1_000_000, this.rootPv, this.rootPvLength);
+            }
+            if (Math.abs(score) >= MATE_BOUND || legalCount == 1) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Negamax alpha-beta search.
+     */
+    private int alphaBeta(int depth, int ply, int alpha, int beta) {
+        this.pvLength[ply] = 0;
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiesce(ply, alpha, beta);
+        }
+        this.nodes++;
+        if (shouldStop()) {
+            return 0;
+        }
+        if (ply > 0 && (this.position.repetitions() > 0 || this.position.isFiftyMoveDraw())) {
+            return 0; // Repeating a position is a draw the side ahead can avoid
+        }
+
+        boolean mover = this.position.isWhiteToMove();
+        int[] buffer = moveBuffer(ply);
+        int count = MoveGenerator.generateMoves(this.position, buffer);
+        orderMoves(ply, count, ply < this.rootPvLength ? this.rootPv[ply] : Move.NONE);
+
+        int legal = 0;
+        int best = -MATE - 1;
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(ply, i, count);
+            this.position.makeMove(move);
+            if (MoveGenerator.isInCheck(this.position, mover)) {
+                this.position.unmakeMove();
+                continue;
+            }
+            legal++;
+            int score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (legal == 0) {
+            // Checkmate or stalemate
+            return MoveGenerator.isInCheck(this.position, mover) ? -MATE + ply : 0;
+        }
+        return best;
+    }
+
+    /**
+     * Searches captures and promotions until the position is quiet.
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        this.nodes++;
+        if (shouldStop()) {
+            return 0;
+        }
+        int standPat = Evaluation.evaluate(this.position);
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        boolean mover = this.position.isWhiteToMove();
+        int[] buffer = moveBuffer(ply);
+        int count = MoveGenerator.generateCaptures(this.position, buffer);
+        orderMoves(ply, count, Move.NONE);
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(ply, i, count);
+            this.position.makeMove(move);
+            if (MoveGenerator.isInCheck(this.position, mover)) {
+                this.position.unmakeMove();
+                continue;
+            }
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Gets the move buffer of a ply, allocating it and its ordering scores on first use.
+     */
+    private int[] moveBuffer(int ply) {
+        if (this.moves[ply] == null) {
+            this.moves[ply] = new int[this.maxMoves];
+            this.scores[ply] = new int[this.maxMoves];
+        }
+        return this.moves[ply];
+    }
+
+    /**
+     * Scores moves for ordering: the previous principal variation move first, then captures
+     * by most valuable victim and least valuable attacker, then promotions.
+     */
+    private void orderMoves(int ply, int count, int pvMove) {
+        int[] buffer = this.moves[ply];
+        int[] order = this.scores[ply];
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            if (move == pvMove) {
+                order[i] = Integer.MAX_VALUE;
+                continue;
+            }
+            int score = 0;
+            byte victim = this.position.get(Move.to(move));
+            if (victim != Piece.EMPTY) {
+                score += 10 * MoveTables.VALUE[Piece.code(victim)] - MoveTables.VALUE[Piece.code(this.position.get(Move.from(move)))] + 100_000;
+            }
+            if (Move.promotion(move) != 0) {
+                score += MoveTables.VALUE[Move.promotion(move)];
+            }
+            order[i] = score;
+        }
+    }
+
+    /**
+     * Selects the best remaining move into slot i, so sorting stops at a cutoff.
+     */
+    private int nextMove(int ply, int i, int count) {
+        int[] buffer = this.moves[ply];
+        int[] order = this.scores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (order[j] > order[best]) {
+                best = j;
+            }
+        }
+        int move = buffer[best];
+        buffer[best] = buffer[i];
+        buffer[i] = move;
+        int score = order[best];
+        order[best] = order[i];
+        order[i] = score;
+        return move;
+    }
+
+    private void updatePv(int ply, int move) {
+        this.pv[ply][0] = move;
+        int childLength = ply + 1 <= MAX_PLY ? this.pvLength[ply + 1] : 0;
+        System.arraycopy(this.pv[ply + 1], 0, this.pv[ply], 1, childLength);
+        this.pvLength[ply] = childLength + 1;
+    }
+
+    private boolean shouldStop() {
+        if ((this.nodes & 1023) == 0 && (this.nodes >= this.nodeLimit
+                || (this.deadline != NO_DEADLINE && System.nanoTime() - this.deadline > 0))) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+}
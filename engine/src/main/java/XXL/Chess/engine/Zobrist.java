@@ -0,0 +1,46 @@
+package XXL.Chess.engine;
+
+/**
+ * Zobrist keys for hashing positions: one random key per piece and square, and one
+ * for black to move. The keys come from a fixed seed, so hashes are the same on every
+ * run and can be stored in files.
+ */
+final class Zobrist {
+    static final int MAX_SQUARES = 1 << 10; // Squares addressable by a move
+    static final long BLACK_TO_MOVE; // Key mixed in when black is to move
+
+    private static final int PIECES = 32; // Encoded piece values, colour bit included
+    private static final long[] KEYS = new long[PIECES * MAX_SQUARES]; // Key per piece and square
+
+    static {
+        long seed = 0x58584C4368657373L; // "XXLChess"
+        for (int i = 0; i < KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            KEYS[i] = mix(seed);
+        }
+        BLACK_TO_MOVE = mix(seed + 0x9E3779B97F4A7C15L);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a piece on a square.
+     *
+     * @param piece  The encoded piece, not empty
+     * @param square The square index
+     * @return The key
+     */
+    static long key(byte piece, int square) {
+        return KEYS[(piece & (Piece.BLACK | Piece.TYPE_MASK)) * MAX_SQUARES + square];
+    }
+
+    /**
+     * SplitMix64 finaliser, spreading a counter into well-mixed bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,556 @@
+package XXL.Chess.engine.db;
+
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.BinaryGameCodec;
+import XXL.Chess.engine.record.GameRecord;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Database of games in an append-only file, with an index from position hashes to the
+ * games that reached them.
+ *
+ * The games file starts with a 16-byte header ("XXLGAMES", format version, codec version)
+ * followed by one block per game: a 4-byte length and the game in BinaryGameCodec form.
+ * A game is identified by the offset of its block.
+ *
+ * The index file, named after the games file with ".idx" added, starts with a 32-byte
+ * header ("XXLINDEX", the length of the games file it covers, the number of entries and a
+ * reserved word) followed by 16-byte entries of position hash and game offset, sorted by
+ * hash then offset. Both files are read through FileChannel.map, so a lookup is a binary
+ * search that only loads the index pages it touches and the game blocks it returns.
+ * Games appended after the index was built are found by scanning them until the index
+ * is rebuilt.
+ *
+ * A database is not thread-safe; rebuildIndex uses its own worker threads.
+ */
+public class GameDatabase implements Closeable {
+    private static final byte[] GAMES_MAGIC = "XXLGAMES".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INDEX_MAGIC = "XXLINDEX".getBytes(StandardCharsets.US_ASCII);
+    private static final int FORMAT_VERSION = 1;
+    private static final int GAMES_HEADER = 16; // Bytes before the first game block
+    private static final int INDEX_HEADER = 32; // Bytes before the first index entry
+    private static final int ENTRY_SIZE = 16; // Bytes per index entry
+    private static final int RUN_ENTRIES = 1 << 20; // Entries sorted in memory before spilling to a run file
+
+    private final Path gamesPath; // File holding the game blocks
+    private final Path indexPath; // File holding the position index
+    private final FileChannel games; // Open games file, for appending and mapping
+    private final BinaryGameCodec codec = new BinaryGameCodec(); // Codec for single-threaded use
+    private ByteBuffer encodeBuffer = ByteBuffer.allocate(1 << 12); // Reused buffer for appending
+    private MappedFile gamesMap = null; // Mapping of the games file, extended after appends
+    private MappedFile indexMap = null; // Mapping of the index file, null if there is no valid index
+    private long indexedLength = GAMES_HEADER; // Length of the games file the index covers
+    private long indexEntries = 0; // Number of entries in the index
+
+    private GameDatabase(Path gamesPath) throws IOException {
+        this.gamesPath = gamesPath;
+        this.indexPath = Paths.get(gamesPath + ".idx");
+        this.games = FileChannel.open(gamesPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Opens a database, creating an empty games file if it does not exist.
+     *
+     * @param gamesPath Path of the games file
+     * @return The database
+     * @throws IOException If the files cannot be opened or are not database files
+     */
+    public static GameDatabase open(Path gamesPath) throws IOException {
+        GameDatabase database = new GameDatabase(gamesPath);
+        try {
+            database.readHeader();
+            database.openIndex();
+        } catch (IOException | RuntimeException e) {
+            database.close();
+            throw e;
+        }
+        return database;
+    }
+
+    /**
+     * Appends a game.
+     *
+     * @param game The game; its moves must be legal
+     * @return The offset identifying the game
+     * @throws IOException If writing fails
+     */
+    public long append(GameRecord game) throws IOException {
+        while (true) {
+            try {
+                this.encodeBuffer.clear();
+                this.encodeBuffer.putInt(0);
+                int length = this.codec.encode(game, this.encodeBuffer);
+                this.encodeBuffer.putInt(0, length);
+                break;
+            } catch (BufferOverflowException e) {
+                this.encodeBuffer = ByteBuffer.allocate(this.encodeBuffer.capacity() * 2);
+            }
+        }
+        this.encodeBuffer.flip();
+        long offset = this.games.size();
+        long at = offset;
+        while (this.encodeBuffer.hasRemaining()) {
+            at += this.games.write(this.encodeBuffer, at);
+        }
+        return offset;
+    }
+
+    /**
+     * Reads a game.
+     *
+     * @param offset The offset returned by append or findGames
+     * @param game   The record to fill
+     * @throws IOException If reading fails
+     * @throws IllegalArgumentException If no game starts at the offset
+     */
+    public void readGame(long offset, GameRecord game) throws IOException {
+        if (offset < GAMES_HEADER || offset + Integer.BYTES > this.games.size()) {
+            throw new IllegalArgumentException("No game at offset " + offset);
+        }
+        MappedFile map = gamesMap(offset + Integer.BYTES);
+        int length = map.getInt(offset);
+        if (length < 0 || offset + Integer.BYTES + length > this.games.size()) {
+            throw new IllegalArgumentException("No game at offset " + offset);
+        }
+        map = gamesMap(offset + Integer.BYTES + length);
+        try {
+            if (!this.codec.decode(map.slice(offset + Integer.BYTES, length), game)) {
+                throw new IllegalArgumentException("No game at offset " + offset);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("No game at offset " + offset, e);
+        }
+    }
+
+    /**
+     * Finds the games that reached a position, matching on its hash.
+     *
+     * @param position The position; the side to move counts, the clocks do not
+     * @return Offsets of the games, in ascending order
+     * @throws IOException If reading fails
+     */
+    public long[] findGames(Position position) throws IOException {
+        long hash = position.hash();
+        LongList found = new LongList();
+
+        // Binary search the index for the first entry with the hash
+        if (this.indexMap != null) {
+            long low = 0;
+            long high = this.indexEntries;
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                if (this.indexMap.getLong(INDEX_HEADER + middle * ENTRY_SIZE) < hash) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            for (long i = low; i < this.indexEntries; i++) {
+                long entry = INDEX_HEADER + i * ENTRY_SIZE;
+                if (this.indexMap.getLong(entry) != hash) {
+                    break;
+                }
+                found.add(this.indexMap.getLong(entry + Long.BYTES));
+            }
+        }
+
+        // Scan the games appended since the index was built
+        long end = this.games.size();
+        if (this.indexedLength < end) {
+            MappedFile map = gamesMap(end);
+            GameRecord game = new GameRecord();
+            for (long offset = this.indexedLength; offset < end; offset += Integer.BYTES + map.getInt(offset)) {
+                int length = map.getInt(offset);
+                this.codec.decode(map.slice(offset + Integer.BYTES, length), game);
+                if (reaches(game, hash)) {
+                    found.add(offset);
+                }
+            }
+        }
+        return found.toArray();
+    }
+
+    /**
+     * Rebuilds the index over every game, decoding the games on several threads.
+     * Entries are sorted in bounded runs that spill to temporary files and are then
+     * merged, so memory use does not grow with the number of games.
+     *
+     * @param threads Number of worker threads
+     * @throws IOException If reading or writing fails
+     */
+    public void rebuildIndex(int threads) throws IOException {
+        threads = Math.max(1, threads);
+        long end = this.games.size();
+        MappedFile map = gamesMap(end);
+        LongList offsets = new LongList();
+        for (long offset = GAMES_HEADER; offset < end; offset += Integer.BYTES + map.getInt(offset)) {
+            offsets.add(offset);
+        }
+
+        // Each worker decodes a contiguous share of the games into sorted run files
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<File> runs = new ArrayList<>();
+        try {
+            List<Callable<List<File>>> tasks = new ArrayList<>();
+            int share = (offsets.size() + threads - 1) / threads;
+            for (int first = 0; first < offsets.size(); first += share) {
+                int from = first;
+                int to = Math.min(offsets.size(), first + share);
+                tasks.add(() -> indexGames(map, offsets, from, to));
+            }
+            for (Future<List<File>> result : pool.invokeAll(tasks)) {
+                runs.addAll(result.get());
+            }
+
+            Path temporary = Paths.get(this.indexPath + ".tmp");
+            long entries = mergeRuns(runs, temporary);
+            try (RandomAccessFile file = new RandomAccessFile(temporary.toFile(), "rw")) {
+                file.write(INDEX_MAGIC);
+                file.writeLong(end);
+                file.writeLong(entries);
+                file.writeLong(0);
+            }
+            this.indexMap = null;
+            Files.move(temporary, this.indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Index rebuild failed", e.getCause());
+        } finally {
+            pool.shutdown();
+            for (File run : runs) {
+                run.delete();
+            }
+        }
+        openIndex();
+    }
+
+    /**
+     * Gets the length of the games file.
+     *
+     * @return The length in bytes
+     * @throws IOException If the size cannot be read
+     */
+    public long size() throws IOException {
+        return this.games.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.gamesMap = null;
+        this.indexMap = null;
+        this.games.close();
+    }
+
+    /**
+     * Writes the header of a new games file or checks the header of an existing one.
+     */
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(GAMES_HEADER);
+        if (this.games.size() == 0) {
+            header.put(GAMES_MAGIC).putInt(FORMAT_VERSION).putInt(BinaryGameCodec.VERSION).flip();
+            this.games.write(header, 0);
+            return;
+        }
+        this.games.read(header, 0);
+        header.flip();
+        byte[] magic = new byte[GAMES_MAGIC.length];
+        if (header.remaining() < GAMES_HEADER || !Arrays.equals(GAMES_MAGIC, readBytes(header, magic))
+                || header.getInt() != FORMAT_VERSION || header.getInt() != BinaryGameCodec.VERSION) {
+            throw new IOException(this.gamesPath + " is not a game database of this version");
+        }
+    }
+
+    /**
+     * Maps the index file if it exists and covers a prefix of the games file.
+     */
+    private void openIndex() throws IOException {
+        this.indexMap = null;
+        this.indexedLength = GAMES_HEADER;
+        this.indexEntries = 0;
+        if (!Files.exists(this.indexPath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(this.indexPath, StandardOpenOption.READ)) {
+            if (channel.size() < INDEX_HEADER) {
+                return;
+            }
+            MappedFile map = new MappedFile(channel, channel.size());
+            byte[] magic = new byte[INDEX_MAGIC.length];
+            long covered = map.getLong(8);
+            long entries = map.getLong(16);
+            if (!Arrays.equals(INDEX_MAGIC, readBytes(map.slice(0, magic.length), magic))
+                    || covered > this.games.size() || INDEX_HEADER + entries * ENTRY_SIZE != channel.size()) {
+                return; // Stale or foreign index; lookups scan every game until it is rebuilt
+            }
+            this.indexMap = map;
+            this.indexedLength = covered;
+            this.indexEntries = entries;
+        }
+    }
+
+    /**
+     * Gets a mapping of the games file that covers at least the given length, extending
+     * it over the games appended since it was last extended.
+     */
+    private MappedFile gamesMap(long length) throws IOException {
+        if (this.gamesMap == null) {
+            this.gamesMap = new MappedFile(this.games, this.games.size());
+        } else if (this.gamesMap.size() < length) {
+            this.gamesMap.extend(this.games.size());
+        }
+        return this.gamesMap;
+    }
+
+    /**
+     * Decodes a share of the games and writes their position entries as sorted run files.
+     */
+    private static List<File> indexGames(MappedFile map, LongList offsets, int from, int to) throws IOException {
+        BinaryGameCodec codec = new BinaryGameCodec();
+        GameRecord game = new GameRecord();
+        long[] hashes = new long[RUN_ENTRIES];
+        long[] games = new long[RUN_ENTRIES];
+        int count = 0;
+        List<File> runs = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long offset = offsets.get(i);
+            codec.decode(map.slice(offset + Integer.BYTES, map.getInt(offset)), game);
+            Position position = game.getStart().copy();
+            for (int ply = 0; ; ply++) {
+                if (count == RUN_ENTRIES) {
+                    runs.add(writeRun(hashes, games, count));
+                    count = 0;
+                }
+                hashes[count] = position.hash();
+                games[count++] = offset;
+                if (ply == game.moveCount()) {
+                    break;
+                }
+                position.makeMove(game.getMove(ply));
+            }
+        }
+        if (count > 0) {
+            runs.add(writeRun(hashes, games, count));
+        }
+        return runs;
+    }
+
+    /**
+     * Sorts entries by hash then offset and writes them, without duplicates, to a temporary file.
+     */
+    private static File writeRun(long[] hashes, long[] games, int count) throws IOException {
+        sort(hashes, games, 0, count - 1);
+        File file = File.createTempFile("xxl-index", ".run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            for (int i = 0; i < count; i++) {
+                if (i > 0 && hashes[i] == hashes[i - 1] && games[i] == games[i - 1]) {
+                    continue;
+                }
+                out.writeLong(hashes[i]);
+                out.writeLong(games[i]);
+            }
+        } catch (IOException e) {
+            file.delete();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Merges sorted run files into an index file, leaving room for the header.
+     *
+     * @return The number of entries written
+     */
+    private static long mergeRuns(List<File> runs, Path target) throws IOException {
+        PriorityQueue<Run> queue = new PriorityQueue<>();
+        long entries = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target.toFile()), 1 << 16))) {
+            out.write(new byte[INDEX_HEADER]);
+            for (File file : runs) {
+                Run run = new Run(file);
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+            long lastHash = 0;
+            long lastGame = -1;
+            while (!queue.isEmpty()) {
+                Run run = queue.poll();
+                if (run.hash != lastHash || run.game != lastGame) {
+                    out.writeLong(run.hash);
+                    out.writeLong(run.game);
+                    lastHash = run.hash;
+                    lastGame = run.game;
+                    entries++;
+                }
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+        } finally {
+            for (Run run : queue) {
+                run.in.close();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Checks if a game reaches a position hash at any ply.
+     */
+    private static boolean reaches(GameRecord game, long hash) {
+        Position position = game.getStart().copy();
+        for (int ply = 0; ; ply++) {
+            if (position.hash() == hash) {
+                return true;
+            }
+            if (ply == game.moveCount()) {
+                return false;
+            }
+            position.makeMove(game.getMove(ply));
+        }
+    }
+
+    /**
+     * Quicksorts entries by hash then offset.
+     */
+    private static void sort(long[] hashes, long[] games, int low, int high) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long pivotHash = hashes[middle];
+            long pivotGame = games[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(hashes[i], games[i], pivotHash, pivotGame) < 0) {
+                    i++;
+                }
+                while (compare(hashes[j], games[j], pivotHash, pivotGame) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    long hash = hashes[i];
+                    hashes[i] = hashes[j];
+                    hashes[j] = hash;
+                    long game = games[i];
+                    games[i] = games[j];
+                    games[j] = game;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller side to bound the stack depth
+            if (j - low < high - i) {
+                sort(hashes, games, low, j);
+                low = i;
+            } else {
+                sort(hashes, games, i, high);
+                high = j;
+            }
+        }
+    }
+
+    private static int compare(long hash, long game, long otherHash, long otherGame) {
+        int order = Long.compare(hash, otherHash);
+        return order != 0 ? order : Long.compare(game, otherGame);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Sorted run file being merged, positioned at its current entry.
+     */
+    private static final class Run implements Comparable<Run> {
+        private final DataInputStream in; // Entries not yet read
+        private long hash; // Hash of the current entry
+        private long game; // Game offset of the current entry
+
+        Run(File file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+        }
+
+        /**
+         * Reads the next entry, closing the file at its end.
+         *
+         * @return True if an entry was read, false if the run is exhausted
+         */
+        boolean advance() throws IOException {
+            try {
+                this.hash = this.in.readLong();
+                this.game = this.in.readLong();
+                return true;
+            } catch (EOFException e) {
+                this.in.close();
+                return false;
+            }
+        }
+
+        @Override
+        public int compareTo(Run other) {
+            return compare(this.hash, this.game, other.hash, other.game);
+        }
+    }
+
+    /**
+     * Growable list of primitive longs.
+     */
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size = 0;
+
+        void add(long value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        long get(int index) {
+            return this.values[index];
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        long[] toArray() {
+            long[] result = Arrays.copyOf(this.values, this.size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package XXL.Chess.engine.db;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Read-only memory mapping of a file of any size, split into segments because a single
+ * mapping is limited to 2 GB. Only the pages that are read are loaded by the OS.
+ * The mapping can be extended as the file grows, mapping only the new tail.
+ */
+final class MappedFile {
+    static final long SEGMENT_SIZE = 1L << 30; // Bytes per mapping; a multiple of every record size used
+
+    private final FileChannel channel; // The mapped file
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0]; // Consecutive mappings covering the file
+    private long size = 0; // Number of bytes mapped
+
+    /**
+     * Maps the first bytes of a file.
+     *
+     * @param channel The open file
+     * @param size    Number of bytes to map
+     * @throws IOException If mapping fails
+     */
+    MappedFile(FileChannel channel, long size) throws IOException {
+        this.channel = channel;
+        extend(size);
+    }
+
+    /**
+     * Extends the mapping after the file has grown. The segments already mapped in full
+     * are kept; only the last, partly mapped segment is mapped again, with any new ones.
+     *
+     * @param size Number of bytes to map, at most the length of the file
+     * @throws IOException If mapping fails
+     */
+    void extend(long size) throws IOException {
+        if (size <= this.size) {
+            return;
+        }
+        int first = (int) (this.size / SEGMENT_SIZE); // First segment not mapped in full
+        int count = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        MappedByteBuffer[] segments = Arrays.copyOf(this.segments, count);
+        for (int i = first; i < count; i++) {
+            long start = i * SEGMENT_SIZE;
+            segments[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            segments[i].order(ByteOrder.BIG_ENDIAN);
+        }
+        this.segments = segments;
+        this.size = size;
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    /**
+     * Reads a long that does not cross a segment boundary, which holds for any long
+     * stored at an offset that is a multiple of 8.
+     */
+    long getLong(long offset) {
+        return this.segments[(int) (offset / SEGMENT_SIZE)].getLong((int) (offset % SEGMENT_SIZE));
+    }
+
+    int getInt(long offset) {
+        if (offset % SEGMENT_SIZE <= SEGMENT_SIZE - Integer.BYTES) {
+            return this.segments[(int) (offset / SEGMENT_SIZE)].getInt((int) (offset % SEGMENT_SIZE));
+        }
+        return slice(offset, Integer.BYTES).getInt();
+    }
+
+    /**
+     * Gets a view of a range of the file. The view shares the mapping when the range lies
+     * in one segment and is a copy otherwise.
+     *
+     * @param offset Offset of the first byte
+     * @param length Number of bytes
+     * @return A buffer positioned at the first byte
+     */
+    ByteBuffer slice(long offset, int length) {
+        int segment = (int) (offset / SEGMENT_SIZE);
+        int start = (int) (offset % SEGMENT_SIZE);
+        if (start + (long) length <= SEGMENT_SIZE) {
+            ByteBuffer view = this.segments[segment].duplicate();
+            view.limit(start + length);
+            view.position(start);
+            return view.slice();
+        }
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        for (long at = offset; copy.hasRemaining(); at = offset + copy.position()) {
+            ByteBuffer part = this.segments[(int) (at / SEGMENT_SIZE)].duplicate();
+            part.position((int) (at % SEGMENT_SIZE));
+            part.limit(Math.min(part.capacity(), part.position() + copy.remaining()));
+            copy.put(part);
+        }
+        copy.flip();
+        return copy;
+    }
+}
@@ -0,0 +1,336 @@
+package XXL.Chess.engine.protocol;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.Search;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+
+/**
+ * Line-based stdin/stdout protocol for driving the engine without Processing, modelled on UCI.
+ *
+ * Commands:
+ *   xxl                                    identify the engine, answered by "xxlok"
+ *   isready                                answered by "readyok"
+ *   newgame                                reset to the starting position
+ *   position startpos [moves m1 m2 ...]    set up the starting position
+ *   position layout ROWS [w|b] [moves ...] set up layout rows separated by '/', '.' for empty squares
+ *   position notation BOARD [w|b] [HALFMOVE FULLMOVE] [moves ...]
+ *                                          set up a position written in Notation
+ *   go [depth N] [nodes N] [movetime MS] [wtime MS] [btime MS] [winc MS] [binc MS] [movestogo N] [infinite] [ponder]
+ *   stop                                   stop searching and report the best move
+ *   ponderhit                              the expected move was played, continue as a normal search
+ *   d                                      print the board
+ *   quit                                   exit
+ *
+ * The search reports "info depth D score cp S|mate M nodes N nps N time MS pv ..." after each
+ * iteration and finishes with "bestmove M [ponder M]".
+ */
+public class TextProtocol {
+    private static final int DEFAULT_MOVES_TO_GO = 30; // Moves assumed left when sharing the clock
+
+    private final BufferedReader in; // Command input
+    private final PrintStream out; // Response output
+    private Position position = Position.startPosition(); // Position set up by the last command
+
+    // Running search
+    private Thread searchThread = null;
+    private Search search = null;
+    private boolean waitForStop = false; // Hold the bestmove until stop or ponderhit
+    private long ponderMoveTimeMs = -1; // Time to search after ponderhit, -1 for no limit
+
+    /**
+     * Constructor for TextProtocol.
+     *
+     * @param in  Stream the commands are read from
+     * @param out Stream the responses are written to
+     */
+    public TextProtocol(InputStream in, PrintStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in));
+        this.out = out;
+    }
+
+    /**
+     * Reads and executes commands until "quit" or the end of the input.
+     *
+     * @throws IOException If reading the input fails
+     */
+    public void run() throws IOException {
+        String line;
+        while ((line = this.in.readLine()) != null) {
+            if (!execute(line.trim())) {
+                break;
+            }
+        }
+        stopSearch();
+    }
+
+    /**
+     * Executes a single command.
+     *
+     * @param line The command line
+     * @return False if the command was "quit", true otherwise
+     */
+    public boolean execute(String line) {
+        if (line.isEmpty()) {
+            return true;
+        }
+        String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "xxl":
+                send("id name XXL Chess");
+                send("xxlok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "newgame":
+                stopSearch();
+                this.position = Position.startPosition();
+                break;
+            case "position":
+                stopSearch();
+                setPosition(tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "ponderhit":
+                ponderHit();
+                break;
+            case "d":
+                for (String row : this.position.toLayout().split("/")) {
+                    send(row);
+                }
+                send((this.position.isWhiteToMove() ? "white" : "black") + " to move");
+                send(Notation.toString(this.position));
+                break;
+            case "quit":
+                return false;
+            default:
+                send("info string unknown command " + tokens[0]);
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Handles "position": sets up the board, then plays the listed moves.
+     */
+    private void setPosition(String[] tokens) {
+        int i = 1;
+        Position next;
+        try {
+            if (tokens.length > i && tokens[i].equals("startpos")) {
+                next = Position.startPosition();
+                i++;
+            } else if (tokens.length > i + 1 && tokens[i].equals("layout")) {
+                next = Position.fromLayout(tokens[i + 1], Position.DEFAULT_WIDTH, Position.DEFAULT_HEIGHT);
+                i += 2;
+                if (tokens.length > i && (tokens[i].equals("w") || tokens[i].equals("b"))) {
+                    next.setWhiteToMove(tokens[i].equals("w"));
+                    i++;
+                }
+            } else if (tokens.length > i + 1 && tokens[i].equals("notation")) {
+                int end = i + 1;
+                while (end < tokens.length && !tokens[end].equals("moves")) {
+                    end++;
+                }
+                StringBuilder text = new StringBuilder();
+                for (int j = i + 1; j < end; j++) {
+                    text.append(tokens[j]).append(' ');
+                }
+                next = Notation.parse(text);
+                i = end;
+            } else {
+                send("info string expected startpos, layout or notation");
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string " + e.getMessage());
+            return;
+        }
+
+        if (tokens.length > i && tokens[i].equals("moves")) {
+            for (i++; i < tokens.length; i++) {
+                int move = Move.parse(next, tokens[i]);
+                if (move == Move.NONE) {
+                    send("info string illegal move " + tokens[i]);
+                    return;
+                }
+                next.makeMove(move);
+            }
+        }
+        this.position = next;
+    }
+
+    /**
+     * Handles "go": starts a search on a background thread.
+     */
+    private void go(String[] tokens) {
+        int depth = Search.MAX_PLY;
+        long nodes = Long.MAX_VALUE;
+        long moveTime = -1;
+        long time = -1;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        boolean infinite = false;
+        boolean ponder = false;
+        boolean white = this.position.isWhiteToMove();
+
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "depth": depth = Integer.parseInt(tokens[++i]); break;
+                    case "nodes": nodes = Long.parseLong(tokens[++i]); break;
+                    case "movetime": moveTime = Long.parseLong(tokens[++i]); break;
+                    case "wtime": if (white) { time = Long.parseLong(tokens[++i]); } else { i++; } break;
+                    case "btime": if (!white) { time = Long.parseLong(tokens[++i]); } else { i++; } break;
+                    case "winc": if (white) { increment = Long.parseLong(tokens[++i]); } else { i++; } break;
+                    case "binc": if (!white) { increment = Long.parseLong(tokens[++i]); } else { i++; } break;
+                    case "movestogo": movesToGo = Math.max(1, Integer.parseInt(tokens[++i])); break;
+                    case "infinite": infinite = true; break;
+                    case "ponder": ponder = true; break;
+                    default: break;
+                }
+            }
+        } catch (RuntimeException e) {
+            send("info string invalid go command");
+            return;
+        }
+
+        // Share the remaining clock time over the moves still to play
+        if (moveTime < 0 && time >= 0) {
+            moveTime = Math.max(1, Math.min(time - 50, time / movesToGo + increment * 3 / 4));
+        }
+
+        Search search = new Search(this.position.copy());
+        search.setNodeLimit(nodes);
+        if (ponder) {
+            this.ponderMoveTimeMs = moveTime;
+        } else if (moveTime >= 0) {
+            search.setDeadline(System.nanoTime() + moveTime * 1_000_000);
+        }
+
+        synchronized (this) {
+            this.search = search;
+            this.waitForStop = infinite || ponder;
+        }
+        int maxDepth = depth;
+        Position root = this.position.copy();
+        this.searchThread = new Thread(() -> runSearch(search, root, maxDepth), "search");
+        this.searchThread.setDaemon(true);
+        this.searchThread.start();
+    }
+
+    /**
+     * Body of the search thread: searches, then reports the best move once allowed.
+     */
+    private void runSearch(Search search, Position root, int depth) {
+        int best = search.run(depth, (d, score, nodes, timeMs, pv, pvLength) -> {
+            StringBuilder line = new StringBuilder("info depth ").append(d).append(" score ").append(formatScore(score))
+                    .append(" nodes ").append(nodes).append(" nps ").append(timeMs > 0 ? nodes * 1000 / timeMs : nodes)
+                    .append(" time ").append(timeMs).append(" pv");
+            Position walk = root.copy();
+            for (int i = 0; i < pvLength; i++) {
+                line.append(' ').append(Move.toString(walk, pv[i]));
+                walk.makeMove(pv[i]);
+            }
+            send(line.toString());
+        });
+
+        // In infinite and ponder mode the result is only reported after stop or ponderhit
+        synchronized (this) {
+            while (this.waitForStop && this.search == search) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        String line = "bestmove " + Move.toString(root, best);
+        int ponderMove = search.getPonderMove();
+        if (best != Move.NONE && ponderMove != Move.NONE) {
+            Position next = root.copy();
+            next.makeMove(best);
+            line += " ponder " + Move.toString(next, ponderMove);
+        }
+        send(line);
+    }
+
+    /**
+     * Handles "ponderhit": the search continues with the time of a normal search.
+     */
+    private synchronized void ponderHit() {
+        if (this.search == null) {
+            return;
+        }
+        if (this.ponderMoveTimeMs >= 0) {
+            this.search.setDeadline(System.nanoTime() + this.ponderMoveTimeMs * 1_000_000);
+        }
+        this.waitForStop = false;
+        notifyAll();
+    }
+
+    /**
+     * Stops the running search, if any, and waits for it to report its best move.
+     */
+    private void stopSearch() {
+        Thread thread;
+        synchronized (this) {
+            if (this.search != null) {
+                this.search.stop();
+            }
+            this.waitForStop = false;
+            notifyAll();
+            thread = this.searchThread;
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            this.search = null;
+            this.searchThread = null;
+        }
+    }
+
+    private static String formatScore(int score) {
+        if (Math.abs(score) >= Search.MATE_BOUND) {
+            int plies = Search.MATE - Math.abs(score);
+            int moves = (plies + 1) / 2;
+            return "mate " + (score > 0 ? moves : -moves);
+        }
+        return "cp " + score;
+    }
+
+    private synchronized void send(String line) {
+        this.out.println(line);
+        this.out.flush();
+    }
+
+    /**
+     * Runs the protocol on standard input and output.
+     *
+     * @param args Command-line arguments (not used here)
+     * @throws IOException If reading standard input fails
+     */
+    public static void main(String[] args) throws IOException {
+        new TextProtocol(System.in, System.out).run();
+    }
+}
@@ -0,0 +1,183 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Position;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of games, storing each move as its index in the legal move list.
+ *
+ * A game is a small header followed by the packed moves:
+ *   varint   number of moves
+ *   byte     flags: bits 0-1 the result (0 unfinished, 1 white wins, 2 black wins, 3 draw),
+ *            bit 2 set when the game does not start from the standard layout
+ *   [varint length, ASCII Notation of the starting position, if bit 2 is set]
+ *   moves    each move as its index among the legal moves, in just enough bits to tell
+ *            them apart (no bits when only one move is legal), padded to a whole byte
+ *
+ * Tags are not stored. The indices follow the order of MoveGenerator.generateLegalMoves,
+ * so a change to that order changes the encoding and must come with a new VERSION.
+ * A codec holds scratch buffers and is not thread-safe; use one per thread.
+ */
+public class BinaryGameCodec {
+    public static final int VERSION = 1; // Format version, to be stored by containers of encoded games
+
+    private static final int CUSTOM_START = 4; // Flag bit for a non-standard starting position
+    private static final String[] RESULTS = {
+        GameRecord.UNFINISHED, GameRecord.WHITE_WINS, GameRecord.BLACK_WINS, GameRecord.DRAW
+    };
+
+    private int[] moves = null; // Reused buffer for the legal moves, grown for larger boards
+    private final String standardStart = Notation.toString(Position.startPosition());
+
+    // Bit packing state
+    private long bits; // Pending bits, lowest first
+    private int bitCount; // Number of pending bits
+
+    /**
+     * Encodes a game.
+     *
+     * @param game The game; its moves must be legal
+     * @param out  Buffer the encoded game is written to, from its position
+     * @return The number of bytes written
+     * @throws IllegalArgumentException If a move is not legal in its position
+     * @throws java.nio.BufferOverflowException If the buffer is too small
+     */
+    public int encode(GameRecord game, ByteBuffer out) {
+        int begin = out.position();
+        String start = Notation.toString(game.getStart());
+        boolean custom = !start.equals(this.standardStart);
+
+        writeVarint(out, game.moveCount());
+        out.put((byte) (resultCode(game.getResult()) | (custom ? CUSTOM_START : 0)));
+        if (custom) {
+            writeVarint(out, start.length());
+            out.put(start.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        Position position = game.getStart().copy();
+        this.moves = MoveGenerator.buffer(this.moves, position);
+        this.bits = 0;
+        this.bitCount = 0;
+        for (int i = 0; i < game.moveCount(); i++) {
+            int move = game.getMove(i);
+            int count = MoveGenerator.generateLegalMoves(position, this.moves);
+            int index = indexOf(move, count);
+            if (index < 0) {
+                throw new IllegalArgumentException("Move " + (i + 1) + " of the game is not legal");
+            }
+            writeBits(out, index, width(count));
+            position.makeMove(move);
+        }
+        if (this.bitCount > 0) {
+            out.put((byte) this.bits);
+        }
+        return out.position() - begin;
+    }
+
+    /**
+     * Decodes the next game.
+     *
+     * @param in   Buffer to read from, from its position
+     * @param game The record to fill; it is cleared first
+     * @return True if a game was read, false if the buffer has no bytes left
+     * @throws IllegalArgumentException If the data does not describe a valid game
+     */
+    public boolean decode(ByteBuffer in, GameRecord game) {
+        if (!in.hasRemaining()) {
+            return false;
+        }
+        game.clear();
+        int moveCount = readVarint(in);
+        int flags = in.get();
+        game.setResult(RESULTS[flags & 3]);
+        if ((flags & CUSTOM_START) != 0) {
+            byte[] text = new byte[readVarint(in)];
+            in.get(text);
+            game.setStart(Notation.parse(new String(text, StandardCharsets.US_ASCII)));
+        }
+
+        Position position = game.getStart().copy();
+        this.moves = MoveGenerator.buffer(this.moves, position);
+        this.bits = 0;
+        this.bitCount = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int count = MoveGenerator.generateLegalMoves(position, this.moves);
+            int index = readBits(in, width(count));
+            if (index >= count) {
+                throw new IllegalArgumentException("Move " + (i + 1) + " of the game is out of range");
+            }
+            game.addMove(this.moves[index]);
+            position.makeMove(this.moves[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of bits needed to tell a number of moves apart.
+     */
+    private static int width(int count) {
+        return count <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(count - 1);
+    }
+
+    private int indexOf(int move, int count) {
+        for (int i = 0; i < count; i++) {
+            if (this.moves[i] == move) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int resultCode(String result) {
+        for (int i = 0; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private void writeBits(ByteBuffer out, int value, int width) {
+        this.bits |= (long) value << this.bitCount;
+        this.bitCount += width;
+        while (this.bitCount >= 8) {
+            out.put((byte) this.bits);
+            this.bits >>>= 8;
+            this.bitCount -= 8;
+        }
+    }
+
+    private int readBits(ByteBuffer in, int width) {
+        while (this.bitCount < width) {
+            this.bits |= (long) (in.get() & 0xFF) << this.bitCount;
+            this.bitCount += 8;
+        }
+        int value = (int) (this.bits & ((1L << width) - 1));
+        this.bits >>>= width;
+        this.bitCount -= width;
+        return value;
+    }
+
+    private static void writeVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
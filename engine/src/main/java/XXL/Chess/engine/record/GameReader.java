@@ -0,0 +1,274 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.PieceType;
+import XXL.Chess.engine.Position;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming reader for the game record format written by GameWriter.
+ *
+ * Games are read one at a time into a caller-supplied GameRecord, so memory use does not
+ * grow with the size of the archive. Move numbers, {comments}, ; comments and (variations)
+ * are skipped. Moves may be given in the long algebraic form GameWriter produces or as plain
+ * coordinates such as "b2b4"; each is checked against the legal moves of the game so far.
+ * A game without a result token, for example one cut off by a crash, ends at the next
+ * tag line or the end of the input and is read as unfinished.
+ */
+public class GameReader implements Closeable {
+    private final BufferedReader in; // Source of the records
+    private int[] moves = null; // Reused buffer for matching moves, grown for larger boards
+    private String pending = null; // Line read ahead that belongs to the next game
+    private int lineNumber = 0; // Number of the last line read, for error messages
+    private int commentDepth = 0; // Nesting of open {comments} and (variations)
+
+    /**
+     * Constructor for GameReader.
+     *
+     * @param in The reader records are read from
+     */
+    public GameReader(Reader in) {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 1 << 16);
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @param record The record to fill; it is cleared first
+     * @return True if a game was read, false at the end of the input
+     * @throws IOException If reading fails
+     * @throws IllegalArgumentException If a tag, position or move is malformed or illegal
+     */
+    public boolean next(GameRecord record) throws IOException {
+        record.clear();
+        this.commentDepth = 0;
+        Position position = null;
+        boolean found = false;
+
+        String line;
+        while ((line = nextLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.charAt(0) == '[' && this.commentDepth == 0) {
+                if (position != null) {
+                    this.pending = line; // Tags of the next game after an unfinished one
+                    return true;
+                }
+                readTag(line, record);
+                found = true;
+                continue;
+            }
+            if (position == null) {
+                position = record.getStart().copy();
+                found = true;
+            }
+            if (readMovetext(line, record, position)) {
+                return true;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    private String nextLine() throws IOException {
+        if (this.pending != null) {
+            String line = this.pending;
+            this.pending = null;
+            return line;
+        }
+        String line = this.in.readLine();
+        if (line != null) {
+            this.lineNumber++;
+        }
+        return line;
+    }
+
+    /**
+     * Parses a tag line such as [White "player"]; the Position tag sets the starting position.
+     */
+    private void readTag(String line, GameRecord record) {
+        int space = line.indexOf(' ');
+        int open = line.indexOf('"');
+        int close = line.lastIndexOf('"');
+        if (space < 0 || open < 0 || close <= open) {
+            throw error("malformed tag");
+        }
+        String name = line.substring(1, space);
+        StringBuilder value = new StringBuilder(close - open);
+        for (int i = open + 1; i < close; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < close) {
+                c = line.charAt(++i);
+            }
+            value.append(c);
+        }
+        record.setTag(name, value.toString());
+        if (name.equals("Position")) {
+            try {
+                record.setStart(Notation.parse(value));
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the moves on one movetext line, playing them on the position.
+     *
+     * @return True if the line held the result token ending the game
+     */
+    private boolean readMovetext(String line, GameRecord record, Position position) {
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (this.commentDepth > 0) {
+                if (c == '{' || c == '(') {
+                    this.commentDepth++;
+                } else if (c == '}' || c == ')') {
+                    this.commentDepth--;
+                }
+                i++;
+                continue;
+            }
+            if (c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (c == '{' || c == '(') {
+                this.commentDepth++;
+                i++;
+                continue;
+            }
+            if (c == ';') {
+                break;
+            }
+
+            int end = i;
+            while (end < length && " \t{(;".indexOf(line.charAt(end)) < 0) {
+                end++;
+            }
+            if (isResult(line, i, end)) {
+                record.setResult(line.substring(i, end));
+                return true;
+            }
+            int start = skipMoveNumber(line, i, end);
+            if (start < end) {
+                int move = parseMove(position, line, start, end);
+                record.addMove(move);
+                position.makeMove(move);
+            }
+            i = end;
+        }
+        return false;
+    }
+
+    /**
+     * Matches a move token against the legal moves of the position.
+     *
+     * @return The legal move
+     * @throws IllegalArgumentException If the token is not a legal move
+     */
+    private int parseMove(Position position, String line, int start, int end) {
+        int i = start;
+        if (i < end && Character.isUpperCase(line.charAt(i))) {
+            i++; // Piece letter, implied by the origin square
+        }
+        int fromEnd = squareEnd(line, i, end);
+        int from = Move.parseSquare(position, line, i, fromEnd);
+        i = fromEnd;
+        // An 'x' before a file letter marks a capture; before a rank number it is the x-file
+        if (i < end && (line.charAt(i) == '-' || line.charAt(i) == 'x' && i + 1 < end && Character.isLowerCase(line.charAt(i + 1)))) {
+            i++;
+        }
+        int toEnd = squareEnd(line, i, end);
+        int to = Move.parseSquare(position, line, i, toEnd);
+        i = toEnd;
+        int promotion = 0;
+        if (i < end && line.charAt(i) == '=') {
+            i++;
+        }
+        if (i < end && Character.isLetter(line.charAt(i))) {
+            PieceType type = PieceType.fromLetter(line.charAt(i));
+            promotion = type == null ? -1 : type.code();
+        }
+
+        if (from >= 0 && to >= 0 && promotion >= 0) {
+            // Only the moves matching the squares need the more expensive legality test
+            this.moves = MoveGenerator.buffer(this.moves, position);
+            int count = MoveGenerator.generateMoves(position, this.moves);
+            int match = Move.NONE;
+            for (int j = 0; j < count; j++) {
+                int move = this.moves[j];
+                if (Move.from(move) != from || Move.to(move) != to || !MoveGenerator.isLegal(position, move)) {
+                    continue;
+                }
+                if (Move.promotion(move) == promotion) {
+                    return move;
+                }
+                if (promotion == 0 && Move.promotion(move) == PieceType.QUEEN.code()) {
+                    match = move; // Promotion letter left out
+                }
+            }
+            if (match != Move.NONE) {
+                return match;
+            }
+        }
+        throw error("illegal move " + line.substring(start, end) + " for "
+                + (position.isWhiteToMove() ? "white" : "black"));
+    }
+
+    /**
+     * Finds the end of a square name: file letters followed by rank digits.
+     */
+    private static int squareEnd(String line, int i, int end) {
+        while (i < end && Character.isLowerCase(line.charAt(i))) {
+            i++;
+        }
+        while (i < end && Character.isDigit(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips a move number such as "12." or "12..." at the start of a token.
+     */
+    private static int skipMoveNumber(String line, int i, int end) {
+        int j = i;
+        while (j < end && Character.isDigit(line.charAt(j))) {
+            j++;
+        }
+        if (j == i || j == end || line.charAt(j) != '.') {
+            return i;
+        }
+        while (j < end && line.charAt(j) == '.') {
+            j++;
+        }
+        return j;
+    }
+
+    private static boolean isResult(String line, int start, int end) {
+        return isToken(line, start, end, GameRecord.WHITE_WINS) || isToken(line, start, end, GameRecord.BLACK_WINS)
+                || isToken(line, start, end, GameRecord.DRAW) || isToken(line, start, end, GameRecord.UNFINISHED);
+    }
+
+    private static boolean isToken(String line, int start, int end, String token) {
+        return end - start == token.length() && line.regionMatches(start, token, 0, token.length());
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid game record at line " + this.lineNumber + ": " + message);
+    }
+}
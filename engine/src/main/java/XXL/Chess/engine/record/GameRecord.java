@@ -0,0 +1,112 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Position;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One recorded game: its tags, starting position, moves and result.
+ * A record can be cleared and refilled, so a reader can stream through an archive
+ * with a single instance.
+ */
+public class GameRecord {
+    public static final String WHITE_WINS = "1-0";
+    public static final String BLACK_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+    public static final String UNFINISHED = "*";
+
+    private final Map<String, String> tags = new LinkedHashMap<>(); // Tags in the order they were read or set
+    private Position start = Position.startPosition(); // Position before the first move
+    private int[] moves = new int[128]; // Encoded moves in the order played
+    private int moveCount = 0; // Number of moves recorded
+    private String result = UNFINISHED; // Result token ending the game
+
+    /**
+     * Resets the record to an unfinished game from the starting position with no tags.
+     */
+    public void clear() {
+        this.tags.clear();
+        this.start = Position.startPosition();
+        this.moveCount = 0;
+        this.result = UNFINISHED;
+    }
+
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * Gets a tag value.
+     *
+     * @param name The tag name
+     * @return The value, or null if the tag is not set
+     */
+    public String getTag(String name) {
+        return this.tags.get(name);
+    }
+
+    public void setTag(String name, String value) {
+        this.tags.put(name, value);
+    }
+
+    public Position getStart() {
+        return this.start;
+    }
+
+    public void setStart(Position start) {
+        this.start = start;
+    }
+
+    public int moveCount() {
+        return this.moveCount;
+    }
+
+    public int getMove(int index) {
+        return this.moves[index];
+    }
+
+    /**
+     * Appends a move, growing the move list when it is full.
+     *
+     * @param move The encoded move
+     */
+    public void addMove(int move) {
+        if (this.moveCount == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.moveCount * 2);
+        }
+        this.moves[this.moveCount++] = move;
+    }
+
+    /**
+     * Drops the moves after the first count, for example when moves are taken back.
+     *
+     * @param count Number of moves to keep, at most moveCount()
+     */
+    public void truncate(int count) {
+        this.moveCount = count;
+    }
+
+    public String getResult() {
+        return this.result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    /**
+     * Plays the recorded moves on a copy of the starting position.
+     *
+     * @param plies Number of moves to play, at most moveCount()
+     * @return The position after the given number of moves
+     */
+    public Position replay(int plies) {
+        Position position = this.start.copy();
+        for (int i = 0; i < plies; i++) {
+            position.makeMove(this.moves[i]);
+        }
+        return position;
+    }
+}
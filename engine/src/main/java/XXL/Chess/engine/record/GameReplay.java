@@ -0,0 +1,145 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.Position;
+
+/**
+ * Steps through a recorded game without replaying it from the start.
+ *
+ * A snapshot of the position is kept every interval plies (a keyframe), along with the
+ * moves of the game. Seeking restores the nearest keyframe at or before the target and
+ * plays at most interval - 1 moves from there, so its cost does not grow with the length
+ * of the game. Stepping forward and back makes and unmakes single moves.
+ */
+public class GameReplay {
+    public static final int DEFAULT_INTERVAL = 16; // Plies between keyframes when none is given
+
+    private final int interval; // Plies between keyframes
+    private final int[] moves; // Moves of the game in the order played
+    private final Position position; // Position at the current ply
+    private final int snapshotSize; // Bytes per keyframe
+    private final byte[] keyframes; // Snapshots of plies 0, interval, 2 * interval, ...
+    private int ply = 0; // Number of moves played to reach the current position
+
+    /**
+     * Builds the keyframes of a game and positions the replay at its start.
+     *
+     * @param game     The game; later changes to it are not seen by the replay
+     * @param interval Plies between keyframes, at least 1
+     */
+    public GameReplay(GameRecord game, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        this.moves = new int[game.moveCount()];
+        for (int i = 0; i < this.moves.length; i++) {
+            this.moves[i] = game.getMove(i);
+        }
+        this.position = game.getStart().copy();
+        this.snapshotSize = this.position.snapshotSize();
+        this.keyframes = new byte[(this.moves.length / interval + 1) * this.snapshotSize];
+
+        for (int i = 0; i <= this.moves.length; i++) {
+            if (i % interval == 0) {
+                this.position.saveSnapshot(this.keyframes, (i / interval) * this.snapshotSize);
+            }
+            if (i < this.moves.length) {
+                this.position.makeMove(this.moves[i]);
+            }
+        }
+        seek(0);
+    }
+
+    /**
+     * Builds the keyframes of a game with the default interval.
+     *
+     * @param game The game
+     */
+    public GameReplay(GameRecord game) {
+        this(game, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Gets the position at the current ply. It changes as the replay moves and must not be
+     * modified by the caller.
+     *
+     * @return The position
+     */
+    public Position position() {
+        return this.position;
+    }
+
+    public int ply() {
+        return this.ply;
+    }
+
+    public int length() {
+        return this.moves.length;
+    }
+
+    /**
+     * Gets the move that led to the current position.
+     *
+     * @return The move, or Move.NONE at the start of the game
+     */
+    public int lastMove() {
+        return this.ply == 0 ? Move.NONE : this.moves[this.ply - 1];
+    }
+
+    /**
+     * Jumps to a ply.
+     *
+     * @param target The ply, clamped to 0..length()
+     */
+    public void seek(int target) {
+        target = Math.max(0, Math.min(this.moves.length, target));
+        int keyframe = target / this.interval;
+        this.position.loadSnapshot(this.keyframes, keyframe * this.snapshotSize);
+        this.ply = keyframe * this.interval;
+        while (this.ply < target) {
+            this.position.makeMove(this.moves[this.ply++]);
+        }
+    }
+
+    /**
+     * Plays the next move of the game.
+     *
+     * @return True if there was a move to play, false at the end of the game
+     */
+    public boolean forward() {
+        if (this.ply == this.moves.length) {
+            return false;
+        }
+        this.position.makeMove(this.moves[this.ply++]);
+        return true;
+    }
+
+    /**
+     * Takes back the previous move. Moves made since the last seek are unmade directly;
+     * going back past the keyframe a seek started from seeks to the previous ply.
+     *
+     * @return True if there was a move to take back, false at the start of the game
+     */
+    public boolean back() {
+        if (this.ply == 0) {
+            return false;
+        }
+        if (this.position.historySize() > 0) {
+            this.position.unmakeMove();
+            this.ply--;
+        } else {
+            seek(this.ply - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the memory held by the keyframes, for sizing the interval.
+     *
+     * @return The size of the keyframes in bytes
+     */
+    public int keyframeBytes() {
+        return this.keyframes.length;
+    }
+}
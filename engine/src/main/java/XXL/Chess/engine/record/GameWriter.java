@@ -0,0 +1,227 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Piece;
+import XXL.Chess.engine.PieceType;
+import XXL.Chess.engine.Position;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Streaming writer for the XXL game record format, a PGN-like text format.
+ *
+ * Each game is a block of tag lines such as [White "player"], a blank line, then the
+ * movetext, ended by a result token (1-0, 0-1, 1/2-1/2 or *) and a blank line:
+ *
+ *   [Event "XXL Chess"]
+ *   [Position "k13/14/14/14/14/14/14/14/14/14/14/14/14/13K w 0 1"]
+ *
+ *   1. b2b4 Nb14c12 2. Hd1xf3 ...
+ *
+ * Moves are written in long algebraic form: the upper-case layout letter of the piece
+ * (none for pawns, so H, C, G, A and E appear for the XXL pieces), the origin square, 'x' for
+ * a capture, the target square, then "=Q" for a promotion and '+' or '#' for check or mate.
+ * The Position tag, holding Notation, is only written for games that do not start from
+ * the standard layout.
+ *
+ * Moves are written one at a time as they are played. The underlying Writer is flushed
+ * once per game, when it ends, so archives of many games are written in large blocks; a
+ * writer created with autoFlush also flushes after the tags and after every move, so a
+ * game that is interrupted keeps every move made so far. flush() can be called at any time.
+ */
+public class GameWriter implements Closeable, Flushable {
+    private static final int LINE_LENGTH = 80; // Movetext is wrapped before this column
+
+    private final Writer out; // Destination of the records
+    private final boolean autoFlush; // Flag indicating the tags and each move are flushed as they are written
+    private final StringBuilder text = new StringBuilder(); // Reused buffer for one move
+    private int[] moves = null; // Reused buffer for the mate test, grown for larger boards
+    private Position position = null; // Position of the game being written, null between games
+    private int column = 0; // Length of the current movetext line
+    private boolean firstMove = true; // Flag indicating no move has been written for this game
+
+    /**
+     * Constructor for GameWriter, flushing once per game.
+     *
+     * @param out The writer records are appended to
+     */
+    public GameWriter(Writer out) {
+        this(out, false);
+    }
+
+    /**
+     * Constructor for GameWriter.
+     *
+     * @param out       The writer records are appended to
+     * @param autoFlush True to flush after the tags and after every move, for recording a game as it is played
+     */
+    public GameWriter(Writer out, boolean autoFlush) {
+        this.out = out;
+        this.autoFlush = autoFlush;
+    }
+
+    /**
+     * Writes the tags of a new game. Ends the previous game as unfinished if it is still open.
+     *
+     * @param tags  Tag names and values, written in iteration order
+     * @param start The position the game starts from; it is copied, not kept
+     * @throws IOException If writing fails
+     */
+    public void beginGame(Map<String, String> tags, Position start) throws IOException {
+        if (this.position != null) {
+            endGame(GameRecord.UNFINISHED);
+        }
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            writeTag(tag.getKey(), tag.getValue());
+        }
+        String notation = Notation.toString(start);
+        if (!notation.equals(Notation.toString(Position.startPosition()))) {
+            writeTag("Position", notation);
+        }
+        this.out.write('\n');
+        this.position = start.copy();
+        this.moves = MoveGenerator.buffer(this.moves, this.position);
+        this.column = 0;
+        this.firstMove = true;
+        if (this.autoFlush) {
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Appends a move of the current game, flushing it if the writer was created with autoFlush.
+     *
+     * @param move A legal move in the current position of the game
+     * @throws IOException If writing fails
+     * @throws IllegalStateException If no game has been started
+     */
+    public void writeMove(int move) throws IOException {
+        if (this.position == null) {
+            throw new IllegalStateException("No game in progress");
+        }
+        this.text.setLength(0);
+        boolean white = this.position.isWhiteToMove();
+        if (white || this.firstMove) {
+            this.text.append(this.position.getFullmoveNumber()).append(white ? ". " : "... ");
+        }
+        formatMove(this.position, move, this.text, this.moves);
+        this.position.makeMove(move);
+        this.firstMove = false;
+        appendToken(this.text);
+        if (this.autoFlush) {
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Ends the current game with a result token and flushes the game.
+     *
+     * @param result One of the GameRecord result constants
+     * @throws IOException If writing fails
+     */
+    public void endGame(String result) throws IOException {
+        if (this.position == null) {
+            return;
+        }
+        this.text.setLength(0);
+        this.text.append(result);
+        appendToken(this.text);
+        this.out.write("\n\n");
+        this.position = null;
+        this.out.flush();
+    }
+
+    /**
+     * Writes a whole game.
+     *
+     * @param record The game
+     * @throws IOException If writing fails
+     */
+    public void write(GameRecord record) throws IOException {
+        beginGame(record.getTags(), record.getStart());
+        for (int i = 0; i < record.moveCount(); i++) {
+            writeMove(record.getMove(i));
+        }
+        endGame(record.getResult());
+    }
+
+    /**
+     * Checks if a game has been started and not ended.
+     *
+     * @return True if moves can be written, false otherwise
+     */
+    public boolean isInGame() {
+        return this.position != null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+
+    /**
+     * Appends a move in long algebraic form, for example "Hd1xf3" or "a7a8=Q+".
+     *
+     * @param position The position before the move; left unchanged
+     * @param move     A legal move in the position
+     * @param out      The builder to append to
+     * @param buffer   Scratch space of at least MoveGenerator.maxMoves entries for the board
+     */
+    public static void formatMove(Position position, int move, StringBuilder out, int[] buffer) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        byte piece = position.get(from);
+        if (Piece.code(piece) != PieceType.PAWN.code()) {
+            out.append(Character.toUpperCase(Piece.toLetter(piece)));
+        }
+        out.append(Move.squareName(position, from));
+        if (position.get(to) != Piece.EMPTY) {
+            out.append('x');
+        }
+        out.append(Move.squareName(position, to));
+        PieceType promotion = PieceType.fromCode(Move.promotion(move));
+        if (promotion != null) {
+            out.append('=').append(Character.toUpperCase(promotion.letter()));
+        }
+
+        position.makeMove(move);
+        if (MoveGenerator.isInCheck(position, position.isWhiteToMove())) {
+            out.append(MoveGenerator.hasLegalMove(position, buffer) ? '+' : '#');
+        }
+        position.unmakeMove();
+    }
+
+    private void writeTag(String name, String value) throws IOException {
+        this.out.write('[');
+        this.out.write(name);
+        this.out.write(" \"");
+        this.out.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        this.out.write("\"]\n");
+    }
+
+    /**
+     * Writes a movetext token, starting a new line when it would pass the line length.
+     */
+    private void appendToken(CharSequence token) throws IOException {
+        if (this.column > 0 && this.column + 1 + token.length() > LINE_LENGTH) {
+            this.out.write('\n');
+            this.column = 0;
+        } else if (this.column > 0) {
+            this.out.write(' ');
+            this.column++;
+        }
+        this.out.append(token);
+        this.column += token.length();
+    }
+}
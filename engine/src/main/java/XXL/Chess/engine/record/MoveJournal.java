@@ -0,0 +1,351 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the game in progress, so it can be resumed after the process dies.
+ *
+ * The file starts with "XXLJRNL1", the length of the starting position in Notation and the
+ * notation itself. Each entry after that is 25 bytes: a type byte (1 for a move, 2 for the end
+ * of the game, 3 for taking back the latest move), the encoded move or result code, both clock
+ * readings in milliseconds and a CRC32 of the preceding bytes. A torn entry at the end of the file fails its checksum and
+ * is dropped when the journal is replayed.
+ *
+ * Entries are written to the file as soon as they are appended, which is enough to survive
+ * the JVM dying. Surviving an OS crash needs FileChannel.force, which is slow, so a
+ * background thread forces the file at most once per commit interval and covers every entry
+ * appended in the meantime (group commit). sync waits for the entries appended so far.
+ */
+public class MoveJournal implements Closeable {
+    private static final byte[] MAGIC = "XXLJRNL1".getBytes(StandardCharsets.US_ASCII);
+    private static final int ENTRY_SIZE = 25; // Bytes per entry, checksum included
+    private static final byte MOVE = 1; // Entry type for a move
+    private static final byte END = 2; // Entry type for the end of the game
+    private static final byte TAKEBACK = 3; // Entry type for taking back the latest move
+    private static final String[] RESULTS = {
+        GameRecord.UNFINISHED, GameRecord.WHITE_WINS, GameRecord.BLACK_WINS, GameRecord.DRAW
+    };
+
+    private final FileChannel channel; // Open journal file, positioned at its end
+    private final long commitIntervalMs; // Longest time an entry waits to be forced to disk
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE); // Reused entry buffer
+    private final CRC32 crc = new CRC32(); // Reused checksum
+    private final Thread committer; // Background thread forcing the file
+    private long appended = 0; // Number of entries written
+    private long durable = 0; // Number of entries known to be on disk
+    private IOException failure = null; // Error raised by the committer, reported to writers
+    private boolean closed = false;
+
+    /**
+     * Replayed contents of a journal.
+     */
+    public static final class Replay {
+        private final GameRecord game = new GameRecord(); // Starting position, moves and result
+        private long whiteMs = -1; // White's clock at the last entry, -1 if there is none
+        private long blackMs = -1; // Black's clock at the last entry, -1 if there is none
+        private boolean finished = false; // Flag indicating the game was ended
+        private long validLength; // Length of the file up to the last intact entry
+
+        public GameRecord getGame() {
+            return this.game;
+        }
+
+        public long getWhiteMs() {
+            return this.whiteMs;
+        }
+
+        public long getBlackMs() {
+            return this.blackMs;
+        }
+
+        public boolean isFinished() {
+            return this.finished;
+        }
+
+        /**
+         * Gets the position after the last journalled move.
+         *
+         * @return The position
+         */
+        public Position position() {
+            return this.game.replay(this.game.moveCount());
+        }
+    }
+
+    private MoveJournal(FileChannel channel, long commitIntervalMs) {
+        this.channel = channel;
+        this.commitIntervalMs = commitIntervalMs;
+        this.committer = new Thread(this::commitLoop, "journal");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Starts a new journal, replacing any existing file.
+     *
+     * @param path             The journal file
+     * @param start            The position the game starts from
+     * @param commitIntervalMs Longest time an entry waits to be forced to disk
+     * @return The journal
+     * @throws IOException If the file cannot be written
+     */
+    public static MoveJournal create(Path path, Position start, long commitIntervalMs) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        byte[] notation = Notation.toString(start).getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + Integer.BYTES + notation.length);
+        header.put(MAGIC).putInt(notation.length).put(notation).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        return new MoveJournal(channel, commitIntervalMs);
+    }
+
+    /**
+     * Continues a replayed journal, dropping any torn entry at its end.
+     *
+     * @param path             The journal file
+     * @param replay           The replay of the file, which must not be finished
+     * @param commitIntervalMs Longest time an entry waits to be forced to disk
+     * @return The journal, appending after the replayed moves
+     * @throws IOException If the file cannot be written
+     */
+    public static MoveJournal resume(Path path, Replay replay, long commitIntervalMs) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.truncate(replay.validLength);
+        channel.position(replay.validLength);
+        return new MoveJournal(channel, commitIntervalMs);
+    }
+
+    /**
+     * Reads a journal.
+     *
+     * @param path The journal file
+     * @return The replay, or null if the file does not exist or has no valid header
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If a journalled move is not legal
+     */
+    public static Replay replay(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        byte[] magic = new byte[MAGIC.length];
+        if (data.remaining() < MAGIC.length + Integer.BYTES) {
+            return null;
+        }
+        data.get(magic);
+        int length = data.getInt();
+        if (!Arrays.equals(MAGIC, magic) || length < 0 || length > data.remaining()) {
+            return null;
+        }
+        byte[] notation = new byte[length];
+        data.get(notation);
+
+        Replay replay = new Replay();
+        replay.game.setStart(Notation.parse(new String(notation, StandardCharsets.US_ASCII)));
+        Position position = replay.game.getStart().copy();
+        CRC32 crc = new CRC32();
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        replay.validLength = data.position();
+        while (data.remaining() >= ENTRY_SIZE && !replay.finished) {
+            int begin = data.position();
+            crc.reset();
+            crc.update(data.array(), begin, ENTRY_SIZE - Integer.BYTES);
+            byte type = data.get();
+            int value = data.getInt();
+            long whiteMs = data.getLong();
+            long blackMs = data.getLong();
+            if (data.getInt() != (int) crc.getValue()) {
+                break; // Torn write: the process died while writing this entry
+            }
+            if (type == MOVE) {
+                if (!isLegalMove(position, value, moves)) {
+                    throw new IllegalArgumentException("Journalled move " + (replay.game.moveCount() + 1) + " is not legal");
+                }
+                replay.game.addMove(value);
+                position.makeMove(value);
+            } else if (type == TAKEBACK) {
+                if (replay.game.moveCount() == 0) {
+                    throw new IllegalArgumentException("Journal takes back a move before the first");
+                }
+                replay.game.truncate(replay.game.moveCount() - 1);
+                position.unmakeMove();
+            } else {
+                replay.game.setResult(RESULTS[value & 3]);
+                replay.finished = true;
+            }
+            replay.whiteMs = whiteMs;
+            replay.blackMs = blackMs;
+            replay.validLength = data.position();
+        }
+        return replay;
+    }
+
+    private static boolean isLegalMove(Position position, int move, int[] moves) {
+        int count = MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends a move with the clock readings after it. Returns once the entry is written
+     * to the file, without waiting for it to reach the disk.
+     *
+     * @param move    The encoded move
+     * @param whiteMs White's remaining time in milliseconds
+     * @param blackMs Black's remaining time in milliseconds
+     * @throws IOException If writing fails
+     */
+    public void append(int move, long whiteMs, long blackMs) throws IOException {
+        write(MOVE, move, whiteMs, blackMs);
+    }
+
+    /**
+     * Takes back the latest journalled move, with the clock readings restored by the takeback.
+     *
+     * @param whiteMs White's remaining time in milliseconds
+     * @param blackMs Black's remaining time in milliseconds
+     * @throws IOException If writing fails
+     */
+    public void takeBack(long whiteMs, long blackMs) throws IOException {
+        write(TAKEBACK, 0, whiteMs, blackMs);
+    }
+
+    /**
+     * Marks the game as ended and waits for the journal to reach the disk, so it will not be resumed.
+     *
+     * @param result  One of the GameRecord result tokens
+     * @param whiteMs White's remaining time in milliseconds
+     * @param blackMs Black's remaining time in milliseconds
+     * @throws IOException If writing fails
+     */
+    public void finish(String result, long whiteMs, long blackMs) throws IOException {
+        write(END, Math.max(0, Arrays.asList(RESULTS).indexOf(result)), whiteMs, blackMs);
+        sync();
+    }
+
+    /**
+     * Waits until every entry appended so far is on disk. Callers waiting together share one force.
+     *
+     * @throws IOException If forcing the file fails
+     */
+    public synchronized void sync() throws IOException {
+        long target = this.appended;
+        while (this.durable < target && this.failure == null && !this.closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for the journal", e);
+            }
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+
+    /**
+     * Forces outstanding entries to disk and closes the file.
+     *
+     * @throws IOException If forcing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            notifyAll();
+        }
+        try {
+            this.committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            this.channel.force(false);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private synchronized void write(byte type, int value, long whiteMs, long blackMs) throws IOException {
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        this.entry.clear();
+        this.entry.put(type).putInt(value).putLong(whiteMs).putLong(blackMs);
+        this.crc.reset();
+        this.crc.update(this.entry.array(), 0, ENTRY_SIZE - Integer.BYTES);
+        this.entry.putInt((int) this.crc.getValue());
+        this.entry.flip();
+        while (this.entry.hasRemaining()) {
+            this.channel.write(this.entry);
+        }
+        this.appended++;
+        notifyAll();
+    }
+
+    /**
+     * Body of the committer thread: waits for entries, lets more gather for up to the commit
+     * interval, then forces them all with a single call.
+     */
+    private void commitLoop() {
+        while (true) {
+            long target;
+            synchronized (this) {
+                while (this.durable == this.appended && !this.closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (this.closed) {
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(this.commitIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (this) {
+                target = this.appended;
+            }
+            try {
+                this.channel.force(false);
+                synchronized (this) {
+                    this.durable = target;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    this.failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+}
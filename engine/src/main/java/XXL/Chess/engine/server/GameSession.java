@@ -0,0 +1,305 @@
+package XXL.Chess.engine.server;
+
+import XXL.Chess.engine.Clock;
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.PackedState;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.GameRecord;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game hosted by the session server: the position, both clocks and the result.
+ * Commands for a game may arrive from several connections, so every access holds the
+ * session's lock. A ReentrantLock rather than synchronized keeps virtual threads from
+ * pinning their carrier while they wait.
+ */
+public class GameSession {
+    public static final int OK = 0; // The move was played
+    public static final int ILLEGAL = 1; // The move is not legal in the current position
+    public static final int FINISHED = 2; // The game already has a result
+
+    // Move buffer per thread, so thousands of idle sessions do not each hold one; grown for larger boards
+    private static final ThreadLocal<int[]> MOVES = new ThreadLocal<>();
+
+    private final long id; // Identifier given by the SessionManager
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Position position = Position.startPosition(); // Current position
+    private final Clock clock; // Both sides' clocks, white's running from creation
+    private String result = GameRecord.UNFINISHED; // Result token, UNFINISHED while the game runs
+    private int moveCount = 0; // Moves played
+
+    /**
+     * Constructor for GameSession. White's clock starts running immediately.
+     *
+     * @param id          Identifier of the session
+     * @param timeMs      Starting time of each side in milliseconds
+     * @param incrementMs Increment per move in milliseconds
+     */
+    public GameSession(long id, long timeMs, long incrementMs) {
+        this.id = id;
+        this.clock = new Clock(timeMs, incrementMs, timeMs, incrementMs);
+        this.clock.start(true);
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Plays a move for the side to move and presses its clock. A side that has run out of
+     * time loses instead, and the game ends on checkmate, stalemate, threefold repetition
+     * or the fifty-move rule.
+     *
+     * @param text The move in coordinate notation, such as "b2b4" or "a7a8q"
+     * @return OK, ILLEGAL or FINISHED
+     */
+    public int play(String text) {
+        this.lock.lock();
+        try {
+            int[] squares = parseSquares(text);
+            return squares == null ? ILLEGAL : play(squares[0], squares[1]);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Plays a move given by its squares, as play(String) does.
+     *
+     * @param from Origin square index
+     * @param to   Target square index
+     * @return OK, ILLEGAL or FINISHED
+     */
+    public int play(int from, int to) {
+        this.lock.lock();
+        try {
+            if (!this.result.equals(GameRecord.UNFINISHED)) {
+                return FINISHED;
+            }
+            boolean white = this.position.isWhiteToMove();
+            if (this.clock.isFlagged(white)) {
+                finish(white ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+                return FINISHED;
+            }
+            int[] moves = MoveGenerator.buffer(MOVES.get(), this.position);
+            MOVES.set(moves);
+            int move = findMove(from, to, moves);
+            if (move == Move.NONE) {
+                return ILLEGAL;
+            }
+            this.position.makeMove(move);
+            this.clock.press();
+            this.moveCount++;
+
+            if (!MoveGenerator.hasLegalMove(this.position, moves)) {
+                finish(MoveGenerator.isInCheck(this.position, !white)
+                        ? (white ? GameRecord.WHITE_WINS : GameRecord.BLACK_WINS)
+                        : GameRecord.DRAW);
+            } else if (this.position.repetitions() >= 2 || this.position.isFiftyMoveDraw()) {
+                finish(GameRecord.DRAW);
+            }
+            return OK;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Ends the game early, for example on resignation or when a player leaves.
+     *
+     * @param result One of the GameRecord result tokens
+     */
+    public void resign(String result) {
+        this.lock.lock();
+        try {
+            if (this.result.equals(GameRecord.UNFINISHED)) {
+                finish(result);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Formats the state of the game: result, moves played, both clocks and the position.
+     *
+     * @return "RESULT MOVES WHITE_MS BLACK_MS NOTATION"
+     */
+    public String describe() {
+        this.lock.lock();
+        try {
+            return this.result + " " + this.moveCount + " " + this.clock.remainingMs(true) + " "
+                    + this.clock.remainingMs(false) + " " + Notation.toString(this.position);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the remaining time of a side.
+     *
+     * @param white True for white, false for black
+     * @return Remaining time in milliseconds
+     */
+    public long remainingMs(boolean white) {
+        this.lock.lock();
+        try {
+            return this.clock.remainingMs(white);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whose turn it is.
+     *
+     * @return True if white is to move
+     */
+    public boolean isWhiteToMove() {
+        this.lock.lock();
+        try {
+            return this.position.isWhiteToMove();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of moves played.
+     *
+     * @return The move count
+     */
+    public int moveCount() {
+        this.lock.lock();
+        try {
+            return this.moveCount;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a move played in this game, for replaying it to a client that joins late.
+     *
+     * @param index Index from 0 to moveCount() - 1
+     * @return The encoded move
+     */
+    public int getMove(int index) {
+        this.lock.lock();
+        try {
+            return this.position.historyMove(index);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the piece captured by the latest move, for describing it to spectators.
+     *
+     * @return The captured piece, or Piece.EMPTY if the latest move was not a capture or no move was played
+     */
+    public byte lastCaptured() {
+        this.lock.lock();
+        try {
+            return this.position.lastCaptured();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the size of the position snapshot written by saveSnapshot.
+     *
+     * @return The snapshot size in bytes
+     */
+    public int snapshotSize() {
+        return this.position.snapshotSize();
+    }
+
+    /**
+     * Saves the current position with Position.saveSnapshot, for a spectator joining or
+     * catching up with the game.
+     *
+     * @param out    The buffer to write to
+     * @param offset Index of the first byte to write
+     * @return The number of moves played in the saved position
+     */
+    public int saveSnapshot(byte[] out, int offset) {
+        this.lock.lock();
+        try {
+            this.position.saveSnapshot(out, offset);
+            return this.moveCount;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Packs the position and both clocks with PackedState.STANDARD, for storing the game
+     * compactly, for example in a database of live games.
+     *
+     * @param out    The buffer to write to
+     * @param offset Index of the first byte to write; PackedState.STANDARD.size() bytes are written
+     */
+    public void pack(byte[] out, int offset) {
+        this.lock.lock();
+        try {
+            PackedState.STANDARD.pack(this.position, this.clock.remainingMs(true), this.clock.remainingMs(false), out, offset);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public String getResult() {
+        this.lock.lock();
+        try {
+            return this.result;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the squares of a move in coordinate notation. Pawns always promote to a queen,
+     * so the promotion letter is not needed to tell moves apart.
+     *
+     * @return {from, to}, or null if the text does not name two squares
+     */
+    private int[] parseSquares(String text) {
+        int split = 1;
+        while (split < text.length() && Character.isDigit(text.charAt(split))) {
+            split++;
+        }
+        int end = split + 1;
+        while (end < text.length() && Character.isDigit(text.charAt(end))) {
+            end++;
+        }
+        if (end > text.length() || end < text.length() - 1) {
+            return null; // Too short, or more than a promotion letter after the target
+        }
+        int from = Move.parseSquare(this.position, text, 0, split);
+        int to = Move.parseSquare(this.position, text, split, end);
+        return from < 0 || to < 0 ? null : new int[] { from, to };
+    }
+
+    /**
+     * Matches squares against the legal moves, without the per-call allocations of Move.parse.
+     */
+    private int findMove(int from, int to, int[] moves) {
+        int count = MoveGenerator.generateLegalMoves(this.position, moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.from(moves[i]) == from && Move.to(moves[i]) == to) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    private void finish(String result) {
+        this.result = result;
+        this.clock.stop();
+    }
+}
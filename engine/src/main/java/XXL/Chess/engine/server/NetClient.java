@@ -0,0 +1,257 @@
+package XXL.Chess.engine.server;
+
+import XXL.Chess.engine.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking client for the binary NetProtocol. A background thread runs a Selector on
+ * the connection and reports incoming frames to a Listener. Frames sent from other threads
+ * are queued and written together at the next wake-up of the selector thread.
+ */
+public class NetClient implements Closeable {
+
+    /**
+     * Receives the frames sent by the server, on the client's network thread.
+     */
+    public interface Listener {
+
+        /**
+         * Reports the answer to a join request.
+         *
+         * @param game The game identifier
+         * @param seat One of the NetProtocol seats
+         */
+        void joined(int game, int seat);
+
+        /**
+         * Reports a move played in a joined game, including moves replayed after joining.
+         * Spectators are sent moves as DELTA frames, which are reported here as well.
+         *
+         * @param game    The game identifier
+         * @param from    Origin square index
+         * @param to      Target square index
+         * @param result  Result token after the move, GameRecord.UNFINISHED while the game runs
+         * @param whiteMs White's remaining time in milliseconds
+         * @param blackMs Black's remaining time in milliseconds
+         */
+        void moved(int game, int from, int to, String result, long whiteMs, long blackMs);
+
+        /**
+         * Reports a move the server did not play.
+         *
+         * @param game The game identifier
+         * @param from Origin square index
+         * @param to   Target square index
+         */
+        void rejected(int game, int from, int to);
+
+        /**
+         * Reports the position of a watched game, sent when joining as a spectator and again
+         * if the spectator fell too far behind to be sent the moves it missed.
+         *
+         * @param game     The game identifier
+         * @param ply      Number of moves played in the position
+         * @param position The position
+         * @param result   Result token, GameRecord.UNFINISHED while the game runs
+         * @param whiteMs  White's remaining time in milliseconds
+         * @param blackMs  Black's remaining time in milliseconds
+         */
+        void snapshot(int game, int ply, Position position, String result, long whiteMs, long blackMs);
+    }
+
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final Listener listener;
+    private final Thread loop; // Thread running the selector
+    private final ConcurrentLinkedQueue<long[]> outgoing = new ConcurrentLinkedQueue<>(); // Frames waiting for the selector thread
+    private final ByteBuffer in = ByteBuffer.allocate(1 << 16); // Bytes read but not yet handled
+    private ByteBuffer out = ByteBuffer.allocate(4096); // Frames not yet written
+    private volatile boolean closed = false;
+
+    /**
+     * Connects to a server.
+     *
+     * @param host     Server host
+     * @param port     Server port
+     * @param listener Receives the server's frames
+     * @throws IOException If the connection fails
+     */
+    public NetClient(String host, int port, Listener listener) throws IOException {
+        this.listener = listener;
+        this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.channel.configureBlocking(false);
+        this.selector = Selector.open();
+        this.channel.register(this.selector, SelectionKey.OP_READ);
+        this.loop = new Thread(this::run, "net-client");
+        this.loop.setDaemon(true);
+        this.loop.start();
+    }
+
+    /**
+     * Asks to join a game.
+     *
+     * @param game The game identifier, or 0 to create a new game
+     */
+    public void join(int game) {
+        send(NetProtocol.JOIN, game, 0, 0);
+    }
+
+    /**
+     * Sends a move in a joined game.
+     *
+     * @param game The game identifier
+     * @param from Origin square index
+     * @param to   Target square index
+     */
+    public void move(int game, int from, int to) {
+        send(NetProtocol.MOVE, game, from, to);
+    }
+
+    public boolean isConnected() {
+        return !this.closed && this.channel.isOpen();
+    }
+
+    /**
+     * Closes the connection and stops the network thread.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.selector.wakeup();
+        if (Thread.currentThread() != this.loop) {
+            try {
+                this.loop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.channel.close();
+        this.selector.close();
+    }
+
+    private void send(byte type, int game, int from, int to) {
+        this.outgoing.add(new long[] { type, game, from, to });
+        this.selector.wakeup();
+    }
+
+    private void run() {
+        SelectionKey key = this.channel.keyFor(this.selector);
+        try {
+            while (!this.closed) {
+                this.selector.select();
+                this.selector.selectedKeys().clear();
+                if (key.isValid() && key.isReadable() && !read()) {
+                    break;
+                }
+
+                // Write everything queued since the last wake-up with one call
+                long[] frame;
+                while ((frame = this.outgoing.poll()) != null) {
+                    put((byte) frame[0], (int) frame[1], (int) frame[2], (int) frame[3]);
+                }
+                this.out.flip();
+                if (this.out.hasRemaining()) {
+                    this.channel.write(this.out);
+                }
+                this.out.compact();
+                key.interestOps(this.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            // Connection lost
+        }
+        this.closed = true;
+    }
+
+    private void put(byte type, int game, int from, int to) {
+        int size = NetProtocol.frameSize(type);
+        if (this.out.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(this.out.capacity() * 2);
+            this.out.flip();
+            larger.put(this.out);
+            this.out = larger;
+        }
+        this.out.put(type).putInt(game);
+        if (type == NetProtocol.MOVE) {
+            this.out.putShort((short) from).putShort((short) to);
+        }
+    }
+
+    /**
+     * Reads what the server sent and reports every complete frame.
+     *
+     * @return False if the server closed the connection
+     */
+    private boolean read() throws IOException {
+        if (this.channel.read(this.in) < 0) {
+            return false;
+        }
+        this.in.flip();
+        while (this.in.hasRemaining()) {
+            int size = NetProtocol.frameSize(this.in);
+            if (size == 0) {
+                return false;
+            }
+            if (size < 0 || this.in.remaining() < size) {
+                break;
+            }
+            byte type = this.in.get();
+            int game = this.in.getInt();
+            switch (type) {
+                case NetProtocol.JOINED:
+                    this.listener.joined(game, this.in.get());
+                    break;
+                case NetProtocol.MOVED: {
+                    int from = this.in.getShort();
+                    int to = this.in.getShort();
+                    String result = NetProtocol.result(this.in.get());
+                    this.listener.moved(game, from, to, result, this.in.getInt(), this.in.getInt());
+                    break;
+                }
+                case NetProtocol.REJECTED:
+                    this.listener.rejected(game, this.in.getShort(), this.in.getShort());
+                    break;
+                case NetProtocol.DELTA: {
+                    this.in.getInt(); // Ply, implied by the order of the frames
+                    int from = this.in.getShort();
+                    int to = this.in.getShort();
+                    this.in.get(); // Captured piece and promotion, implied by the move
+                    this.in.get();
+                    String result = NetProtocol.result(this.in.get());
+                    this.listener.moved(game, from, to, result, this.in.getInt(), this.in.getInt());
+                    break;
+                }
+                case NetProtocol.SNAPSHOT: {
+                    int ply = this.in.getInt();
+                    String result = NetProtocol.result(this.in.get());
+                    long whiteMs = this.in.getInt();
+                    long blackMs = this.in.getInt();
+                    int length = this.in.getShort() & 0xFFFF;
+                    Position position = Position.startPosition();
+                    if (length != position.snapshotSize()) {
+                        return false; // Only games of the standard size are served
+                    }
+                    position.loadSnapshot(this.in.array(), this.in.arrayOffset() + this.in.position());
+                    this.in.position(this.in.position() + length);
+                    this.listener.snapshot(game, ply, position, result, whiteMs, blackMs);
+                    break;
+                }
+                default:
+                    return false;
+            }
+        }
+        this.in.compact();
+        return true;
+    }
+}
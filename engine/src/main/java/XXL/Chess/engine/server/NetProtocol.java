@@ -0,0 +1,109 @@
+package XXL.Chess.engine.server;
+
+import XXL.Chess.engine.record.GameRecord;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Frames of the binary network play protocol used by NetServer and NetClient.
+ *
+ * Every frame starts with a type byte. All frames but SNAPSHOT have a fixed size per type,
+ * so a reader knows how many bytes to wait for from the first byte alone; SNAPSHOT carries
+ * its length in a fixed-size header. Numbers are big-endian; squares are square indices
+ * (y * width + x), pieces are Piece codes and clocks are remaining milliseconds.
+ *
+ *   JOIN     client to server  [type][int game]                  game 0 creates a new game
+ *   JOINED   server to client  [type][int game][byte seat]       followed by MOVED for every move so far,
+ *                                                                 or by a SNAPSHOT for a spectator
+ *   MOVE     client to server  [type][int game][short from][short to]
+ *   MOVED    server to client  [type][int game][short from][short to][byte result][int whiteMs][int blackMs]
+ *   REJECTED server to client  [type][int game][short from][short to]
+ *   SNAPSHOT server to client  [type][int game][int ply][byte result][int whiteMs][int blackMs][short length]
+ *                              followed by length bytes of Position.saveSnapshot
+ *   DELTA    server to client  [type][int game][int ply][short from][short to][byte captured][byte promotion]
+ *                              [byte result][int whiteMs][int blackMs]
+ *
+ * The first client to join a game plays white, the second black and later clients watch.
+ * Joining a game that does not exist is answered with SEAT_NONE. Spectators receive the
+ * position as a SNAPSHOT and then one DELTA per move, ply being the number of moves played
+ * once the move is made. A spectator that falls behind gets a new SNAPSHOT instead of the
+ * deltas it missed.
+ */
+public final class NetProtocol {
+    public static final byte JOIN = 1;
+    public static final byte JOINED = 2;
+    public static final byte MOVE = 3;
+    public static final byte MOVED = 4;
+    public static final byte REJECTED = 5;
+    public static final byte SNAPSHOT = 6;
+    public static final byte DELTA = 7;
+
+    public static final int SEAT_WHITE = 0; // Seat of the client playing white
+    public static final int SEAT_BLACK = 1; // Seat of the client playing black
+    public static final int SEAT_SPECTATOR = 2; // Seat of a client watching the game
+    public static final int SEAT_NONE = 3; // Answer to joining a game that does not exist
+
+    public static final int SNAPSHOT_HEADER = 20; // Size of a SNAPSHOT frame before the snapshot bytes
+
+    private static final int[] SIZES = { 0, 5, 6, 9, 18, 9, SNAPSHOT_HEADER, 24 }; // Frame size by type, header size for SNAPSHOT, 0 for unknown types
+    private static final String[] RESULTS = {
+        GameRecord.UNFINISHED, GameRecord.WHITE_WINS, GameRecord.BLACK_WINS, GameRecord.DRAW
+    };
+
+    private NetProtocol() {
+    }
+
+    /**
+     * Gets the size of a frame from its type byte.
+     *
+     * @param type The type byte
+     * @return The frame size in bytes, type included, the header size for SNAPSHOT, or 0 if the type is unknown
+     */
+    public static int frameSize(byte type) {
+        return type > 0 && type < SIZES.length ? SIZES[type] : 0;
+    }
+
+    /**
+     * Gets the size of the frame starting at a buffer's position, reading the length of a
+     * SNAPSHOT from its header. The buffer is not changed.
+     *
+     * @param in The buffer, ready for reading
+     * @return The frame size in bytes, 0 if the type is unknown, or -1 if more bytes are needed to tell
+     */
+    public static int frameSize(ByteBuffer in) {
+        byte type = in.get(in.position());
+        int size = frameSize(type);
+        if (type != SNAPSHOT || size == 0) {
+            return size;
+        }
+        if (in.remaining() < SNAPSHOT_HEADER) {
+            return -1;
+        }
+        return SNAPSHOT_HEADER + (in.getShort(in.position() + SNAPSHOT_HEADER - 2) & 0xFFFF);
+    }
+
+    /**
+     * Encodes a result token in the byte sent with MOVED.
+     *
+     * @param result One of the GameRecord result tokens
+     * @return The result code
+     */
+    public static byte resultCode(String result) {
+        for (int i = 0; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result)) {
+                return (byte) i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Decodes the result byte sent with MOVED.
+     *
+     * @param code The result code
+     * @return The GameRecord result token
+     */
+    public static String result(byte code) {
+        return code >= 0 && code < RESULTS.length ? RESULTS[code] : GameRecord.UNFINISHED;
+    }
+}
@@ -0,0 +1,554 @@
+package XXL.Chess.engine.server;
+
+import XXL.Chess.engine.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Non-blocking server for the binary NetProtocol. A single thread runs a Selector over all
+ * connections. It reads every ready connection, handles the complete frames, and queues the
+ * replies in per-connection buffers. Only after the whole wake-up has been handled does it
+ * write each connection's buffer, so a move broadcast to a client together with the other
+ * frames of the same wake-up costs one write call.
+ *
+ * Spectators do not get each move as it is played. The moves of a game are encoded once as
+ * DELTA frames and collected for SPECTATOR_FLUSH_MS, then the whole batch is copied to every
+ * spectator of the game. A spectator starts from a SNAPSHOT of the position. One that has
+ * more than SPECTATOR_MAX_PENDING bytes unsent stops receiving deltas and is sent a fresh
+ * SNAPSHOT once it has caught up, so a slow spectator never holds up the game.
+ *
+ * Games are GameSessions of a SessionManager, so the same games can also be reached through
+ * the line-based SessionServer. Moves made there are not broadcast to network clients.
+ */
+public class NetServer implements Closeable {
+    public static final int MAX_PENDING = 1 << 20; // Bytes queued for a client before it is dropped as too slow
+    public static final long SPECTATOR_FLUSH_MS = 50; // Time moves are collected before they are sent to spectators
+    public static final int SPECTATOR_MAX_PENDING = 64 << 10; // Bytes queued for a spectator before it is resynced
+
+    private final SessionManager sessions; // Games played
+    private final Selector selector;
+    private final ServerSocketChannel server; // Listening channel
+    private final Thread loop; // Thread running the selector
+    private final HashMap<Long, Table> tables = new HashMap<>(); // Clients of each game, used by the selector thread only
+    private final ArrayList<Connection> pending = new ArrayList<>(); // Connections with output queued this wake-up
+    private final ArrayList<Table> unsent = new ArrayList<>(); // Tables with deltas not yet sent to their spectators
+    private long nextFlush = 0; // System.nanoTime at which the unsent deltas are sent
+    private volatile boolean closed = false;
+    private long framesSent = 0; // Frames queued for clients
+    private long writeCalls = 0; // Calls to SocketChannel.write
+    private long resyncs = 0; // Snapshots sent to spectators that fell behind
+
+    /**
+     * The clients seated at one game.
+     */
+    private static final class Table {
+        private final GameSession session;
+        private Connection white; // Client playing white, null while the seat is free
+        private Connection black; // Client playing black, null while the seat is free
+        private final ArrayList<Connection> spectators = new ArrayList<>();
+        private final ArrayList<Connection> behind = new ArrayList<>(); // Spectators waiting for a new snapshot
+        private ByteBuffer deltas = null; // DELTA frames not yet sent to the spectators, null until the first one
+
+        private Table(GameSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * State of one client connection.
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(4096); // Bytes read but not yet handled
+        private ByteBuffer out = ByteBuffer.allocate(4096); // Frames queued but not yet written
+        private boolean queued = false; // Flag indicating the connection is in the pending list
+        private final ArrayList<Table> tables = new ArrayList<>(); // Games the client joined
+        private int behind = 0; // Number of games the client is waiting for a new snapshot of
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @param sessions The games to serve
+     * @param port     The port, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public NetServer(SessionManager sessions, int port) throws IOException {
+        this.sessions = sessions;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.configureBlocking(false);
+        this.server.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.loop = new Thread(this::run, "net-server");
+        this.loop.setDaemon(true);
+        this.loop.start();
+    }
+
+    public int getPort() {
+        return this.server.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the average number of frames sent per write call, which shows how well writes are batched.
+     *
+     * @return Frames per write, or 0 before anything was written
+     */
+    public synchronized double framesPerWrite() {
+        return this.writeCalls == 0 ? 0 : (double) this.framesSent / this.writeCalls;
+    }
+
+    /**
+     * Gets the number of snapshots sent to spectators that fell behind.
+     *
+     * @return The resync count
+     */
+    public synchronized long resyncCount() {
+        return this.resyncs;
+    }
+
+    /**
+     * Stops the selector thread and closes every connection.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.selector.wakeup();
+        try {
+            this.loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : this.selector.keys()) {
+            key.channel().close();
+        }
+        this.selector.close();
+    }
+
+    private void run() {
+        while (!this.closed) {
+            try {
+                if (this.unsent.isEmpty()) {
+                    this.selector.select();
+                } else {
+                    long wait = (this.nextFlush - System.nanoTime()) / 1_000_000;
+                    if (wait > 0) {
+                        this.selector.select(wait);
+                    } else {
+                        this.selector.selectNow();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Selector failed: " + e.getMessage());
+                return;
+            }
+            Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Connection connection = (Connection) key.attachment();
+                if (key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    queue(connection);
+                }
+            }
+
+            // Send the deltas collected for spectators once the flush interval has passed
+            if (!this.unsent.isEmpty() && System.nanoTime() - this.nextFlush >= 0) {
+                for (Table table : this.unsent) {
+                    sendDeltas(table);
+                }
+                this.unsent.clear();
+            }
+
+            // Write everything queued during this wake-up, one write per connection.
+            // Flushing may queue a snapshot for a spectator that caught up, so the list can grow.
+            for (int i = 0; i < this.pending.size(); i++) {
+                Connection connection = this.pending.get(i);
+                connection.queued = false;
+                flush(connection);
+            }
+            this.pending.clear();
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = this.server.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+        } catch (IOException e) {
+            System.err.println("Cannot accept connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads what the client sent and handles every complete frame.
+     */
+    private void read(Connection connection) {
+        try {
+            if (connection.channel.read(connection.in) < 0) {
+                disconnect(connection);
+                return;
+            }
+        } catch (IOException e) {
+            disconnect(connection);
+            return;
+        }
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (in.hasRemaining()) {
+            int size = NetProtocol.frameSize(in.get(in.position()));
+            if (size == 0) {
+                disconnect(connection); // Not speaking the protocol
+                return;
+            }
+            if (in.remaining() < size) {
+                break;
+            }
+            handle(connection, in);
+            if (!connection.channel.isOpen()) {
+                return;
+            }
+        }
+        in.compact();
+    }
+
+    /**
+     * Handles one frame and advances the buffer past it.
+     */
+    private void handle(Connection connection, ByteBuffer in) {
+        byte type = in.get();
+        int game = in.getInt();
+        switch (type) {
+            case NetProtocol.JOIN:
+                join(connection, game);
+                break;
+            case NetProtocol.MOVE:
+                move(connection, game, in.getShort(), in.getShort());
+                break;
+            default:
+                disconnect(connection); // Server-to-client frames are not accepted from clients
+                break;
+        }
+    }
+
+    private void join(Connection connection, int game) {
+        GameSession session = game == 0 ? this.sessions.create(SessionServer.DEFAULT_TIME_MS, 0) : this.sessions.get(game);
+        if (session == null) {
+            ByteBuffer out = reserve(connection, NetProtocol.frameSize(NetProtocol.JOINED));
+            if (out != null) {
+                out.put(NetProtocol.JOINED).putInt(game).put((byte) NetProtocol.SEAT_NONE);
+            }
+            return;
+        }
+        Table table = this.tables.computeIfAbsent(session.getId(), id -> new Table(session));
+        int seat;
+        if (table.white == null) {
+            table.white = connection;
+            seat = NetProtocol.SEAT_WHITE;
+        } else if (table.black == null) {
+            table.black = connection;
+            seat = NetProtocol.SEAT_BLACK;
+        } else {
+            sendDeltas(table); // The snapshot includes the unsent moves, so the others get them now
+            table.spectators.add(connection);
+            seat = NetProtocol.SEAT_SPECTATOR;
+        }
+        if (!connection.tables.contains(table)) {
+            connection.tables.add(table);
+        }
+        ByteBuffer out = reserve(connection, NetProtocol.frameSize(NetProtocol.JOINED));
+        if (out == null) {
+            return;
+        }
+        out.put(NetProtocol.JOINED).putInt((int) session.getId()).put((byte) seat);
+        if (seat == NetProtocol.SEAT_SPECTATOR) {
+            sendSnapshot(connection, table);
+            return;
+        }
+
+        // Bring the player up to date by replaying the moves played so far
+        int count = session.moveCount();
+        for (int i = 0; i < count; i++) {
+            int move = session.getMove(i);
+            if (!sendMoved(connection, session, Move.from(move), Move.to(move), i == count - 1)) {
+                return;
+            }
+        }
+    }
+
+    private void move(Connection connection, int game, int from, int to) {
+        Table table = this.tables.get((long) game);
+        boolean seated = table != null
+                && (table.session.isWhiteToMove() ? table.white : table.black) == connection;
+        if (!seated || table.session.play(from, to) != GameSession.OK) {
+            ByteBuffer out = reserve(connection, NetProtocol.frameSize(NetProtocol.REJECTED));
+            if (out != null) {
+                out.put(NetProtocol.REJECTED).putInt(game).putShort((short) from).putShort((short) to);
+            }
+            return;
+        }
+        if (table.white != null) {
+            sendMoved(table.white, table.session, from, to, true);
+        }
+        if (table.black != null && table.black != table.white) {
+            sendMoved(table.black, table.session, from, to, true);
+        }
+        if (!table.spectators.isEmpty()) {
+            queueDelta(table, from, to);
+        }
+    }
+
+    /**
+     * Encodes the latest move of a game as a DELTA frame for its spectators, to be sent with
+     * the other moves of the flush interval.
+     */
+    private void queueDelta(Table table, int from, int to) {
+        int size = NetProtocol.frameSize(NetProtocol.DELTA);
+        if (table.deltas == null) {
+            table.deltas = ByteBuffer.allocate(16 * size);
+        } else if (table.deltas.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(table.deltas.capacity() * 2);
+            table.deltas.flip();
+            larger.put(table.deltas);
+            table.deltas = larger;
+        }
+        GameSession session = table.session;
+        int ply = session.moveCount();
+        table.deltas.put(NetProtocol.DELTA).putInt((int) session.getId()).putInt(ply)
+                .putShort((short) from).putShort((short) to)
+                .put(session.lastCaptured()).put((byte) Move.promotion(session.getMove(ply - 1)))
+                .put(NetProtocol.resultCode(session.getResult()))
+                .putInt((int) session.remainingMs(true)).putInt((int) session.remainingMs(false));
+        if (table.deltas.position() == size) {
+            if (this.unsent.isEmpty()) {
+                this.nextFlush = System.nanoTime() + SPECTATOR_FLUSH_MS * 1_000_000;
+            }
+            this.unsent.add(table);
+        }
+    }
+
+    /**
+     * Copies the deltas collected for a game to each of its spectators. A spectator whose
+     * unsent output would pass SPECTATOR_MAX_PENDING is skipped until it gets a new snapshot.
+     */
+    private void sendDeltas(Table table) {
+        if (table.deltas == null || table.deltas.position() == 0) {
+            return;
+        }
+        ByteBuffer batch = table.deltas;
+        batch.flip();
+        int frames = batch.remaining() / NetProtocol.frameSize(NetProtocol.DELTA);
+        for (int i = table.spectators.size() - 1; i >= 0; i--) {
+            Connection connection = table.spectators.get(i);
+            if (table.behind.contains(connection)) {
+                continue;
+            }
+            if (connection.out.position() + batch.remaining() > SPECTATOR_MAX_PENDING) {
+                table.behind.add(connection);
+                connection.behind++;
+                continue;
+            }
+            ByteBuffer out = reserve(connection, batch.remaining(), frames);
+            if (out != null) {
+                out.put(batch.duplicate());
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Queues a SNAPSHOT of a game's current position, written straight into the output buffer.
+     */
+    private void sendSnapshot(Connection connection, Table table) {
+        GameSession session = table.session;
+        int length = session.snapshotSize();
+        ByteBuffer out = reserve(connection, NetProtocol.SNAPSHOT_HEADER + length, 1);
+        if (out == null) {
+            return;
+        }
+        int start = out.position();
+        int ply = session.saveSnapshot(out.array(), out.arrayOffset() + start + NetProtocol.SNAPSHOT_HEADER);
+        out.put(NetProtocol.SNAPSHOT).putInt((int) session.getId()).putInt(ply)
+                .put(NetProtocol.resultCode(session.getResult()))
+                .putInt((int) session.remainingMs(true)).putInt((int) session.remainingMs(false))
+                .putShort((short) length);
+        out.position(start + NetProtocol.SNAPSHOT_HEADER + length);
+    }
+
+    /**
+     * Sends new snapshots to a spectator that has caught up with its output, for every game
+     * it fell behind in.
+     */
+    private void resync(Connection connection) {
+        for (Table table : connection.tables) {
+            if (table.behind.contains(connection)) {
+                sendDeltas(table); // Moves the snapshot includes must not reach the others later
+                table.behind.remove(connection);
+                sendSnapshot(connection, table);
+                synchronized (this) {
+                    this.resyncs++;
+                }
+            }
+        }
+        connection.behind = 0;
+    }
+
+    /**
+     * Queues a MOVED frame.
+     *
+     * @param latest True if this is the latest move, so the current result applies to it
+     * @return False if the client was dropped for falling too far behind
+     */
+    private boolean sendMoved(Connection connection, GameSession session, int from, int to, boolean latest) {
+        ByteBuffer out = reserve(connection, NetProtocol.frameSize(NetProtocol.MOVED));
+        if (out == null) {
+            return false;
+        }
+        out.put(NetProtocol.MOVED).putInt((int) session.getId()).putShort((short) from).putShort((short) to)
+                .put(latest ? NetProtocol.resultCode(session.getResult()) : 0)
+                .putInt((int) session.remainingMs(true)).putInt((int) session.remainingMs(false));
+        return true;
+    }
+
+    /**
+     * Makes room for a frame in a connection's output buffer and marks it for writing at the
+     * end of this wake-up. A client whose unsent output would pass MAX_PENDING is dropped
+     * rather than letting it hold up the game.
+     *
+     * @return The buffer to put the frame in, or null if the client was dropped
+     */
+    private ByteBuffer reserve(Connection connection, int size) {
+        return reserve(connection, size, 1);
+    }
+
+    /**
+     * Makes room for several frames at once, as reserve(Connection, int) does for one.
+     *
+     * @param frames Number of frames in the size, for the batching statistics
+     */
+    private ByteBuffer reserve(Connection connection, int size, int frames) {
+        if (!connection.channel.isOpen()) {
+            return null;
+        }
+        if (connection.out.remaining() < size) {
+            if (connection.out.position() + size > MAX_PENDING) {
+                disconnect(connection);
+                return null;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(MAX_PENDING, Math.max(connection.out.capacity() * 2, connection.out.position() + size)));
+            connection.out.flip();
+            larger.put(connection.out);
+            connection.out = larger;
+        }
+        synchronized (this) {
+            this.framesSent += frames;
+        }
+        queue(connection);
+        return connection.out;
+    }
+
+    private void queue(Connection connection) {
+        if (!connection.queued) {
+            connection.queued = true;
+            this.pending.add(connection);
+        }
+    }
+
+    /**
+     * Writes as much queued output as the socket takes, asking to be woken when it can take the rest.
+     */
+    private void flush(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        ByteBuffer out = connection.out;
+        out.flip();
+        try {
+            if (out.hasRemaining()) {
+                connection.channel.write(out);
+                synchronized (this) {
+                    this.writeCalls++;
+                }
+            }
+        } catch (IOException e) {
+            disconnect(connection);
+            return;
+        }
+        out.compact();
+        connection.key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        if (connection.behind > 0 && out.position() == 0) {
+            resync(connection);
+        }
+    }
+
+    /**
+     * Closes a connection and frees its seats, so another client can take them.
+     */
+    private void disconnect(Connection connection) {
+        for (Table table : connection.tables) {
+            if (table.white == connection) {
+                table.white = null;
+            }
+            if (table.black == connection) {
+                table.black = null;
+            }
+            table.spectators.remove(connection);
+            table.behind.remove(connection);
+        }
+        connection.tables.clear();
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    /**
+     * Runs a server on the loopback interface until the process is stopped.
+     *
+     * @param args Optional port, 7015 by default
+     * @throws Exception If the port cannot be bound
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7015;
+        NetServer server = new NetServer(new SessionManager(), port);
+        System.out.println("Listening on " + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort());
+        server.loop.join();
+    }
+}
@@ -0,0 +1,50 @@
+package XXL.Chess.engine.server;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the games hosted by one server in memory, indexed by identifier.
+ * All methods are safe to call from any number of threads.
+ */
+public class SessionManager {
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>(); // Live games by identifier
+    private final AtomicLong nextId = new AtomicLong(1); // Identifier of the next game
+
+    /**
+     * Creates a game from the standard starting position.
+     *
+     * @param timeMs      Starting time of each side in milliseconds
+     * @param incrementMs Increment per move in milliseconds
+     * @return The new game
+     */
+    public GameSession create(long timeMs, long incrementMs) {
+        GameSession session = new GameSession(this.nextId.getAndIncrement(), timeMs, incrementMs);
+        this.sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Gets a game.
+     *
+     * @param id The identifier
+     * @return The game, or null if there is none with this identifier
+     */
+    public GameSession get(long id) {
+        return this.sessions.get(id);
+    }
+
+    /**
+     * Forgets a game.
+     *
+     * @param id The identifier
+     * @return The removed game, or null if there was none
+     */
+    public GameSession remove(long id) {
+        return this.sessions.remove(id);
+    }
+
+    public int size() {
+        return this.sessions.size();
+    }
+}
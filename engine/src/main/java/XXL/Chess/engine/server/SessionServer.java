@@ -0,0 +1,215 @@
+package XXL.Chess.engine.server;
+
+import XXL.Chess.engine.record.GameRecord;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Line-based TCP endpoint for the games of a SessionManager, listening on the loopback
+ * interface only. Each connection is served by its own thread, a virtual thread when the
+ * runtime has them, so thousands of mostly idle connections cost little.
+ *
+ * Commands, one per line, each answered with one line:
+ *   new [TIME_MS [INCREMENT_MS]]   create a game, answered by "game ID"
+ *   move ID MOVE                   play a move, answered by "ok ID RESULT WHITE_MS BLACK_MS",
+ *                                  "illegal ID" or "finished ID RESULT"
+ *   show ID                        answered by "state ID RESULT MOVES WHITE_MS BLACK_MS NOTATION"
+ *   resign ID 1-0|0-1|1/2-1/2      end a game early, answered by "finished ID RESULT"
+ *   close ID                       forget a game, answered by "closed ID"
+ *   quit                           close the connection
+ * Unknown games and malformed commands are answered by "error MESSAGE".
+ */
+public class SessionServer implements Closeable {
+    public static final long DEFAULT_TIME_MS = 10 * 60 * 1000; // Starting time when "new" gives none
+
+    private final SessionManager sessions; // Games served
+    private final ServerSocket socket; // Listening socket
+    private final ExecutorService connections; // Runs one task per connection
+    private final Thread acceptor; // Accepts connections and hands them to the executor
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @param sessions The games to serve
+     * @param port     The port, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public SessionServer(SessionManager sessions, int port) throws IOException {
+        this.sessions = sessions;
+        this.socket = new ServerSocket();
+        this.socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.connections = newPerTaskExecutor();
+        this.acceptor = new Thread(this::acceptLoop, "session-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    /**
+     * Gets the port the server listens on, useful when it was started on port 0.
+     *
+     * @return The port
+     */
+    public int getPort() {
+        return this.socket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and closes the listening socket. Connections already
+     * open are left to finish.
+     *
+     * @throws IOException If closing the socket fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+        this.connections.shutdown();
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task on Java 21 and later, and a
+     * pool of daemon platform threads on older runtimes. Looked up reflectively so the
+     * engine still builds and runs on Java 17.
+     */
+    static ExecutorService newPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void acceptLoop() {
+        while (!this.socket.isClosed()) {
+            try {
+                Socket client = this.socket.accept();
+                client.setTcpNoDelay(true);
+                this.connections.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (!this.socket.isClosed()) {
+                    System.err.println("Cannot accept connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads and answers the commands of one connection until "quit" or the end of the input.
+     */
+    private void serve(Socket client) {
+        try (Socket connection = client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = execute(line.trim());
+                if (reply == null) {
+                    break;
+                }
+                out.write(reply);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away; its games stay available to other connections
+        }
+    }
+
+    /**
+     * Executes a single command.
+     *
+     * @param line The command line
+     * @return The reply, or null if the connection should close
+     */
+    String execute(String line) {
+        String[] tokens = line.split("\\s+");
+        try {
+            switch (tokens[0]) {
+                case "new": {
+                    long time = tokens.length > 1 ? Long.parseLong(tokens[1]) : DEFAULT_TIME_MS;
+                    long increment = tokens.length > 2 ? Long.parseLong(tokens[2]) : 0;
+                    return "game " + this.sessions.create(time, increment).getId();
+                }
+                case "move": {
+                    GameSession session = session(tokens);
+                    switch (session.play(tokens[2])) {
+                        case GameSession.OK:
+                            return "ok " + session.getId() + " " + session.getResult() + " "
+                                    + session.remainingMs(true) + " " + session.remainingMs(false);
+                        case GameSession.ILLEGAL:
+                            return "illegal " + session.getId();
+                        default:
+                            return "finished " + session.getId() + " " + session.getResult();
+                    }
+                }
+                case "show": {
+                    GameSession session = session(tokens);
+                    return "state " + session.getId() + " " + session.describe();
+                }
+                case "resign": {
+                    GameSession session = session(tokens);
+                    String result = tokens[2];
+                    if (!result.equals(GameRecord.WHITE_WINS) && !result.equals(GameRecord.BLACK_WINS)
+                            && !result.equals(GameRecord.DRAW)) {
+                        return "error invalid result " + result;
+                    }
+                    session.resign(result);
+                    return "finished " + session.getId() + " " + session.getResult();
+                }
+                case "close": {
+                    GameSession session = session(tokens);
+                    this.sessions.remove(session.getId());
+                    return "closed " + session.getId();
+                }
+                case "quit":
+                    return null;
+                default:
+                    return "error unknown command " + tokens[0];
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return "error malformed command";
+        } catch (IllegalArgumentException e) {
+            return "error " + e.getMessage();
+        }
+    }
+
+    private GameSession session(String[] tokens) {
+        long id = Long.parseLong(tokens[1]);
+        GameSession session = this.sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("unknown game " + id);
+        }
+        return session;
+    }
+
+    /**
+     * Runs a server on the loopback interface until the process is stopped.
+     *
+     * @param args Optional port, 7014 by default
+     * @throws Exception If the port cannot be bound
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7014;
+        SessionServer server = new SessionServer(new SessionManager(), port);
+        System.out.println("Listening on " + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort());
+        server.acceptor.join();
+    }
+}
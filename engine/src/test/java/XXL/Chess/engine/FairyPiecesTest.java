@@ -0,0 +1,55 @@
+package XXL.Chess.engine;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairyPiecesTest {
+
+    private static int movesFrom(Position position, int square) {
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        int count = MoveGenerator.generateLegalMoves(position, moves);
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (Move.from(moves[i]) == square) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Test void notationCompilesToBuiltInOffsets() {
+        int[][][] camel = FairyPieces.parse("C");
+        assertEquals(PieceType.CAMEL.leaps().length, camel[0].length);
+        assertEquals(0, camel[1].length);
+
+        // The amazon is a queen plus a knight, written either way
+        int[][][] amazon = FairyPieces.parse("QN");
+        assertEquals(PieceType.AMAZON.leaps().length, amazon[0].length);
+        assertEquals(PieceType.AMAZON.slides().length, amazon[1].length);
+        int[][][] spelled = FairyPieces.parse("WWFFN");
+        assertEquals(amazon[0].length, spelled[0].length);
+        assertEquals(amazon[1].length, spelled[1].length);
+
+        // A king's leaps are dropped once a rook slides along the same offsets
+        assertEquals(4, FairyPieces.parse("KR")[0].length);
+        assertEquals(8, FairyPieces.parse("(1,4)")[0].length);
+
+        assertThrows(IllegalArgumentException.class, () -> FairyPieces.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> FairyPieces.parse("fW"));
+        assertThrows(IllegalArgumentException.class, () -> FairyPieces.parse("W3"));
+        assertThrows(IllegalArgumentException.class, () -> FairyPieces.parse("(1,"));
+        assertThrows(IllegalArgumentException.class, () -> FairyPieces.define('q', "N", 300));
+    }
+
+    @Test void declaredPieceMovesAndChecksLikeBuiltIns() {
+        int code = FairyPieces.define('z', "NN", 600);
+        assertEquals(code, FairyPieces.code('Z'));
+        assertTrue(code >= FairyPieces.FIRST_CODE);
+        assertEquals('Z', Piece.toLetter((byte) code));
+
+        // A nightrider in the corner rides both knight lines, the first up to the black king
+        Position position = Position.fromLayout("Z//////////.....k///.............K", 14, 14);
+        assertEquals(11, movesFrom(position, position.square(0, 0)));
+        assertTrue(MoveGenerator.isInCheck(position, false));
+    }
+}
@@ -0,0 +1,121 @@
+package XXL.Chess.engine;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveGeneratorTest {
+
+    private static int perft(Position position, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        int count = MoveGenerator.generateLegalMoves(position, moves);
+        int nodes = 0;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            nodes += perft(position, depth - 1);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    @Test void startPositionMoveCounts() {
+        Position position = Position.startPosition();
+        assertEquals(46, perft(position, 1));
+        assertEquals(2116, perft(position, 2));
+        assertEquals(111887, perft(position, 3));
+
+        // Making and unmaking every move leaves the position unchanged
+        assertEquals(Position.startPosition().toLayout(), position.toLayout());
+    }
+
+    @Test void incrementalHashMatchesRebuiltPosition() {
+        Position position = Position.startPosition();
+        long start = position.hash();
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        for (int ply = 0; ply < 200; ply++) {
+            int count = MoveGenerator.generateLegalMoves(position, moves);
+            if (count == 0) {
+                break;
+            }
+            position.makeMove(moves[(ply * 11) % count]);
+            assertEquals(Notation.parse(Notation.toString(position)).hash(), position.hash());
+        }
+        while (position.historySize() > 0) {
+            position.unmakeMove();
+        }
+        assertEquals(start, position.hash());
+    }
+
+    @Test void crowdedLargeBoardFitsTheBuffer() {
+        // Eight queens on every fourth rank of a 32x32 board have thousands of moves between them
+        StringBuilder layout = new StringBuilder("K");
+        for (int rank = 1; rank < 31; rank++) {
+            layout.append('/').append(rank % 4 == 2 ? "Q...".repeat(8) : "");
+        }
+        layout.append('/').append(".".repeat(31)).append('k');
+        Position position = Position.fromLayout(layout.toString(), 32, 32);
+        int[] moves = new int[MoveGenerator.maxMoves(32, 32)];
+        int count = MoveGenerator.generateLegalMoves(position, moves);
+        assertTrue(count > 1024, "only " + count + " moves");
+        assertEquals(count, MoveGenerator.generateMoves(position, moves));
+        assertTrue(MoveGenerator.buffer(new int[1024], position).length >= count);
+    }
+
+    @Test void pawnPromotesOnMiddleRank() {
+        Position position = Position.fromLayout("k//////P/////K", 14, 14);
+        int move = Move.parse(position, "a7a8q");
+        assertEquals(PieceType.QUEEN.code(), Move.promotion(move));
+        position.makeMove(move);
+        assertEquals(Piece.of(PieceType.QUEEN, true), position.get(position.square(0, 7)));
+        position.unmakeMove();
+        assertEquals(Piece.of(PieceType.PAWN, true), position.get(position.square(0, 6)));
+    }
+
+    @Test void camelLeapsOverPieces() {
+        Position position = Position.fromLayout("K/PP/C.......k", 14, 14);
+        assertTrue(Move.parse(position, "a3b6") != Move.NONE);
+        assertTrue(Move.parse(position, "a3d4") != Move.NONE);
+    }
+
+    @Test void movesMustNotLeaveKingInCheck() {
+        // The black rook pins the white knight to its king
+        Position position = Position.fromLayout("K.N...r", 14, 14);
+        assertEquals(Move.NONE, Move.parse(position, "c1b3"));
+        assertTrue(MoveGenerator.isAttacked(position, position.square(2, 0), false));
+    }
+
+    @Test void searchFindsMateInOne() {
+        // Black king in the corner, white queen and king ready to mate
+        Position position = Position.fromLayout("k/./..K/./././.Q", 14, 14);
+        int best = new Search(position).run(3, null);
+        position.makeMove(best);
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        assertEquals(0, MoveGenerator.generateLegalMoves(position, moves));
+        assertTrue(MoveGenerator.isInCheck(position, false));
+    }
+
+    @Test void knightShuffleRepeatsThePosition() {
+        Position position = Position.startPosition();
+        String[] shuffle = { "b1c3", "b14c12", "c3b1", "c12b14" };
+        for (int round = 1; round <= 2; round++) {
+            for (String text : shuffle) {
+                assertEquals(round - 1, position.repetitions());
+                position.makeMove(Move.parse(position, text));
+            }
+            assertEquals(round, position.repetitions());
+        }
+        assertEquals(2, position.copy().repetitions());
+        position.unmakeMove();
+        assertEquals(1, position.repetitions()); // Same as after the third ply
+
+        position.setHalfmoveClock(Position.FIFTY_MOVE_PLIES - 1);
+        assertFalse(position.isFiftyMoveDraw());
+        position.makeMove(Move.parse(position, "c12b14"));
+        assertTrue(position.isFiftyMoveDraw());
+        position.makeMove(Move.parse(position, "b2b4"));
+        assertFalse(position.isFiftyMoveDraw());
+        assertEquals(0, position.repetitions());
+    }
+}
@@ -0,0 +1,63 @@
+package XXL.Chess.engine;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotationTest {
+
+    private static final String START = "RNBHCGAKGCEBNR/PPPPPPPPPPPPPP/14/14/14/14/14/14/14/14/14/14"
+            + "/pppppppppppppp/rnbhcgakgcebnr w 0 1";
+
+    @Test void startPositionRoundTrips() {
+        assertEquals(START, Notation.toString(Position.startPosition()));
+
+        Position position = Notation.parse(START);
+        assertEquals(14, position.getWidth());
+        assertEquals(14, position.getHeight());
+        assertEquals(Position.startPosition().toLayout(), position.toLayout());
+    }
+
+    @Test void sideAndClocksRoundTrip() {
+        Position position = Position.startPosition();
+        position.makeMove(Move.parse(position, "b2b4"));
+        position.makeMove(Move.parse(position, "b14c12"));
+        position.makeMove(Move.parse(position, "a2a3"));
+        String text = Notation.toString(position);
+        assertTrue(text.endsWith(" b 0 2"));
+
+        Position parsed = Notation.parse(text);
+        assertEquals(position.toLayout(), parsed.toLayout());
+        assertFalse(parsed.isWhiteToMove());
+        assertEquals(2, parsed.getFullmoveNumber());
+        assertEquals(position.kingSquare(true), parsed.kingSquare(true));
+        assertEquals(text, Notation.toString(parsed));
+    }
+
+    @Test void parsesIntoReusedPosition() {
+        Position position = Position.startPosition();
+        position.makeMove(Move.parse(position, "b2b4"));
+        String text = "xx k13/14/14/14/14/14/14/14/14/14/14/14/14/13K b 7 40 moves";
+        int end = Notation.parse(text, 3, text.length(), position);
+        assertEquals(text.indexOf(" moves"), end);
+        assertEquals(0, position.historySize());
+        assertEquals(position.square(0, 0), position.kingSquare(false));
+        assertEquals(position.square(13, 13), position.kingSquare(true));
+        assertEquals(7, position.getHalfmoveClock());
+        assertEquals(40, position.getFullmoveNumber());
+    }
+
+    @Test void clocksAreOptional() {
+        Position position = Notation.parse("k7/8/8/7K b");
+        assertEquals(8, position.getWidth());
+        assertEquals(4, position.getHeight());
+        assertFalse(position.isWhiteToMove());
+        assertEquals(1, position.getFullmoveNumber());
+    }
+
+    @Test void rejectsMalformedRanks() {
+        assertThrows(IllegalArgumentException.class, () -> Notation.parse("k7/9/8/7K w"));
+        assertThrows(IllegalArgumentException.class, () -> Notation.parse("k7/8/8/7X w"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Notation.parse("k7/8/8/7K", 0, 9, new Position(8, 5)));
+    }
+}
@@ -0,0 +1,36 @@
+package XXL.Chess.engine;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedStateTest {
+
+    @Test void standardBoardPacksInto144Bytes() {
+        assertEquals(98 + 25 + 21, PackedState.STANDARD.size());
+    }
+
+    @Test void positionAndClocksRoundTrip() {
+        Position position = Position.startPosition();
+        position.makeMove(Move.parse(position, "b2b4"));
+        position.makeMove(Move.parse(position, "b14c12"));
+        position.makeMove(Move.parse(position, "a2a3"));
+        byte[] packed = new byte[PackedState.STANDARD.size() + 3];
+        PackedState.STANDARD.pack(position, 61000, 59500, packed, 3);
+
+        assertEquals(position.hash(), PackedState.STANDARD.hash(packed, 3));
+        assertEquals(61000, PackedState.STANDARD.remainingMs(packed, 3, true));
+        assertEquals(59500, PackedState.STANDARD.remainingMs(packed, 3, false));
+        assertFalse(PackedState.STANDARD.isWhiteToMove(packed, 3));
+        int knight = position.square(2, 11);
+        assertEquals(position.get(knight), PackedState.STANDARD.piece(packed, 3, knight));
+
+        Position unpacked = Position.startPosition();
+        PackedState.STANDARD.unpack(packed, 3, unpacked);
+        assertEquals(Notation.toString(position), Notation.toString(unpacked));
+        assertEquals(position.hash(), unpacked.hash());
+        assertEquals(position.kingSquare(false), unpacked.kingSquare(false));
+
+        packed[3 + 20] ^= 1; // Change a piece so the stored hash no longer matches
+        assertThrows(IllegalArgumentException.class, () -> PackedState.STANDARD.unpack(packed, 3, unpacked));
+    }
+}
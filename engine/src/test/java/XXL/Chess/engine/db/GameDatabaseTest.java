@@ -0,0 +1,68 @@
+package XXL.Chess.engine.db;
+
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.GameRecord;
+import XXL.Chess.engine.record.TestGames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class GameDatabaseTest {
+
+    @Test void findsGamesByPosition() throws Exception {
+        Path directory = Files.createTempDirectory("xxl-db");
+        Path path = directory.resolve("games.xgdb");
+        try {
+            long[] offsets = new long[20];
+            try (GameDatabase database = GameDatabase.open(path)) {
+                for (int i = 0; i < offsets.length; i++) {
+                    offsets[i] = database.append(TestGames.play(Position.startPosition(), i % 5, 30 + i));
+                }
+                // Without an index every game is scanned
+                assertEquals(offsets.length, database.findGames(Position.startPosition()).length);
+                database.rebuildIndex(3);
+            }
+
+            try (GameDatabase database = GameDatabase.open(path)) {
+                assertArrayEquals(offsets, database.findGames(Position.startPosition()));
+
+                // Games 0, 5, 10 and 15 share their opening, so all reach its 12th position
+                GameRecord game = new GameRecord();
+                database.readGame(offsets[5], game);
+                Position twelfth = game.replay(12);
+                assertArrayEquals(new long[] { offsets[0], offsets[5], offsets[10], offsets[15] },
+                        database.findGames(twelfth));
+
+                // Games appended after the index are still found
+                long late = database.append(TestGames.play(Position.startPosition(), 0, 12));
+                assertEquals(5, database.findGames(twelfth).length);
+                assertEquals(late, database.findGames(twelfth)[4]);
+                database.rebuildIndex(2);
+                assertEquals(5, database.findGames(twelfth).length);
+                assertEquals(0, database.findGames(Position.fromLayout("k//K", 14, 14)).length);
+
+                // Reads alternating with appends see each new game through the extended mapping
+                for (int i = 0; i < 5; i++) {
+                    GameRecord appended = TestGames.play(Position.startPosition(), i, 20 + i);
+                    database.readGame(database.append(appended), game);
+                    assertEquals(appended.moveCount(), game.moveCount());
+                }
+
+                // Offsets inside a game block or past the end are refused
+                long inside = offsets[3] + 1;
+                assertThrows(IllegalArgumentException.class, () -> database.readGame(inside, game));
+                long end = database.size();
+                assertThrows(IllegalArgumentException.class, () -> database.readGame(end, game));
+            }
+        } finally {
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(directory);
+        }
+    }
+}
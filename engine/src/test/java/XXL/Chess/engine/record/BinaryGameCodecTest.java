@@ -0,0 +1,37 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Position;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+class BinaryGameCodecTest {
+
+    @Test void gamesRoundTrip() {
+        GameRecord first = TestGames.play(Position.startPosition(), 0, 150);
+        first.setResult(GameRecord.BLACK_WINS);
+        GameRecord second = TestGames.play(Notation.parse("k13/14/14/14/14/14/14/14/14/14/14/14/14/Q12K b 0 30"), 0, 9);
+
+        BinaryGameCodec codec = new BinaryGameCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        int size = codec.encode(first, buffer);
+        assertTrue(size < first.moveCount(), "each move should fit in less than a byte");
+        codec.encode(second, buffer);
+        buffer.flip();
+
+        GameRecord read = new GameRecord();
+        for (GameRecord expected : new GameRecord[] { first, second }) {
+            assertTrue(codec.decode(buffer, read));
+            assertEquals(expected.getResult(), read.getResult());
+            assertEquals(Notation.toString(expected.getStart()), Notation.toString(read.getStart()));
+            assertEquals(expected.moveCount(), read.moveCount());
+            for (int i = 0; i < expected.moveCount(); i++) {
+                assertEquals(expected.getMove(i), read.getMove(i));
+            }
+        }
+        assertFalse(codec.decode(buffer, read));
+    }
+}
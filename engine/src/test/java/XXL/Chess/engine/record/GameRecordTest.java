@@ -0,0 +1,101 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Position;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+class GameRecordTest {
+
+    @Test void gamesRoundTrip() throws Exception {
+        GameRecord first = TestGames.play(Position.startPosition(), 0, 120);
+        first.setTag("Event", "Test \"quoted\"");
+        first.setResult(GameRecord.DRAW);
+        GameRecord second = TestGames.play(Notation.parse("k13/14/14/14/14/14/14/14/14/14/14/14/14/Q12K b 0 30"), 0, 9);
+        second.setResult(GameRecord.WHITE_WINS);
+
+        StringWriter text = new StringWriter();
+        GameWriter writer = new GameWriter(text);
+        writer.write(first);
+        writer.write(second);
+
+        GameReader reader = new GameReader(new StringReader(text.toString()));
+        GameRecord read = new GameRecord();
+        for (GameRecord expected : new GameRecord[] { first, second }) {
+            assertTrue(reader.next(read));
+            assertEquals(expected.getTag("Event"), read.getTag("Event"));
+            assertEquals(expected.getResult(), read.getResult());
+            assertEquals(expected.moveCount(), read.moveCount());
+            for (int i = 0; i < expected.moveCount(); i++) {
+                assertEquals(expected.getMove(i), read.getMove(i));
+            }
+            assertEquals(Notation.toString(expected.replay(expected.moveCount())),
+                    Notation.toString(read.replay(read.moveCount())));
+        }
+        assertFalse(reader.next(read));
+    }
+
+    @Test void largeBoardFilesRoundTrip() throws Exception {
+        // Files after 'z' take two letters, and 'x' is a file as well as the capture mark
+        Position start = Position.fromLayout("R" + ".".repeat(30) + "K" + "/".repeat(31) + "k" + ".".repeat(22) + "r", 32, 32);
+        Position position = start.copy();
+        GameRecord record = new GameRecord();
+        record.setStart(start);
+        for (String text : new String[] { "a1x1", "x32x1", "af1ae2" }) {
+            int move = Move.parse(position, text);
+            assertEquals(text, Move.toString(position, move));
+            record.addMove(move);
+            position.makeMove(move);
+        }
+
+        StringWriter text = new StringWriter();
+        new GameWriter(text).write(record);
+        assertTrue(text.toString().contains("1. Ra1x1 Rx32xx1+ 2. Kaf1ae2"), text.toString());
+        GameRecord read = new GameRecord();
+        assertTrue(new GameReader(new StringReader(text.toString())).next(read));
+        assertEquals(record.moveCount(), read.moveCount());
+        for (int i = 0; i < record.moveCount(); i++) {
+            assertEquals(record.getMove(i), read.getMove(i));
+        }
+    }
+
+    @Test void writesPieceLettersAndMoveNumbers() throws Exception {
+        StringWriter text = new StringWriter();
+        GameWriter writer = new GameWriter(text);
+        writer.beginGame(new GameRecord().getTags(), Position.startPosition());
+        GameRecord record = new GameRecord();
+        GameReader reader = new GameReader(new StringReader("1. b2b4 b13b11 2. Nb1c3"));
+        assertTrue(reader.next(record));
+        for (int i = 0; i < record.moveCount(); i++) {
+            writer.writeMove(record.getMove(i));
+        }
+        writer.endGame(GameRecord.UNFINISHED);
+        assertEquals("\n1. b2b4 b13b11 2. Nb1c3 *\n\n", text.toString());
+    }
+
+    @Test void unfinishedGameEndsAtNextTags() throws Exception {
+        String archive = "[Event \"cut off\"]\n\n1. b2b4 {opening} b13b11 (2. a2a3) ; note\n"
+                + "[Event \"next\"]\n\n1. a2a3 1-0\n";
+        GameReader reader = new GameReader(new StringReader(archive));
+        GameRecord record = new GameRecord();
+        assertTrue(reader.next(record));
+        assertEquals("cut off", record.getTag("Event"));
+        assertEquals(GameRecord.UNFINISHED, record.getResult());
+        assertEquals(2, record.moveCount());
+        assertTrue(reader.next(record));
+        assertEquals("next", record.getTag("Event"));
+        assertEquals(1, record.moveCount());
+        assertEquals(GameRecord.WHITE_WINS, record.getResult());
+        assertFalse(reader.next(record));
+    }
+
+    @Test void rejectsIllegalMoves() {
+        GameReader reader = new GameReader(new StringReader("\n\n1. b2b5 *\n"));
+        assertThrows(IllegalArgumentException.class, () -> reader.next(new GameRecord()));
+    }
+}
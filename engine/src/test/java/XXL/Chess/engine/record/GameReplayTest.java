@@ -0,0 +1,37 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Notation;
+import XXL.Chess.engine.Position;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReplayTest {
+
+    @Test void seeksAndStepsToEveryPly() {
+        GameRecord game = TestGames.play(Position.startPosition(), 0, 100);
+        long[] hashes = new long[game.moveCount() + 1];
+        Position position = game.getStart().copy();
+        for (int i = 0; i < game.moveCount(); i++) {
+            hashes[i] = position.hash();
+            position.makeMove(game.getMove(i));
+        }
+        hashes[game.moveCount()] = position.hash();
+
+        GameReplay replay = new GameReplay(game, 7);
+        for (int ply : new int[] { 100, 0, 50, 49, 13, 14, 99, 1 }) {
+            replay.seek(ply);
+            assertEquals(ply, replay.ply());
+            assertEquals(hashes[ply], replay.position().hash());
+        }
+        while (replay.forward()) {
+            assertEquals(hashes[replay.ply()], replay.position().hash());
+        }
+        replay.seek(60);
+        while (replay.back()) {
+            assertEquals(hashes[replay.ply()], replay.position().hash());
+            assertEquals(Notation.toString(game.replay(replay.ply())), Notation.toString(replay.position()));
+        }
+        assertEquals(0, replay.ply());
+    }
+}
@@ -0,0 +1,59 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.Position;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class MoveJournalTest {
+
+    @Test void resumesAfterTornEntry() throws Exception {
+        GameRecord game = TestGames.play(Position.startPosition(), 0, 40);
+        Path path = Files.createTempFile("journal", ".bin");
+        try {
+            MoveJournal journal = MoveJournal.create(path, game.getStart(), 5);
+            for (int i = 0; i < 30; i++) {
+                journal.append(game.getMove(i), 60000 - i, 50000 - i);
+            }
+            journal.takeBack(1, 1);
+            journal.append(game.getMove(29), 59971, 49971);
+            journal.sync();
+            journal.close();
+            // Simulate dying half way through writing the next entry
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7 }));
+            }
+
+            MoveJournal.Replay replay = MoveJournal.replay(path);
+            assertFalse(replay.isFinished());
+            assertEquals(30, replay.getGame().moveCount());
+            assertEquals(59971, replay.getWhiteMs());
+            assertEquals(49971, replay.getBlackMs());
+
+            journal = MoveJournal.resume(path, replay, 5);
+            for (int i = 30; i < game.moveCount(); i++) {
+                journal.append(game.getMove(i), 1000, 1000);
+            }
+            journal.finish(GameRecord.BLACK_WINS, 900, 800);
+            journal.close();
+
+            replay = MoveJournal.replay(path);
+            assertTrue(replay.isFinished());
+            assertEquals(GameRecord.BLACK_WINS, replay.getGame().getResult());
+            assertEquals(game.moveCount(), replay.getGame().moveCount());
+            for (int i = 0; i < game.moveCount(); i++) {
+                assertEquals(game.getMove(i), replay.getGame().getMove(i));
+            }
+            assertEquals(game.replay(game.moveCount()).hash(), replay.position().hash());
+            assertEquals(800, replay.getBlackMs());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package XXL.Chess.engine.record;
+
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Position;
+
+/**
+ * Games played by a fixed rule for the record and database tests.
+ */
+public final class TestGames {
+
+    private TestGames() {
+    }
+
+    /**
+     * Plays legal moves picked by a fixed rule until the game has enough moves or ends.
+     * Games with the same start and seed are the same.
+     *
+     * @param start The starting position
+     * @param seed  Changes the moves picked
+     * @param plies Number of moves to play at most
+     * @return The game
+     */
+    public static GameRecord play(Position start, int seed, int plies) {
+        GameRecord game = new GameRecord();
+        game.setStart(start);
+        Position position = start.copy();
+        int[] moves = new int[MoveGenerator.maxMoves(position.getWidth(), position.getHeight())];
+        for (int i = 0; i < plies; i++) {
+            int count = MoveGenerator.generateLegalMoves(position, moves);
+            if (count == 0) {
+                break;
+            }
+            int move = moves[(i * 13 + seed) % count];
+            game.addMove(move);
+            position.makeMove(move);
+        }
+        return game;
+    }
+}
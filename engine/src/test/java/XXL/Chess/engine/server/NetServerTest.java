@@ -0,0 +1,88 @@
+package XXL.Chess.engine.server;
+
+import XXL.Chess.engine.Piece;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.GameRecord;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class NetServerTest {
+
+    /**
+     * Collects the frames a client receives as strings.
+     */
+    private static final class Frames implements NetClient.Listener {
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        public void joined(int game, int seat) {
+            this.received.add("joined " + game + " " + seat);
+        }
+
+        public void moved(int game, int from, int to, String result, long whiteMs, long blackMs) {
+            this.received.add("moved " + game + " " + from + " " + to + " " + result);
+        }
+
+        public void rejected(int game, int from, int to) {
+            this.received.add("rejected " + game + " " + from + " " + to);
+        }
+
+        public void snapshot(int game, int ply, Position position, String result, long whiteMs, long blackMs) {
+            this.received.add("snapshot " + game + " " + ply + " " + Piece.toLetter(position.get(43)) + " " + result);
+        }
+
+        String next() throws InterruptedException {
+            String frame = this.received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(frame, "no frame received");
+            return frame;
+        }
+    }
+
+    @Test void playsMovesBetweenClientsOverLoopback() throws Exception {
+        String host = InetAddress.getLoopbackAddress().getHostAddress();
+        Frames white = new Frames();
+        Frames black = new Frames();
+        Frames watcher = new Frames();
+        try (NetServer server = new NetServer(new SessionManager(), 0);
+             NetClient whiteClient = new NetClient(host, server.getPort(), white);
+             NetClient blackClient = new NetClient(host, server.getPort(), black);
+             NetClient watcherClient = new NetClient(host, server.getPort(), watcher)) {
+            whiteClient.join(0);
+            String[] joined = white.next().split(" ");
+            assertEquals(String.valueOf(NetProtocol.SEAT_WHITE), joined[2]);
+            int game = Integer.parseInt(joined[1]);
+            blackClient.join(game);
+            assertEquals("joined " + game + " " + NetProtocol.SEAT_BLACK, black.next());
+
+            // b2b4, then black may not move white's pawn and white may not move twice
+            whiteClient.move(game, 15, 43);
+            assertEquals("moved " + game + " 15 43 " + GameRecord.UNFINISHED, white.next());
+            assertEquals("moved " + game + " 15 43 " + GameRecord.UNFINISHED, black.next());
+            blackClient.move(game, 43, 57);
+            assertEquals("rejected " + game + " 43 57", black.next());
+            whiteClient.move(game, 43, 57);
+            assertEquals("rejected " + game + " 43 57", white.next());
+
+            // A late spectator gets a snapshot, then the moves as deltas sent together per flush interval
+            watcherClient.join(game);
+            assertEquals("joined " + game + " " + NetProtocol.SEAT_SPECTATOR, watcher.next());
+            assertEquals("snapshot " + game + " 1 P " + GameRecord.UNFINISHED, watcher.next());
+            blackClient.move(game, 169, 141);
+            assertEquals("moved " + game + " 169 141 " + GameRecord.UNFINISHED, black.next());
+            assertEquals("moved " + game + " 169 141 " + GameRecord.UNFINISHED, white.next());
+            whiteClient.move(game, 16, 30);
+            assertEquals("moved " + game + " 16 30 " + GameRecord.UNFINISHED, white.next());
+            assertEquals("moved " + game + " 169 141 " + GameRecord.UNFINISHED, watcher.next());
+            assertEquals("moved " + game + " 16 30 " + GameRecord.UNFINISHED, watcher.next());
+            watcherClient.move(game, 43, 57);
+            assertEquals("rejected " + game + " 43 57", watcher.next());
+
+            watcherClient.join(game + 1000);
+            assertEquals("joined " + (game + 1000) + " " + NetProtocol.SEAT_NONE, watcher.next());
+        }
+    }
+}
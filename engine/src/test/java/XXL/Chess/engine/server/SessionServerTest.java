@@ -0,0 +1,55 @@
+package XXL.Chess.engine.server;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+
+class SessionServerTest {
+
+    @Test void playsGamesOverLoopback() throws Exception {
+        SessionManager sessions = new SessionManager();
+        try (SessionServer server = new SessionServer(sessions, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+
+            out.println("new 60000 1000");
+            String id = in.readLine().substring("game ".length());
+            out.println("new");
+            String other = in.readLine().substring("game ".length());
+            assertNotEquals(id, other);
+            assertEquals(2, sessions.size());
+
+            out.println("move " + id + " b2b4");
+            String[] ok = in.readLine().split(" ");
+            assertEquals("ok", ok[0]);
+            assertEquals("*", ok[2]);
+            assertTrue(Long.parseLong(ok[3]) > 60000, "white should have received the increment");
+            out.println("move " + id + " b2b4");
+            assertEquals("illegal " + id, in.readLine());
+            out.println("move " + other + " b13b11");
+            assertEquals("illegal " + other, in.readLine());
+
+            out.println("show " + id);
+            String state = in.readLine();
+            assertTrue(state.startsWith("state " + id + " * 1 "), state);
+            assertTrue(state.endsWith(" b 0 1"), state);
+
+            out.println("resign " + id + " 0-1");
+            assertEquals("finished " + id + " 0-1", in.readLine());
+            out.println("move " + id + " b13b11");
+            assertEquals("finished " + id + " 0-1", in.readLine());
+            out.println("close " + id);
+            assertEquals("closed " + id, in.readLine());
+            out.println("show " + id);
+            assertEquals("error unknown game " + id, in.readLine());
+            out.println("move x");
+            assertEquals("error malformed command", in.readLine());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package XXL.Chess;
+
+import processing.core.PApplet;
+
+import java.io.IOException;
+
+import XXL.Chess.setup.ConfigWatcher;
+import XXL.Chess.setup.Configuration;
+import XXL.Chess.setup.Constants;
+import XXL.Chess.setup.LoadImages;
+
+public class App extends PApplet {
+    private Configuration config; // Configuration, read before the window opens since the window is sized from its board
+    private LoadImages images; // Piece sprites, loaded once and kept across restarts
+    private ConfigWatcher watcher; // Reads config.json and the layout again when they change, null if they cannot be watched
+    private GameObjectManager gameObjectManager;
+    private Controller controller;
+    private long launchNanos; // System.nanoTime when the sketch was launched
+    private boolean firstFrameDrawn = false; // Flag indicating the first frame has been drawn
+
+    /**
+     * Reads the configuration and sets up the size of the window from the board size.
+     */
+    public void settings() {
+        launchNanos = System.nanoTime();
+        config = new Configuration();
+        size(config.getGeometry().getWindowWidth(), config.getGeometry().getWindowHeight());
+    }
+
+    /**
+     * Initialize the game objects and controller.
+     */
+    public void setup() {
+        frameRate(Constants.FPS); // Set the frame rate of the game
+        images = new LoadImages(this, config.getGeometry(), config.getLayout().values(), config.getPieceSprites()); // Load the sprites in the layout
+        gameObjectManager = new GameObjectManager(this, config, images); // Initialize game object manager
+        controller = new Controller(this, config.getGeometry(), gameObjectManager); // Initialize game controller, registered once for the whole run
+        surface.setTitle("XXL Chess"); // Set the title of the window
+        try {
+            watcher = new ConfigWatcher(config, this::requestRedraw); // Pick up edits to the configuration while running
+        } catch (IOException e) {
+            System.out.println("Cannot watch the configuration: " + e.getMessage());
+        }
+
+        // In redraw-on-demand mode frames are only drawn when requested
+        if (gameObjectManager.isRedrawOnDemand()) {
+            noLoop();
+        }
+    }
+
+    /**
+     * Requests a frame in redraw-on-demand mode, for example after a clock tick
+     * or an engine update. Has no effect while the loop is running.
+     */
+    public void requestRedraw() {
+        redraw();
+    }
+
+    /**
+     * Main game loop. Draws a frame, then in redraw-on-demand mode keeps the loop
+     * running only while something on screen is still changing.
+     */
+    public void draw() {
+        drawFrame();
+        controller.frameDrawn(); // The highlights of this frame's clicks are now drawn
+
+        // Report time-to-first-frame once
+        if (!firstFrameDrawn) {
+            firstFrameDrawn = true;
+            System.out.println("First frame drawn after " + (System.nanoTime() - launchNanos) / 1_000_000 + " ms");
+        }
+
+        if (gameObjectManager.isRedrawOnDemand()) {
+            if (gameObjectManager.needsRedraw() || controller.willRestart()) {
+                loop(); // Animation, highlight or restart still pending
+            } else {
+                noLoop(); // Idle until the next input event or redraw request
+            }
+        }
+    }
+
+    /**
+     * Draws game elements and handles user input.
+     */
+    private void drawFrame() {
+        // Swap in an edited configuration before anything reads it this frame
+        Configuration reloaded = watcher == null ? null : watcher.poll();
+        if (reloaded != null) {
+            applyConfiguration(reloaded);
+        }
+
+        // Check if game needs to restart
+        if (controller.willRestart()) {
+            restartGame();
+        }
+
+        // Advance the piece animation
+        gameObjectManager.updateChessPieces();
+
+        // Evaluate the game state, apply the queued events in order, then highlight the selected tile
+        // and possible moves, all before drawing so this frame shows the highlights of its clicks.
+        // Once the game is stopped keys still work and clicks are ignored
+        boolean stopped = gameObjectManager.stop();
+        if (!stopped) {
+            gameObjectManager.evaluateInput();
+        }
+        controller.dispatchInput();
+        if (!stopped) {
+            gameObjectManager.drawSelectedTile();
+            gameObjectManager.drawPossibleMoves();
+        }
+
+        // Draw the sidebar, chessboard, and chess pieces
+        gameObjectManager.drawSideBar();
+        gameObjectManager.drawChessBoard();
+        gameObjectManager.drawChessPieces();
+    }
+
+    /**
+     * Starts a new game within the current frame. The configuration, layout and sprites
+     * do not change between games, so only the game state is rebuilt, and the controller
+     * already registered with Processing is handed the new game rather than replaced.
+     */
+    private void restartGame() {
+        long start = System.nanoTime();
+        controller.restart(); // Clear the restart request
+        gameObjectManager.closeRecord(); // Keep the abandoned game in the record file
+        gameObjectManager = new GameObjectManager(this, config, images); // Fresh board, clocks and record
+        controller.setGameObjectManager(gameObjectManager);
+        System.out.println("Restarted in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Switches to a configuration read again after the files changed. Piece movement
+     * speeds change at once. The clocks and layout belong to the game being played, so
+     * they change at once only if no move has been played yet, and otherwise from the next game.
+     *
+     * @param reloaded The new configuration, with the same board size and pieces as the current one
+     */
+    private void applyConfiguration(Configuration reloaded) {
+        config = reloaded;
+        if (gameObjectManager.isUntouched()) {
+            gameObjectManager.discard();
+            gameObjectManager = new GameObjectManager(this, config, images);
+            controller.setGameObjectManager(gameObjectManager);
+            System.out.println("Configuration reloaded");
+        } else {
+            gameObjectManager.setMovementTiming(config);
+            System.out.println("Configuration reloaded; time controls and layout apply from the next game");
+        }
+    }
+
+    /**
+     * Main method that launches the Processing application.
+     * 
+     * @param args Command-line arguments (not used here)
+     */
+    public static void main(String[] args) {
+        PApplet.main("XXL.Chess.App"); // Launch the Processing application
+    }
+
+}
@@ -0,0 +1,163 @@
+package XXL.Chess;
+
+import processing.core.PApplet;
+import processing.event.KeyEvent;
+import processing.event.MouseEvent;
+
+import XXL.Chess.setup.BoardGeometry;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Receives key and mouse events from Processing and hands them to the game.
+ * Processing delivers events on its event thread when the sketch is not looping, so events
+ * are only queued there; the render loop takes them from the lock-free queue with
+ * dispatchInput, in the order they arrived, and no game state is touched by two threads.
+ */
+public class Controller {
+    private static final int KEY = 0; // Event kind of a key press: {KEY, key code, 0, nanos}
+    private static final int PRESS = 1; // Event kind of a mouse press: {PRESS, cell x, cell y, nanos}
+    private static final int RELEASE = 2; // Event kind of a mouse release: {RELEASE, cell x, cell y, nanos}
+
+    private PApplet parent; // The main PApplet instance where events are handled
+    private BoardGeometry geometry; // Size of the board, to convert mouse coordinates to cells
+    private GameObjectManager gameObjectManager; // Manages game objects and their actions
+    private boolean restart = false; // Flag indicating if game restart is requested
+    private final ConcurrentLinkedQueue<long[]> events = new ConcurrentLinkedQueue<>(); // Events not yet dispatched, with System.nanoTime of their arrival
+    private final InputLatency latency = new InputLatency(); // Click-to-highlight latency of the dispatched presses
+
+    /**
+     * Constructor for Controller.
+     *
+     * @param parent            The PApplet instance where events are handled
+     * @param geometry          The size of the board
+     * @param gameObjectManager The GameObjectManager to control game objects
+     */
+    public Controller(PApplet parent, BoardGeometry geometry, GameObjectManager gameObjectManager) {
+        this.parent = parent;
+        this.geometry = geometry;
+        this.gameObjectManager = gameObjectManager;
+
+        // Register this class as an event handler for key and mouse events
+        parent.registerMethod("keyEvent", this);
+        parent.registerMethod("mouseEvent", this);
+    }
+
+    /**
+     * Hands the controller a new game after a restart. The controller stays registered
+     * with Processing, so events go to the new game without adding another handler.
+     *
+     * @param gameObjectManager The GameObjectManager of the new game
+     */
+    public void setGameObjectManager(GameObjectManager gameObjectManager) {
+        this.gameObjectManager = gameObjectManager;
+    }
+
+    /**
+     * Check if a game restart is requested.
+     *
+     * @return true if restart is requested, false otherwise
+     */
+    public boolean willRestart() {
+        return this.restart;
+    }
+
+    /**
+     * Perform the game restart action.
+     */
+    public void restart() {
+        this.restart = false; // Reset the restart flag
+    }
+
+    /**
+     * Dispatches the events queued since the last call to the game, in order.
+     * Called by the render loop each frame after the game has evaluated its state and before
+     * the board is drawn, so the highlights of the dispatched presses are drawn in the same frame.
+     */
+    public void dispatchInput() {
+        long[] event;
+        while ((event = this.events.poll()) != null) {
+            if (event[0] == KEY) {
+                keyPressed((int) event[1]);
+            } else {
+                gameObjectManager.setMousePressed(event[0] == PRESS);
+                gameObjectManager.select((int) event[1], (int) event[2]);
+                if (event[0] == PRESS) {
+                    this.latency.clicked(event[3]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the latency of the presses dispatched in the frame just drawn.
+     */
+    public void frameDrawn() {
+        this.latency.frameDrawn(System.nanoTime());
+    }
+
+    /**
+     * Handle key events from Processing.
+     * This method is invoked automatically by Processing when a key event occurs.
+     *
+     * @param key The KeyEvent object containing key event details
+     */
+    public void keyEvent(KeyEvent key) {
+        if (key.getAction() == KeyEvent.PRESS) {
+            this.events.offer(new long[] {KEY, key.getKeyCode(), 0, System.nanoTime()});
+            parent.redraw(); // Draw a frame even when the loop is idle
+        }
+    }
+
+    /**
+     * Handle mouse events from Processing.
+     * This method is invoked automatically by Processing when a mouse event occurs.
+     * Presses and releases are queued with the board cell under the mouse.
+     *
+     * @param event The MouseEvent object containing mouse event details
+     */
+    public void mouseEvent(MouseEvent event) {
+        int kind;
+        switch (event.getAction()) {
+            case MouseEvent.PRESS:
+                kind = PRESS;
+                break;
+            case MouseEvent.RELEASE:
+                kind = RELEASE;
+                break;
+            default:
+                return;
+        }
+        // Convert mouse coordinates to board cell coordinates
+        int mouseX = event.getX() / this.geometry.getCellSize();
+        int mouseY = event.getY() / this.geometry.getCellSize();
+        this.events.offer(new long[] {kind, mouseX, mouseY, System.nanoTime()});
+        parent.redraw(); // Draw a frame even when the loop is idle
+    }
+
+    /**
+     * Handle key pressed event.
+     *
+     * @param keyCode The code of the pressed key
+     */
+    private void keyPressed(int keyCode) {
+        // Check for specific key presses
+        if (keyCode == 82) { // Key code 82 corresponds to 'R' key
+            this.restart = true; // Set restart flag to true
+        } else if (keyCode == 69) { // Key code 69 corresponds to 'E' key
+            // Additional action for key 'E' if needed
+        } else if (keyCode == 90) { // Key code 90 corresponds to 'Z' key: take back the latest move
+            gameObjectManager.undo();
+        } else if (keyCode == 89) { // Key code 89 corresponds to 'Y' key: redo a move taken back
+            gameObjectManager.redo();
+        } else if (keyCode == 37) { // Left arrow: previous ply of a finished game
+            gameObjectManager.reviewStep(-1);
+        } else if (keyCode == 39) { // Right arrow: next ply of a finished game
+            gameObjectManager.reviewStep(1);
+        } else if (keyCode == 36) { // Home: start of a finished game
+            gameObjectManager.reviewPly(0);
+        } else if (keyCode == 35) { // End: final position of a finished game
+            gameObjectManager.reviewPly(Integer.MAX_VALUE);
+        }
+    }
+}
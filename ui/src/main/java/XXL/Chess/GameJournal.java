@@ -0,0 +1,130 @@
+package XXL.Chess;
+
+import XXL.Chess.setup.Configuration;
+import XXL.Chess.setup.Constants;
+
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.MoveJournal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Journal of the game on the board, for resuming it after a crash. Wraps a MoveJournal,
+ * reporting a journal that cannot be written and going on without it.
+ * Does nothing when no journal file is configured.
+ */
+public class GameJournal {
+    private final String file; // Journal file, null if not journalling
+    private final int boardWidth; // Width of the board, which a resumed game must have been played on
+    private final int boardHeight; // Height of the board, which a resumed game must have been played on
+    private MoveJournal journal = null; // Open journal, null before start, after finish or once writing failed
+
+    /**
+     * Constructor for GameJournal.
+     * @param config The configuration naming the journal file and the board size
+     */
+    public GameJournal(Configuration config) {
+        this.file = config.getJournalFile();
+        this.boardWidth = config.getBoardWidth();
+        this.boardHeight = config.getBoardHeight();
+    }
+
+    /**
+     * Reads the journal of an interrupted game.
+     * @return The replay of an unfinished game on this board size, or null if there is none to resume
+     */
+    public MoveJournal.Replay read() {
+        if (this.file == null) {
+            return null;
+        }
+        try {
+            MoveJournal.Replay replay = MoveJournal.replay(Paths.get(this.file));
+            if (replay != null && (replay.getGame().getStart().getWidth() != this.boardWidth
+                    || replay.getGame().getStart().getHeight() != this.boardHeight)) {
+                System.out.println("Cannot resume game from " + this.file + ": it was played on another board size");
+                return null;
+            }
+            return replay == null || replay.isFinished() ? null : replay;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Cannot resume game from " + this.file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens the journal, continuing a resumed game or starting a new one.
+     * @param position The starting position of a new game
+     * @param replay The replay of the resumed game, or null for a new game
+     */
+    public void start(Position position, MoveJournal.Replay replay) {
+        if (this.file == null) {
+            return;
+        }
+        Path path = Paths.get(this.file);
+        try {
+            this.journal = replay != null
+                ? MoveJournal.resume(path, replay, Constants.JOURNAL_COMMIT_MS)
+                : MoveJournal.create(path, position, Constants.JOURNAL_COMMIT_MS);
+        } catch (IOException e) {
+            System.out.println("Cannot journal game to " + this.file + ": " + e.getMessage());
+            this.journal = null;
+        }
+    }
+
+    /**
+     * Appends a move with the clock readings after it.
+     * @param move The encoded move
+     * @param whiteMs White's remaining time in ms
+     * @param blackMs Black's remaining time in ms
+     */
+    public void append(int move, long whiteMs, long blackMs) {
+        if (this.journal == null) {
+            return;
+        }
+        try {
+            this.journal.append(move, whiteMs, blackMs);
+        } catch (IOException e) {
+            System.out.println("Cannot journal move: " + e.getMessage());
+            this.journal = null;
+        }
+    }
+
+    /**
+     * Appends a takeback of the latest move with the clock readings after it.
+     * @param whiteMs White's remaining time in ms
+     * @param blackMs Black's remaining time in ms
+     */
+    public void takeBack(long whiteMs, long blackMs) {
+        if (this.journal == null) {
+            return;
+        }
+        try {
+            this.journal.takeBack(whiteMs, blackMs);
+        } catch (IOException e) {
+            System.out.println("Cannot journal move: " + e.getMessage());
+            this.journal = null;
+        }
+    }
+
+    /**
+     * Writes the result and closes the journal, so the game is not resumed.
+     * Later calls do nothing.
+     * @param result One of the GameRecord result tokens
+     * @param whiteMs White's remaining time in ms
+     * @param blackMs Black's remaining time in ms
+     */
+    public void finish(String result, long whiteMs, long blackMs) {
+        if (this.journal == null) {
+            return;
+        }
+        try {
+            this.journal.finish(result, whiteMs, blackMs);
+            this.journal.close();
+        } catch (IOException e) {
+            System.out.println("Cannot journal result: " + e.getMessage());
+        }
+        this.journal = null;
+    }
+}
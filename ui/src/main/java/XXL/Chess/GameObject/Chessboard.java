@@ -0,0 +1,575 @@
+package XXL.Chess.GameObject;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+import XXL.Chess.setup.BoardGeometry;
+import XXL.Chess.setup.Constants;
+import XXL.Chess.physics.Vector2D;
+import XXL.Chess.GameObject.chessPieces.ChessPiece;
+import XXL.Chess.setup.LoadImages;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Piece;
+import XXL.Chess.engine.Position;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ArrayList;
+
+/**
+ * Represents the chessboard and manages game logic.
+ */
+public class Chessboard {
+    private PApplet parent; // Reference to the main PApplet sketch
+    private BoardGeometry geometry; // Size of the board in cells and pixels
+    private Tile[][] chessboard; // 2D array representing the tiles on the chessboard
+    private Position position; // Position of the game, owned by the GameObjectManager; read here, never changed
+    private int[] moves; // Move buffer for the engine move generator, sized for the board
+    private LoadImages imgDir; // Piece sprites, loaded once per run
+    private HashMap<Vector2D, int[]> possibleMoves = new HashMap<>(); // Stores possible moves for each tile on the board
+
+    // Selected tiles during player interaction
+    private Tile selectedTile = null; // Currently selected tile
+    private Tile previousTile = null; // Previously selected tile
+    private Tile checkedTile = null; // Tile that is checked by an opponent's move
+
+    // Tiles involved in move execution
+    private Tile originTile = null; // Starting tile of a move
+    private Tile targetTile = null; // Target tile of a move
+
+    private boolean isMoving = false; // Flag indicating whether a move is in progress
+    private boolean resetMousePress = false; // Flag to reset mouse press state after a move
+    private int[] completedMove = null; // Coordinates {fromX, fromY, toX, toY} of a finished move not yet taken
+
+    // Rendering state for dirty-rectangle drawing
+    private PGraphics boardLayer = null; // Offscreen image of the static board, rendered once
+    private boolean fullRedraw = true; // Flag indicating the whole board must be drawn on the next frame
+    private ArrayList<Tile> highlightedTiles = new ArrayList<>(); // Tiles currently carrying a highlight color
+    private ArrayList<Tile> dirtyTiles = new ArrayList<>(); // Tiles that may need redrawing on the next frame
+    private ArrayList<Tile> redrawnTiles = new ArrayList<>(); // Tiles redrawn during the current frame
+    private ChessPiece animatedPiece = null; // Chess piece currently being animated
+    private float animatedX; // X-coordinate the animated piece was last drawn at
+    private float animatedY; // Y-coordinate the animated piece was last drawn at
+    private Vector2D animationPosition = new Vector2D(0, 0); // Reusable position of the animated piece between tiles
+    private Vector2D tweenTarget = null; // Target coordinate of the running tween, null when idle
+    private long tweenStartNanos; // System.nanoTime when the running tween started
+    private long tweenDurationNanos; // Total duration of the running tween in nanoseconds
+
+    /**
+     * Constructor for Chessboard class.
+     * Initializes the chessboard with the pieces of the game's position.
+     *
+     * @param parent   The PApplet instance that serves as the main sketch window.
+     * @param geometry The size of the board in cells and pixels.
+     * @param position The position of the game. Legal moves and the side to move are taken from it;
+     *                 the board draws it but leaves changing it to the game.
+     * @param images   The piece sprites, shared with the boards of earlier games.
+     */
+    public Chessboard(PApplet parent, BoardGeometry geometry, Position position, LoadImages images) {
+        this.parent = parent;
+        this.geometry = geometry;
+        this.imgDir = images;
+        this.position = position;
+        this.moves = new int[MoveGenerator.maxMoves(geometry.getWidth(), geometry.getHeight())];
+
+        // Initialize the chessboard tiles
+        this.chessboard = new Tile[geometry.getHeight()][geometry.getWidth()];
+        for (int col = 0; col < this.geometry.getHeight(); col++) {
+            for (int row = 0; row < this.geometry.getWidth(); row++) {
+                Vector2D coord = new Vector2D(row, col);
+                Tile tempTile = new Tile(coord, (row + col) % 2 == 0, this.geometry.getCellSize());
+                this.chessboard[col][row] = tempTile;
+            }
+        }
+
+        // Place the chess pieces of the position
+        showPosition(position, Move.NONE);
+    }
+
+    /**
+     * Sets the position of the game, when the game replaces it, and shows it.
+     *
+     * @param position The new position of the game, of the same size as the board.
+     */
+    public void setPosition(Position position) {
+        this.position = position;
+        showPosition(position, Move.NONE);
+    }
+
+    /**
+     * Creates a chess piece for an engine piece, sharing the sprite of its type and color.
+     *
+     * @param coord The position of the chess piece on the board.
+     * @param piece The encoded engine piece.
+     * @return The created ChessPiece object.
+     */
+    private ChessPiece createChessPiece(Vector2D coord, byte piece) {
+        return new ChessPiece(coord, piece, this.imgDir.sprite(piece), this.geometry.getCellSize());
+    }
+
+    /**
+     * Draws the tiles of the chessboard that changed since the previous frame.
+     * The static board is rendered once into an offscreen layer and copied back
+     * tile by tile; highlights are drawn on top as overlays.
+     */
+    public void drawTiles() {
+        if (this.boardLayer == null) {
+            renderBoardLayer();
+        }
+
+        // The first frame after construction draws every tile
+        if (this.fullRedraw) {
+            this.fullRedraw = false;
+            for (int col = 0; col < this.geometry.getHeight(); col++) {
+                for (int row = 0; row < this.geometry.getWidth(); row++) {
+                    markDirty(this.chessboard[col][row]);
+                }
+            }
+        }
+        markAnimatedTilesDirty();
+
+        this.redrawnTiles.clear();
+        for (Tile tile : this.dirtyTiles) {
+            if (tile.isDirty()) {
+                tile.draw(this.parent, this.boardLayer);
+                this.redrawnTiles.add(tile);
+            }
+        }
+        this.dirtyTiles.clear();
+    }
+
+    /**
+     * Checks if the board has changes that are not on screen yet.
+     *
+     * @return True if a move is animating or a tile changed since it was drawn; false otherwise.
+     */
+    public boolean needsRedraw() {
+        if (this.fullRedraw || this.isMoving || this.resetMousePress) {
+            return true;
+        }
+        for (Tile tile : this.dirtyTiles) {
+            if (tile.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the static board into an offscreen layer.
+     */
+    private void renderBoardLayer() {
+        this.boardLayer = this.parent.createGraphics(this.geometry.getWidth() * this.geometry.getCellSize(), this.geometry.getHeight() * this.geometry.getCellSize());
+        this.boardLayer.beginDraw();
+        for (int col = 0; col < this.geometry.getHeight(); col++) {
+            for (int row = 0; row < this.geometry.getWidth(); row++) {
+                this.chessboard[col][row].drawBackground(this.boardLayer);
+            }
+        }
+        this.boardLayer.endDraw();
+    }
+
+    /**
+     * Draws the chess pieces on the tiles redrawn this frame, then the animated piece on top.
+     */
+    public void drawPieces() {
+        for (Tile tile : this.redrawnTiles) {
+            ChessPiece c = tile.getChesspiece();
+            if (c != null && c != this.animatedPiece) {
+                c.draw(this.parent);
+            }
+        }
+        if (this.animatedPiece != null) {
+            this.animatedPiece.draw(this.parent);
+        }
+    }
+
+    /**
+     * Marks a tile to be redrawn on the next frame.
+     *
+     * @param tile The tile to redraw.
+     */
+    private void markDirty(Tile tile) {
+        tile.markDirty();
+        this.dirtyTiles.add(tile);
+    }
+
+    /**
+     * Marks every tile overlapped by a piece drawn at the given coordinates.
+     *
+     * @param x X-coordinate of the piece in cells.
+     * @param y Y-coordinate of the piece in cells.
+     */
+    private void markAreaDirty(float x, float y) {
+        int minX = (int) Math.floor(x);
+        int minY = (int) Math.floor(y);
+        int maxX = (int) Math.ceil(x);
+        int maxY = (int) Math.ceil(y);
+        for (int col = minY; col <= maxY; col++) {
+            for (int row = minX; row <= maxX; row++) {
+                if (this.geometry.isWithinRange(row, col)) {
+                    markDirty(this.chessboard[col][row]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the tiles covered by the animated piece on the previous and current frame.
+     */
+    private void markAnimatedTilesDirty() {
+        if (this.animatedPiece == null) {
+            return;
+        }
+        markAreaDirty(this.animatedX, this.animatedY);
+        this.animatedX = this.animatedPiece.getCoordinate().getX();
+        this.animatedY = this.animatedPiece.getCoordinate().getY();
+        markAreaDirty(this.animatedX, this.animatedY);
+    }
+
+    /**
+     * Sets a highlight color on a tile and remembers it so it can be cleared later.
+     *
+     * @param tile  The tile to highlight.
+     * @param color The highlight color.
+     */
+    private void highlightTile(Tile tile, int[] color) {
+        tile.setTileColor(color);
+        this.highlightedTiles.add(tile);
+        this.dirtyTiles.add(tile);
+    }
+
+    /**
+     * Highlights the selected tile, previous tile, and checked tile on the chessboard.
+     */
+    public void drawSelectedTile() {
+        resetBoard();
+        if (this.previousTile != null) {
+            highlightTile(this.previousTile, Constants.lightYellowRGB);
+        }
+        if (checkedTile != null) {
+            highlightTile(this.checkedTile, Constants.redRGB);
+        }
+        if (selectedTile != null) {
+            highlightTile(this.selectedTile, Constants.greenRGB);
+        }
+    }
+
+    /**
+     * Highlights possible moves for the selected chess piece on the chessboard.
+     * Only executes if a move is not currently in progress and a valid chess piece is selected.
+     */
+    public void drawPossibleMoves() {
+        if (this.isMoving) {return;}
+        if (this.selectedTile == null) {return;}
+        if (this.selectedTile.getChesspiece() == null) {return;}
+        if (this.possibleMoves == null) {return;}
+        for (Map.Entry<Vector2D, int[]> entry : this.possibleMoves.entrySet()) {
+            Vector2D vec = entry.getKey();
+            int x = (int) vec.getX();
+            int y = (int) vec.getY();
+            highlightTile(this.chessboard[y][x], entry.getValue());
+        }
+    }
+
+    /**
+     * Checks if a move is being animated.
+     *
+     * @return True while a piece is moving; false otherwise.
+     */
+    public boolean isMoving() {
+        return this.isMoving;
+    }
+
+    /**
+     * Resets the mouse press state flag.
+     *
+     * @return The current state of the mouse press reset flag.
+     */
+    public boolean resetMousePress() {
+        return this.resetMousePress;
+    }
+
+    /**
+     * Resets the mouse press state to false.
+     */
+    public void mousePressedReset() {
+        this.resetMousePress = false;
+    }
+
+    /**
+     * Moves a chess piece from its origin tile to its target tile.
+     * When the piece lands the move is reported by takeCompletedMove; the game then plays it
+     * on the position and shows the result with showPosition, which also promotes a pawn.
+     *
+     * @param time       Time elapsed for the move animation.
+     * @param speed      Speed of the move animation.
+     */
+    public void move(float time, float speed) {
+        if (!this.isMoving) { return; }
+        if (this.originTile == null) { return; }
+        if (this.targetTile == null) { return; }
+
+        ChessPiece c = this.originTile.getChesspiece();
+        if (c == null) { return; }
+
+        // Start tracking the piece so the tiles it passes over are redrawn
+        if (this.animatedPiece != c) {
+            this.animatedPiece = c;
+            this.animatedX = c.getCoordinate().getX();
+            this.animatedY = c.getCoordinate().getY();
+        }
+
+        // Perform the move animation
+        animate(c, this.targetTile.getCoordinate(), this.originTile.getCoordinate(), time, speed);
+
+        // If the move animation completes
+        if (c.getCoordinate().isEqual(this.targetTile.getCoordinate())) {
+            // Reset mouse press state and move flag
+            this.resetMousePress = true;
+            this.isMoving = false;
+
+            // Redraw the tiles the piece was last drawn over, now that it has landed
+            markAreaDirty(this.animatedX, this.animatedY);
+            markDirty(this.originTile);
+            markDirty(this.targetTile);
+            this.animatedPiece = null;
+
+            // Remember the move for the game record
+            this.completedMove = new int[] {
+                (int) this.originTile.getCoordinate().getX(), (int) this.originTile.getCoordinate().getY(),
+                (int) this.targetTile.getCoordinate().getX(), (int) this.targetTile.getCoordinate().getY()
+            };
+
+            // Update chessboard with moved chess piece
+            this.originTile.setChesspiece(null);
+            this.targetTile.setChesspiece(c);
+            this.previousTile = this.targetTile;
+        }
+    }
+
+    /**
+     * Moves the animated piece towards its target tile.
+     * The animation is a time-based tween: its duration is fixed when it starts and the
+     * position is interpolated from System.nanoTime, so dropped frames do not slow it down.
+     *
+     * @param c            The chess piece being moved.
+     * @param end          Target coordinate to move to.
+     * @param start        Starting coordinate of the piece.
+     * @param maxMoveTime  Maximum time allowed for the move, in seconds.
+     * @param minMoveSpeed Minimum speed of the move, in pixels per frame at Constants.FPS.
+     */
+    private void animate(ChessPiece c, Vector2D end, Vector2D start, float maxMoveTime, float minMoveSpeed) {
+        long now = System.nanoTime();
+
+        // Start a new tween when the piece is not animating towards this target yet
+        if (this.tweenTarget != end) {
+            this.tweenTarget = end;
+            this.tweenStartNanos = now;
+            this.tweenDurationNanos = tweenDuration(end, start, maxMoveTime, minMoveSpeed);
+        }
+
+        long elapsed = now - this.tweenStartNanos;
+        if (elapsed >= this.tweenDurationNanos) {
+            // Ensures the piece reaches exactly the end coordinate
+            c.setCoordinate(end);
+            this.tweenTarget = null;
+            return;
+        }
+
+        // Interpolate into the reusable animation position
+        float t = (float) elapsed / this.tweenDurationNanos;
+        this.animationPosition.setX(start.getX() + (end.getX() - start.getX()) * t);
+        this.animationPosition.setY(start.getY() + (end.getY() - start.getY()) * t);
+        c.setCoordinate(this.animationPosition);
+    }
+
+    /**
+     * Gets the duration of a tween: the time needed at the configured speed, capped at the maximum move time.
+     *
+     * @param end          Target coordinate to move to.
+     * @param start        Starting coordinate of the piece.
+     * @param maxMoveTime  Maximum time allowed for the move, in seconds.
+     * @param minMoveSpeed Minimum speed of the move, in pixels per frame at Constants.FPS.
+     * @return The duration in nanoseconds.
+     */
+    private long tweenDuration(Vector2D end, Vector2D start, float maxMoveTime, float minMoveSpeed) {
+        float deltaX = end.getX() - start.getX();
+        float deltaY = end.getY() - start.getY();
+        float distancePixels = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY) * this.geometry.getCellSize();
+
+        // Convert the per-frame speed into a duration in seconds for this distance
+        float seconds = distancePixels / (minMoveSpeed * Constants.FPS);
+        if (seconds > maxMoveTime) {
+            seconds = maxMoveTime;
+        }
+        return (long) (seconds * 1_000_000_000L);
+    }
+
+    /**
+     * Shows an engine position on the board: the game's position after a move, undo or redo,
+     * or a ply of a replayed game. The tiles are kept; only the tiles whose piece differs get a
+     * new piece and are redrawn. Any selection or animation in progress is dropped.
+     *
+     * @param position The position to show, of the same size as the board.
+     * @param lastMove The move that led to the position, highlighted on its target tile, or Move.NONE.
+     */
+    public void showPosition(Position position, int lastMove) {
+        if (this.animatedPiece != null) {
+            // Put the piece back on its tile in case the position keeps it
+            this.animatedPiece.setCoordinate(this.originTile.getCoordinate());
+            markAreaDirty(this.animatedX, this.animatedY);
+        }
+        this.isMoving = false;
+        this.animatedPiece = null;
+        this.tweenTarget = null;
+        this.completedMove = null;
+        this.originTile = null;
+        this.targetTile = null;
+        clearSelection();
+
+        for (int y = 0; y < this.geometry.getHeight(); y++) {
+            for (int x = 0; x < this.geometry.getWidth(); x++) {
+                byte piece = position.get(position.square(x, y));
+                Tile tile = this.chessboard[y][x];
+                byte shown = tile.getChesspiece() == null ? Piece.EMPTY : tile.getChesspiece().getPiece();
+                if (piece == shown) {
+                    continue;
+                }
+                tile.setChesspiece(piece == Piece.EMPTY ? null : createChessPiece(tile.getCoordinate(), piece));
+                markDirty(tile);
+            }
+        }
+
+        this.previousTile = null;
+        if (lastMove != Move.NONE) {
+            int to = Move.to(lastMove);
+            this.previousTile = this.chessboard[position.y(to)][position.x(to)];
+        }
+        this.checkedTile = null;
+        int king = position.kingSquare(position.isWhiteToMove());
+        if (king >= 0 && MoveGenerator.isInCheck(position, position.isWhiteToMove())) {
+            this.checkedTile = this.chessboard[position.y(king)][position.x(king)];
+        }
+    }
+
+    /**
+     * Starts animating a move that did not come from the mouse, for example one played by a
+     * network opponent. It finishes like a move made on the board and is reported by takeCompletedMove.
+     *
+     * @param fromX X-coordinate of the origin tile.
+     * @param fromY Y-coordinate of the origin tile.
+     * @param toX   X-coordinate of the target tile.
+     * @param toY   Y-coordinate of the target tile.
+     */
+    public void startMove(int fromX, int fromY, int toX, int toY) {
+        clearSelection();
+        this.originTile = this.chessboard[fromY][fromX];
+        this.targetTile = this.chessboard[toY][toX];
+        this.isMoving = true;
+    }
+
+    /**
+     * Takes the move that finished animating since the last call, if any.
+     *
+     * @return Coordinates {fromX, fromY, toX, toY} of the move, or null if no move finished.
+     */
+    public int[] takeCompletedMove() {
+        int[] move = this.completedMove;
+        this.completedMove = null;
+        return move;
+    }
+
+    /**
+     * Sets the selected tile on the chessboard and calculates possible moves for the selected piece.
+     * Only pieces of the side to move in the game's position can be selected.
+     *
+     * @param coord       Coordinates [x, y] of the selected tile.
+     */
+    public void setSelected(int[] coord) {
+        if (this.isMoving) {
+            clearSelection();
+            return; 
+        }
+
+        int x = coord[0];
+        int y = coord[1];
+
+        // Check if coordinates are within valid range
+        if (!this.geometry.isWithinRange(x, y)) {
+            clearSelection();
+            return;
+        }
+
+        Tile selectedTile = this.chessboard[y][x];
+
+        // Check if the selected tile has a chess piece and belongs to the current player
+        if (selectedTile.getChesspiece() == null || selectedTile.getChesspiece().isWhite() != this.position.isWhiteToMove()) {
+            for (Map.Entry<Vector2D,int[]> entry: this.possibleMoves.entrySet()) {
+                if (selectedTile.getCoordinate().isEqual(entry.getKey())) {
+                    this.targetTile = selectedTile;
+                    isMoving = true;
+                    clearSelection();
+                    return;
+                }
+            }
+            clearSelection();
+            return;
+        }
+
+        // Set the selected tile and calculate the legal moves of its piece
+        this.selectedTile = selectedTile;
+        this.originTile = selectedTile;
+        this.possibleMoves = legalMovesFrom(x, y);
+    }
+
+    /**
+     * Gets the legal moves of the piece on a tile from the engine, colored for highlighting.
+     * Moves that would leave the player's own king in check are not included.
+     *
+     * @param x          X-coordinate of the piece.
+     * @param y          Y-coordinate of the piece.
+     * @return Map of target coordinates to highlight colors: blue for moves, light red for captures and purple for promotions.
+     */
+    private HashMap<Vector2D, int[]> legalMovesFrom(int x, int y) {
+        HashMap<Vector2D, int[]> moves = new HashMap<>();
+        int from = this.position.square(x, y);
+        int count = MoveGenerator.generateLegalMoves(this.position, this.moves);
+        for (int i = 0; i < count; i++) {
+            int move = this.moves[i];
+            if (Move.from(move) != from) {
+                continue;
+            }
+            int to = Move.to(move);
+            int[] color = Constants.blueRGB;
+            if (this.position.get(to) != Piece.EMPTY) {
+                color = Constants.lightRedRGB;
+            } else if (Move.promotion(move) != 0) {
+                color = Constants.purpleRGB;
+            }
+            moves.put(this.chessboard[this.position.y(to)][this.position.x(to)].getCoordinate(), color);
+        }
+        return moves;
+    }
+
+    /**
+     * Clears the current selection and resets possible moves.
+     */
+    private void clearSelection() {
+        this.selectedTile = null;
+        this.possibleMoves = new HashMap<>();
+    }
+
+    /**
+     * Resets the background color of all highlighted tiles on the chessboard.
+     */
+    public void resetBoard() {
+        for (Tile tile : this.highlightedTiles) {
+            tile.resetTileColor();
+            this.dirtyTiles.add(tile);
+        }
+        this.highlightedTiles.clear();
+    }
+}
@@ -58,6 +58,26 @@ public class Player {
         return line;
     }
 
+    /**
+     * Returns the remaining time in milliseconds.
+     *
+     * @return Remaining time in milliseconds
+     */
+    public long getRemainingMs() {
+        return (this.min * 60L + this.sec) * 1000L;
+    }
+
+    /**
+     * Sets the remaining time, for example when resuming a saved game.
+     *
+     * @param remainingMs Remaining time in milliseconds
+     */
+    public void setRemainingMs(long remainingMs) {
+        long seconds = Math.max(0, remainingMs / 1000);
+        this.min = (int) (seconds / 60);
+        this.sec = (int) (seconds % 60);
+    }
+
     /**
      * Decrements the remaining time by one second.
      *
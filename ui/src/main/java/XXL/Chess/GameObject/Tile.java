@@ -1,6 +1,8 @@
 package XXL.Chess.GameObject;
 
 import processing.core.PApplet;
+import processing.core.PGraphics;
+import processing.core.PImage;
 
 import XXL.Chess.interfaces.TileInterface;
 import XXL.Chess.interfaces.GameObject;
@@ -16,6 +18,8 @@ public class Tile implements TileInterface, GameObject {
     private int[] tileColor; // Color of the tile
     private int[] originalTileColor; // Original color of the tile
     private int cellSize; // Size of the tile (width and height)
+    private int[] drawnColor; // Color the tile was last drawn with, null if never drawn
+    private boolean dirty = true; // Flag indicating if the tile must be redrawn regardless of color
 
     /**
      * Constructor for creating a Tile object.
@@ -129,6 +133,51 @@ public class Tile implements TileInterface, GameObject {
         }
     }
 
+    /**
+     * Checks if the tile needs to be redrawn, either because it was marked dirty
+     * or because its color changed since it was last drawn.
+     *
+     * @return true if the tile needs to be redrawn, false otherwise
+     */
+    public boolean isDirty() {
+        return this.dirty || this.tileColor != this.drawnColor;
+    }
+
+    /**
+     * Marks the tile to be redrawn on the next frame.
+     */
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    /**
+     * Draws the tile's original color into an offscreen board layer.
+     *
+     * @param layer The offscreen graphics holding the static board
+     */
+    public void drawBackground(PGraphics layer) {
+        layer.stroke(0, 255);
+        layer.fill(this.originalTileColor[0], this.originalTileColor[1], this.originalTileColor[2]);
+        layer.rect(this.x, this.y, this.cellSize, this.cellSize);
+    }
+
+    /**
+     * Redraws the tile using the cached board layer, drawing its highlight color as an overlay.
+     *
+     * @param app   The main PApplet instance
+     * @param layer The offscreen image holding the static board
+     */
+    public void draw(PApplet app, PImage layer) {
+        int px = (int) this.x;
+        int py = (int) this.y;
+        app.copy(layer, px, py, this.cellSize, this.cellSize, px, py, this.cellSize, this.cellSize);
+        if (this.tileColor != this.originalTileColor) {
+            draw(app);
+        }
+        this.drawnColor = this.tileColor;
+        this.dirty = false;
+    }
+
     // Implementing methods from GameObject interface
 
     /**
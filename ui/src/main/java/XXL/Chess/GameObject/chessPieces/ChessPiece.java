@@ -0,0 +1,81 @@
+package XXL.Chess.GameObject.chessPieces;
+
+import processing.core.PApplet;
+import XXL.Chess.setup.Sprite;
+
+import XXL.Chess.interfaces.GameObject;
+import XXL.Chess.physics.Vector2D;
+
+import XXL.Chess.engine.Piece;
+import XXL.Chess.engine.PieceType;
+
+/**
+ * A chess piece drawn on the board.
+ * The rules and value of the piece live in the engine's tables for its piece code, shared
+ * by built-in and declared pieces alike, so a piece only holds what differs between two pieces
+ * of the same type: its colour and where it is drawn. The sprite is shared by every piece of the
+ * type and colour.
+ */
+public final class ChessPiece implements GameObject {
+    private final byte piece; // Engine encoding of the piece: its type code and color
+    private final Sprite image; // Atlas sprite shared by all pieces of this type and color
+    private Vector2D coordinate; // Coordinate the chess piece is drawn at, between tiles while animating
+    private final int cellSize; // Size of a board cell in pixels
+
+    /**
+     * Constructor for a chess piece.
+     * @param coordinate Initial coordinate of the piece
+     * @param piece The encoded engine piece
+     * @param image Sprite representing the piece
+     * @param cellSize Size of a board cell in pixels
+     */
+    public ChessPiece(Vector2D coordinate, byte piece, Sprite image, int cellSize) {
+        this.coordinate = coordinate;
+        this.piece = piece;
+        this.image = image;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Gets the engine encoding of the chess piece.
+     * @return The encoded piece
+     */
+    public byte getPiece() {
+        return this.piece;
+    }
+
+    /**
+     * Gets the type of the chess piece.
+     * @return The piece type, or null for a piece declared in the configuration
+     */
+    public PieceType getType() {
+        return Piece.type(this.piece);
+    }
+
+    /**
+     * Gets the current coordinate of the chess piece.
+     * @return Current coordinate
+     */
+    public Vector2D getCoordinate() {
+        return this.coordinate;
+    }
+
+    /**
+     * Sets the coordinate of the chess piece.
+     * @param vec New coordinate to set
+     */
+    public void setCoordinate(Vector2D vec) {
+        this.coordinate = vec;
+    }
+
+    @Override
+    public boolean isWhite() {
+        return Piece.isWhite(this.piece);
+    }
+
+    @Override
+    public void draw(PApplet app) {
+        // Draws the pre-scaled chess piece sprite at its current coordinate
+        this.image.draw(app, coordinate.getX() * this.cellSize, coordinate.getY() * this.cellSize, this.cellSize);
+    }
+}
@@ -0,0 +1,736 @@
+package XXL.Chess;
+
+import processing.core.PApplet;
+
+import XXL.Chess.setup.BoardGeometry;
+import XXL.Chess.setup.Constants;
+import XXL.Chess.setup.Configuration;
+import XXL.Chess.setup.LoadImages;
+
+import XXL.Chess.GameObject.Tile;
+import XXL.Chess.physics.Vector2D;
+import XXL.Chess.GameObject.Player;
+import XXL.Chess.GameObject.Chessboard;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.MoveGenerator;
+import XXL.Chess.engine.Piece;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.record.GameRecord;
+import XXL.Chess.engine.record.GameWriter;
+import XXL.Chess.engine.record.MoveJournal;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manages game objects and logic for a chess game.
+ */
+public class GameObjectManager {
+    private PApplet parent; // Reference to the main PApplet instance
+    private Configuration config; // Configuration for the game
+    private Chessboard chessboard; // The chessboard object for the game
+
+    // Mouse interaction variables, set on the render thread from the Controller's event queue
+    private boolean mousePressed = false; // Flag indicating the mouse button is held down
+    private int[] mousePressedCoordinate = new int[] {-1,-1}; // Cell of the latest mouse press or release, {-1,-1} if none
+
+    // Game state flags
+    private Player player1; // Player 1
+    private Player player2; // Player 2
+    private float movementSpeed; // Speed pieces move at, taken from the configuration and changed when it is reloaded
+    private float maxMovementTime; // Longest time a move animates for, taken from the configuration and changed when it is reloaded
+
+    private boolean stop = false; // Flag to stop game
+    private boolean checkmate = false; // Flag for checkmate condition
+    private boolean stalemate = false; // Flag for stalemate condition
+    private String drawRule = null; // Rule the game was drawn by, such as "repetition", null if not drawn by rule
+
+    private String drawnSideBarText = null; // Sidebar text shown on the last drawn frame
+
+    // Game record
+    private Position position; // Engine copy of the board, kept in step with the moves played
+    private GameJournal journal; // Journal of this game for resuming after a crash
+    private int[] moveBuffer; // Reused buffer for matching moves, sized for the board
+    private GameRecord game = new GameRecord(); // Starting position and moves of this game
+    private int ply = 0; // Number of moves of the game on the board; moves after it were taken back and can be redone
+    private long[] clockHistory = new long[256]; // White and black remaining ms at each ply, two entries per ply
+    private GameWriter recorder = null; // Writer appending this game to the record file as its moves are committed, null if not recording or once recorded
+    private int recordedPly = 0; // Number of moves written to the record file
+    private GameReview review = null; // Review of the finished game, null until a ply of it is first asked for
+
+    // Network play
+    private static final int[] NO_SELECTION = new int[] {-1,-1}; // Coordinates selecting nothing
+    private NetworkGame network = null; // Game on the NetServer, null when playing locally
+    private String serverResult = null; // Result the server ended the game with, null unless it ended a game the board did not
+
+    /**
+     * Constructor for GameObjectManager.
+     * @param parent The main PApplet instance
+     * @param config The configuration of the game
+     * @param images The piece sprites, loaded once and shared by every game
+     */
+    public GameObjectManager(PApplet parent, Configuration config, LoadImages images) {
+        this.parent = parent;
+        this.config = config;
+        this.player1 = config.createPlayer();
+        this.player2 = config.createOpponent();
+        this.movementSpeed = config.getMovementSpeed();
+        this.maxMovementTime = config.getMaxTime();
+        this.journal = new GameJournal(config);
+        MoveJournal.Replay replay = this.config.getNetworkHost() == null ? this.journal.read() : null;
+        if (replay != null) {
+            // Resume the interrupted game where it stopped
+            this.position = replay.position();
+            this.game = replay.getGame();
+            this.ply = this.game.moveCount();
+            if (replay.getWhiteMs() >= 0) {
+                whitePlayer().setRemainingMs(replay.getWhiteMs());
+                blackPlayer().setRemainingMs(replay.getBlackMs());
+            }
+            System.out.println("Resumed game after " + replay.getGame().moveCount() + " moves");
+        } else {
+            this.position = createPosition(config.getGeometry(), config.getLayout());
+            this.position.setWhiteToMove(config.getPlayerTurn()); // The configured player moves first
+            this.game.setStart(this.position.copy());
+        }
+        this.moveBuffer = new int[MoveGenerator.maxMoves(this.position.getWidth(), this.position.getHeight())];
+        this.chessboard = new Chessboard(parent, config.getGeometry(), this.position, images);
+        setTags();
+        for (int i = 0; i <= this.ply; i++) {
+            saveClocks(i); // Earlier readings of a resumed game are not journalled
+        }
+        this.journal.start(this.position, replay);
+        openRecord();
+        this.network = NetworkGame.connect(parent, config, this);
+    }
+
+    /**
+     * Checks if the board may be used to move the side to move.
+     * @return True when playing locally or when seated on the side to move
+     */
+    private boolean canMove() {
+        return this.network == null || this.network.canMove(this.position.isWhiteToMove());
+    }
+
+    /**
+     * Checks if the board is ready for the next move from the server: no move is animating
+     * and the game has not ended.
+     * @return True if a move from the server can be shown
+     */
+    boolean isIdle() {
+        return !this.chessboard.isMoving() && !this.stop;
+    }
+
+    /**
+     * Gets the number of moves of the game on the board.
+     * @return The ply
+     */
+    int getPly() {
+        return this.ply;
+    }
+
+    /**
+     * Gets the engine position of the game.
+     * @return The position, to be read only
+     */
+    Position getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Sets both clocks to the readings the server sent.
+     * @param whiteMs White's remaining time in ms
+     * @param blackMs Black's remaining time in ms
+     */
+    void setClocks(long whiteMs, long blackMs) {
+        whitePlayer().setRemainingMs(whiteMs);
+        blackPlayer().setRemainingMs(blackMs);
+    }
+
+    /**
+     * Shows a legal move of the other side at once, without animating it.
+     * @param move The encoded move
+     */
+    void showMove(int move) {
+        recordMove(move);
+        this.chessboard.showPosition(this.position, move);
+    }
+
+    /**
+     * Animates a legal move of the other side; it is played once it lands, like a move made on the board.
+     * @param move The encoded move
+     */
+    void animateMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        this.chessboard.startMove(this.position.x(from), this.position.y(from), this.position.x(to), this.position.y(to));
+    }
+
+    /**
+     * Takes back the latest move, which the server rejected.
+     */
+    void takeBack() {
+        this.position.unmakeMove();
+        this.ply--;
+        this.game.truncate(this.ply);
+        this.journal.takeBack(whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+        showPly();
+    }
+
+    /**
+     * Starts following a watched game from a snapshot of its position. The snapshot becomes
+     * the start of the game record; the journal is closed, as a watched game cannot be resumed.
+     * @param snapshot The position
+     * @param whiteMs White's remaining time in ms
+     * @param blackMs Black's remaining time in ms
+     */
+    void followSnapshot(Position snapshot, long whiteMs, long blackMs) {
+        this.journal.finish(GameRecord.UNFINISHED, whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+        if (this.recorder != null && this.recorder.isInGame()) {
+            endRecordedGame(GameRecord.UNFINISHED); // The game recorded so far is replaced
+        }
+        this.recordedPly = 0;
+        this.position = snapshot;
+        this.game = new GameRecord();
+        this.game.setStart(snapshot.copy());
+        setTags();
+        this.ply = 0;
+        setClocks(whiteMs, blackMs);
+        saveClocks(0);
+        this.chessboard.setPosition(snapshot);
+    }
+
+    /**
+     * Ends the game with the result the server gave it, unless the board ends it itself.
+     * The board detects checkmate, stalemate and draws on its own; this covers games the
+     * server ended otherwise, such as on time.
+     * @param result One of the GameRecord result tokens
+     */
+    void endByServer(String result) {
+        if (result.equals(GameRecord.UNFINISHED) || this.stop || !MoveGenerator.hasLegalMove(this.position, this.moveBuffer)) {
+            return;
+        }
+        System.out.println("Game ended by the server: " + result);
+        this.serverResult = result;
+        this.stop = true;
+        endRecord(result);
+    }
+
+    /**
+     * Creates an engine position matching a layout.
+     * @param geometry Size of the board
+     * @param layout Map of coordinates to layout characters
+     * @return The position, with white to move
+     */
+    private static Position createPosition(BoardGeometry geometry, HashMap<Vector2D, Character> layout) {
+        Position position = new Position(geometry.getWidth(), geometry.getHeight());
+        for (Map.Entry<Vector2D, Character> entry : layout.entrySet()) {
+            int x = (int) entry.getKey().getX();
+            int y = (int) entry.getKey().getY();
+            if (position.isWithinRange(x, y)) {
+                position.set(position.square(x, y), Piece.fromLetter(entry.getValue()));
+            }
+        }
+        return position;
+    }
+
+    private Player whitePlayer() {
+        return player1.isWhite() ? player1 : player2;
+    }
+
+    private Player blackPlayer() {
+        return player1.isWhite() ? player2 : player1;
+    }
+
+    /**
+     * Sets the tags written with the game to the record file.
+     */
+    private void setTags() {
+        this.game.setTag("Event", "XXL Chess");
+        this.game.setTag("Date", new SimpleDateFormat("yyyy.MM.dd").format(new Date()));
+        this.game.setTag("White", whitePlayer().name);
+        this.game.setTag("Black", blackPlayer().name);
+    }
+
+    /**
+     * Remembers both clock readings at a ply, so undo and redo can restore them.
+     * @param ply The ply
+     */
+    void saveClocks(int ply) {
+        if (2 * ply + 2 > this.clockHistory.length) {
+            this.clockHistory = Arrays.copyOf(this.clockHistory, this.clockHistory.length * 2);
+        }
+        this.clockHistory[2 * ply] = whitePlayer().getRemainingMs();
+        this.clockHistory[2 * ply + 1] = blackPlayer().getRemainingMs();
+    }
+
+    /**
+     * Plays a finished move on the engine position, then adds it to the game and the journal.
+     * Moves taken back and not redone are dropped.
+     * @param done Coordinates {fromX, fromY, toX, toY} of the move
+     */
+    private void playMove(int[] done) {
+        int from = this.position.square(done[0], done[1]);
+        int to = this.position.square(done[2], done[3]);
+        int move = findMove(from, to);
+        if (move == Move.NONE) {
+            System.out.println("Move " + Move.toString(this.position, Move.of(from, to)) + " is not legal, taken back");
+            this.chessboard.showPosition(this.position, this.ply == 0 ? Move.NONE : this.game.getMove(this.ply - 1));
+            return;
+        }
+        recordMove(move);
+        this.chessboard.showPosition(this.position, move);
+        if (this.network != null) {
+            this.network.moveLanded(move);
+        }
+    }
+
+    /**
+     * Finds the legal move between two squares of the engine position.
+     * @param from Origin square index
+     * @param to Target square index
+     * @return The encoded move, or Move.NONE if no legal move matches
+     */
+    int findMove(int from, int to) {
+        int count = MoveGenerator.generateLegalMoves(this.position, this.moveBuffer);
+        for (int i = 0; i < count; i++) {
+            if (Move.from(this.moveBuffer[i]) == from && Move.to(this.moveBuffer[i]) == to) {
+                return this.moveBuffer[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Adds a legal move to the game and the journal and plays it on the engine position.
+     * @param move The encoded move
+     */
+    private void recordMove(int move) {
+        this.game.truncate(this.ply);
+        this.game.addMove(move);
+        this.position.makeMove(move);
+        this.ply++;
+        saveClocks(this.ply);
+        this.journal.append(move, whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+        checkDrawRules();
+    }
+
+    /**
+     * Ends the game as a draw if the position occurred three times or the fifty-move rule applies.
+     * Checkmate and stalemate take precedence and are left to evaluateInput.
+     */
+    private void checkDrawRules() {
+        if (this.position.repetitions() >= 2) {
+            this.drawRule = "repetition";
+        } else if (this.position.isFiftyMoveDraw()) {
+            this.drawRule = "50-move rule";
+        } else {
+            return;
+        }
+        if (!MoveGenerator.hasLegalMove(this.position, this.moveBuffer)) {
+            this.drawRule = null;
+            return;
+        }
+        System.out.println("DRAW by " + this.drawRule);
+        this.stop = true;
+        endRecord(GameRecord.DRAW);
+    }
+
+    /**
+     * Takes back the latest move. The engine position unmakes it, the board updates only
+     * the tiles it touched, and both clocks return to their readings before it.
+     * Does nothing while a move is animating, after the game has ended or in a network game.
+     */
+    public void undo() {
+        if (this.network != null || this.stop || this.ply == 0 || this.chessboard.isMoving()) {
+            return;
+        }
+        this.position.unmakeMove();
+        this.ply--;
+        this.journal.takeBack(whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+        showPly();
+    }
+
+    /**
+     * Plays again the latest move taken back with undo, with the clock readings it had.
+     * Does nothing if no move was taken back, while a move is animating, after the game has ended
+     * or in a network game.
+     */
+    public void redo() {
+        if (this.network != null || this.stop || this.ply == this.game.moveCount() || this.chessboard.isMoving()) {
+            return;
+        }
+        int move = this.game.getMove(this.ply);
+        this.position.makeMove(move);
+        this.ply++;
+        showPly();
+        this.journal.append(move, whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+    }
+
+    /**
+     * Brings the board, turn and clocks in line with the engine position after undo or redo.
+     */
+    private void showPly() {
+        whitePlayer().setRemainingMs(this.clockHistory[2 * this.ply]);
+        blackPlayer().setRemainingMs(this.clockHistory[2 * this.ply + 1]);
+        this.chessboard.showPosition(this.position, this.ply == 0 ? Move.NONE : this.game.getMove(this.ply - 1));
+        resetMousePressedCoordinate();
+    }
+
+    /**
+     * Opens the record file the game is appended to, if recording is configured.
+     * The writer flushes every move, so moves committed before a crash are kept.
+     */
+    private void openRecord() {
+        String file = this.config.getRecordFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            this.recorder = new GameWriter(new BufferedWriter(new FileWriter(file, true)), true);
+        } catch (IOException e) {
+            System.out.println("Cannot record game to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the moves up to a ply to the record file once they can no longer be taken back:
+     * in a network game when the server confirms them, and in a local game, where undo can
+     * take back any move, when the game ends. The game's tags are written with its first move.
+     * @param ply The number of moves of the game that are committed
+     */
+    void commitMoves(int ply) {
+        if (this.recorder == null) {
+            return;
+        }
+        try {
+            if (!this.recorder.isInGame()) {
+                this.recorder.beginGame(this.game.getTags(), this.game.getStart());
+            }
+            for (; this.recordedPly < Math.min(ply, this.ply); this.recordedPly++) {
+                this.recorder.writeMove(this.game.getMove(this.recordedPly));
+            }
+        } catch (IOException e) {
+            System.out.println("Cannot record move: " + e.getMessage());
+            closeRecorder();
+        }
+    }
+
+    /**
+     * Writes the result of the game being recorded, so the next one can follow it.
+     * @param result One of the GameRecord result tokens
+     */
+    private void endRecordedGame(String result) {
+        try {
+            this.recorder.endGame(result);
+        } catch (IOException e) {
+            System.out.println("Cannot record result: " + e.getMessage());
+            closeRecorder();
+        }
+    }
+
+    /**
+     * Closes the record file; the game is not written to it any more.
+     */
+    private void closeRecorder() {
+        if (this.recorder != null) {
+            try {
+                this.recorder.close();
+            } catch (IOException e) {
+                System.out.println("Cannot close record file: " + e.getMessage());
+            }
+            this.recorder = null;
+        }
+    }
+
+    /**
+     * Ends the game with a result: appends the moves not yet recorded and the result to the
+     * record file, and closes the record file and the journal.
+     * @param result One of the GameRecord result tokens
+     */
+    private void endRecord(String result) {
+        if (this.recorder != null) {
+            this.game.truncate(this.ply);
+            this.game.setResult(result);
+            commitMoves(this.ply);
+            if (this.recorder != null) {
+                endRecordedGame(result);
+            }
+            closeRecorder();
+        }
+        this.journal.finish(result, whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+    }
+
+    /**
+     * Checks if the game is still untouched: a local game no move has been played in.
+     * Such a game can be replaced without anything being lost, for example when the configuration is reloaded.
+     * @return True if no move was played and the game is not on the network
+     */
+    public boolean isUntouched() {
+        return this.network == null && this.game.moveCount() == 0;
+    }
+
+    /**
+     * Throws away an untouched game: closes its journal and record file without adding the game to it.
+     */
+    public void discard() {
+        closeRecorder();
+        this.journal.finish(GameRecord.UNFINISHED, whitePlayer().getRemainingMs(), blackPlayer().getRemainingMs());
+    }
+
+    /**
+     * Changes how fast pieces move, from the next frame on.
+     * @param reloaded The configuration to take the movement speed and maximum movement time from
+     */
+    public void setMovementTiming(Configuration reloaded) {
+        this.movementSpeed = reloaded.getMovementSpeed();
+        this.maxMovementTime = reloaded.getMaxTime();
+    }
+
+    /**
+     * Closes the record file and journal, marking the game unfinished if it has no result yet,
+     * and leaves the network game.
+     * Called before the game is thrown away, for example on restart, so it is not resumed.
+     */
+    public void closeRecord() {
+        endRecord(GameRecord.UNFINISHED);
+        if (this.network != null) {
+            try {
+                this.network.close();
+            } catch (IOException e) {
+                System.out.println("Cannot close network connection: " + e.getMessage());
+            }
+            this.network = null;
+        }
+    }
+
+    /**
+     * Steps through the finished game, showing the chosen ply on the board.
+     * Does nothing while the game is still being played.
+     * @param ply The ply to show, clamped to the game; Integer.MAX_VALUE shows the final position
+     */
+    public void reviewPly(int ply) {
+        if (startReview()) {
+            this.review.show(ply);
+        }
+    }
+
+    /**
+     * Steps the review of the finished game forward or back by some plies.
+     * Does nothing while the game is still being played.
+     * @param plies Number of plies to move, negative to go back
+     */
+    public void reviewStep(int plies) {
+        if (startReview()) {
+            this.review.step(plies);
+        }
+    }
+
+    /**
+     * Starts the review of the game once it has ended, at its final position.
+     * @return True if the game can be reviewed
+     */
+    private boolean startReview() {
+        if (this.stop && this.review == null) {
+            this.review = new GameReview(this.game, this.chessboard);
+        }
+        return this.review != null;
+    }
+
+    /**
+     * Draws the sidebar displaying game status.
+     */
+    public void drawSideBar() {
+        BoardGeometry geometry = this.config.getGeometry();
+
+        // Background for sidebar
+        this.parent.fill(180);
+        this.parent.noStroke();
+        this.parent.rect(geometry.getWindowWidth()-Constants.SIDEBAR, 0, Constants.SIDEBAR, geometry.getWindowHeight());
+
+        // Text to display based on game state
+        String text = sideBarText();
+        this.drawnSideBarText = text;
+        
+        // Text properties
+        float textSize = 16;
+        float textHeight = textSize * 0.75f;
+
+        // Positioning text in sidebar
+        float x = geometry.getWindowWidth() - Constants.SIDEBAR + 10;
+        float y = (geometry.getWindowHeight() + textHeight) / 2;
+
+        // Drawing text
+        this.parent.fill(0);
+        this.parent.textSize(textSize);
+        this.parent.textAlign(this.parent.LEFT, this.parent.CENTER);
+        this.parent.text(text, x, y);
+    }
+
+    /**
+     * Builds the sidebar text for the current game state.
+     * @return Text describing the game state
+     */
+    private String sideBarText() {
+        if (this.review != null && this.review.sideBarText() != null) {
+            return this.review.sideBarText();
+        }
+        if (stalemate) {
+            return "Stalemate";
+        } else if (drawRule != null) {
+            return "Draw by\n" + drawRule + "\nPress R to\nrestart!";
+        } else if (checkmate) {
+            return "CheckMate!\nPress R to\nrestart!";
+        } else if (serverResult != null) {
+            return "Game over\n" + serverResult + "\nPress R to\nrestart!";
+        }
+        return this.position.isWhiteToMove() ? "White's Turn" : "Black's Turn";
+    }
+
+    /**
+     * Checks if frames are only drawn when something on screen changes.
+     * @return True if redraw-on-demand mode is enabled, false otherwise
+     */
+    public boolean isRedrawOnDemand() {
+        return this.config.isRedrawOnDemand();
+    }
+
+    /**
+     * Checks if another frame is needed to bring the screen up to date,
+     * for example while a piece is animating or a highlight has changed.
+     * @return True if another frame should be drawn, false if the screen is idle
+     */
+    public boolean needsRedraw() {
+        return this.chessboard.needsRedraw() || !sideBarText().equals(this.drawnSideBarText)
+            || (this.network != null && this.network.hasPendingEvents());
+    }
+
+    /**
+     * Sets the state of mouse press.
+     * @param choice True if mouse is pressed, false otherwise
+     */
+    public void setMousePressed(boolean choice) {
+        this.mousePressed = choice;
+    }
+
+    /**
+     * Sets the coordinates of the mouse press.
+     * @param mouseX X-coordinate of the mouse press
+     * @param mouseY Y-coordinate of the mouse press
+     */
+    public void setMousePressedCoordinates(int mouseX, int mouseY) {
+        this.mousePressedCoordinate[0] = mouseX;
+        this.mousePressedCoordinate[1] = mouseY;
+    }
+    
+    /**
+     * Selects the cell of a mouse press or release at once, so a click is not lost when
+     * another arrives before the next frame, for example a click on a piece and one on its target.
+     * Ignored once the game has stopped.
+     * @param mouseX X-coordinate of the cell
+     * @param mouseY Y-coordinate of the cell
+     */
+    public void select(int mouseX, int mouseY) {
+        if (this.stop) {
+            return;
+        }
+        setMousePressedCoordinates(mouseX, mouseY);
+        this.chessboard.setSelected(canMove() ? mousePressedCoordinate : NO_SELECTION);
+    }
+
+    /**
+     * Resets the mouse press coordinates.
+     */
+    public void resetMousePressedCoordinate() {
+        this.mousePressedCoordinate[0] = -1;
+        this.mousePressedCoordinate[1] = -1;
+    }
+
+    /**
+     * Draws the chessboard tiles.
+     */
+    public void drawChessBoard() {
+        this.chessboard.drawTiles();
+    }
+
+    /**
+     * Advances the animation of the chess piece being moved.
+     * Runs before drawing so the board knows which tiles the move touches this frame.
+     */
+    public void updateChessPieces() {
+        if (this.network != null) {
+            this.network.poll();
+        }
+        this.chessboard.move(this.maxMovementTime, this.movementSpeed);
+        int[] done = this.chessboard.takeCompletedMove();
+        if (done != null) {
+            playMove(done);
+        }
+    }
+
+    /**
+     * Draws chess pieces.
+     */
+    public void drawChessPieces() {
+        this.chessboard.drawPieces();
+    }
+
+    /**
+     * Draws the selected tile.
+     */
+    public void drawSelectedTile() {
+        this.chessboard.drawSelectedTile();
+    }
+
+    /**
+     * Draws possible moves.
+     */
+    public void drawPossibleMoves() {
+        this.chessboard.drawPossibleMoves();        
+    }
+
+    /**
+     * Checks if the game should stop based on game conditions.
+     * @return True if game should stop, false otherwise
+     */
+    public boolean stop() {
+        return this.stop;
+    }
+
+    /**
+     * Ends the game on checkmate or stalemate, and drops the mouse press of a move once it has been played.
+     */
+    public void evaluateInput() {
+        // Check for stalemate or checkmate conditions: the side to move has no legal move
+        if (!this.chessboard.isMoving() && !MoveGenerator.hasLegalMove(this.position, this.moveBuffer)) {
+            if (MoveGenerator.isInCheck(this.position, this.position.isWhiteToMove())) {
+                System.out.println("CheckMate!!");
+                this.stop = true;
+                this.checkmate = true;
+                endRecord(this.position.isWhiteToMove() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+            } else {
+                System.out.println("STALEMATE!!");
+                this.stop = true;
+                this.stalemate = true;
+                endRecord(GameRecord.DRAW);
+            }
+            return;
+        }
+
+        // Drop the mouse press that started a move once the move has been played; the selection
+        // itself only changes with the presses and releases select() is given
+        if (this.chessboard.resetMousePress()) {
+            resetMousePressedCoordinate();
+            this.chessboard.mousePressedReset();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package XXL.Chess;
+
+import XXL.Chess.setup.Constants;
+
+import XXL.Chess.GameObject.Chessboard;
+
+import XXL.Chess.engine.record.GameRecord;
+import XXL.Chess.engine.record.GameReplay;
+
+/**
+ * Review of a finished game: steps through its plies with a GameReplay and shows the chosen
+ * ply on the board. Starts at the final position.
+ */
+public class GameReview {
+    private final GameReplay replay; // Replay of the finished game, at the ply shown
+    private final Chessboard chessboard; // Board the reviewed positions are shown on
+
+    /**
+     * Constructor for GameReview.
+     * @param game The finished game
+     * @param chessboard The board to show the reviewed positions on
+     */
+    public GameReview(GameRecord game, Chessboard chessboard) {
+        this.replay = new GameReplay(game, Constants.REPLAY_KEYFRAME_INTERVAL);
+        this.replay.seek(this.replay.length());
+        this.chessboard = chessboard;
+    }
+
+    /**
+     * Shows a ply of the game on the board. Neighbouring plies are reached by making or
+     * unmaking one move; others by seeking from the nearest keyframe.
+     * @param ply The ply to show, clamped to the game; Integer.MAX_VALUE shows the final position
+     */
+    public void show(int ply) {
+        if (ply == this.replay.ply() + 1) {
+            this.replay.forward();
+        } else if (ply == this.replay.ply() - 1) {
+            this.replay.back();
+        } else if (ply != this.replay.ply()) {
+            this.replay.seek(ply);
+        }
+        this.chessboard.showPosition(this.replay.position(), this.replay.lastMove());
+        this.chessboard.drawSelectedTile();
+    }
+
+    /**
+     * Moves the review forward or back by some plies.
+     * @param plies Number of plies to move, negative to go back
+     */
+    public void step(int plies) {
+        show(Math.max(0, this.replay.ply() + plies));
+    }
+
+    /**
+     * Builds the sidebar text while reviewing.
+     * @return Text giving the ply shown, or null at the final position, where the game's own text applies
+     */
+    public String sideBarText() {
+        if (this.replay.ply() == this.replay.length()) {
+            return null;
+        }
+        return "Reviewing\nply " + this.replay.ply() + "/" + this.replay.length();
+    }
+}
@@ -0,0 +1,70 @@
+package XXL.Chess;
+
+import java.util.Arrays;
+
+/**
+ * Measures the latency from a mouse press to the end of the frame that shows its highlight,
+ * and prints percentiles of the latest clicks every REPORT_INTERVAL clicks.
+ * The frame is counted as visible once draw() returns, just before Processing shows it.
+ * Used only on the render thread.
+ */
+public class InputLatency {
+    public static final int SAMPLES = 1024; // Latest clicks the percentiles are taken over
+    public static final int REPORT_INTERVAL = 50; // Clicks between reports
+
+    private long[] pending = new long[8]; // System.nanoTime of the presses handled in the frame being drawn
+    private int pendingCount = 0; // Number of presses in pending
+    private final long[] samples = new long[SAMPLES]; // Latencies in nanoseconds, a ring of the latest clicks
+    private long clicks = 0; // Number of latencies recorded
+
+    /**
+     * Notes a press handled in the frame being drawn.
+     *
+     * @param nanos System.nanoTime when the press arrived
+     */
+    public void clicked(long nanos) {
+        if (this.pendingCount == this.pending.length) {
+            this.pending = Arrays.copyOf(this.pending, 2 * this.pending.length);
+        }
+        this.pending[this.pendingCount++] = nanos;
+    }
+
+    /**
+     * Records the latency of the presses handled in a frame once it has been drawn.
+     *
+     * @param nanos System.nanoTime at the end of the frame
+     */
+    public void frameDrawn(long nanos) {
+        for (int i = 0; i < this.pendingCount; i++) {
+            this.samples[(int) (this.clicks % SAMPLES)] = nanos - this.pending[i];
+            this.clicks++;
+            if (this.clicks % REPORT_INTERVAL == 0) {
+                report();
+            }
+        }
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Prints the latency percentiles of the latest clicks.
+     */
+    private void report() {
+        long[] sorted = Arrays.copyOf(this.samples, (int) Math.min(this.clicks, SAMPLES));
+        Arrays.sort(sorted);
+        System.out.printf("%-32s p50 %.3f ms  p90 %.3f ms  p99 %.3f ms  max %.3f ms%n", "click to highlight",
+                percentile(sorted, 50) / 1e6, percentile(sorted, 90) / 1e6, percentile(sorted, 99) / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    /**
+     * Gets a percentile of sorted latencies.
+     *
+     * @param sorted     Latencies in ascending order
+     * @param percentile The percentile, from 0 to 100
+     * @return The latency at the percentile
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,184 @@
+package XXL.Chess;
+
+import processing.core.PApplet;
+
+import XXL.Chess.setup.Configuration;
+
+import XXL.Chess.engine.Move;
+import XXL.Chess.engine.Position;
+import XXL.Chess.engine.server.NetClient;
+import XXL.Chess.engine.server.NetProtocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A game played on a NetServer. Owns the connection, queues the frames the network thread
+ * receives, and on the render thread hands the moves of the other side to the GameObjectManager
+ * once they are found legal on its position. Moves made on the board are sent to the server
+ * when they land. Only the listener methods run on the network thread.
+ */
+public class NetworkGame implements NetClient.Listener, Closeable {
+    private static final String[] SEATS = {"white", "black", "spectator"}; // Names of the NetProtocol seats
+
+    private final PApplet parent; // Asked for a frame when a frame arrives
+    private final GameObjectManager manager; // Game the server's moves are handed to
+    private final NetClient client; // Connection to the NetServer
+    private volatile int game = 0; // Game joined on the NetServer
+    private volatile int seat = -1; // NetProtocol seat in the joined game, -1 until joined
+    private final ConcurrentLinkedQueue<long[]> events = new ConcurrentLinkedQueue<>(); // Frames from the network thread: {from, to, result code, white ms, black ms}, from -1 for a rejected move and -2 for a snapshot
+    private final ConcurrentLinkedQueue<Position> snapshots = new ConcurrentLinkedQueue<>(); // Positions of the snapshot events, in order
+    private int confirmedPly = 0; // Number of moves the server has confirmed
+    private String pendingResult = null; // Result sent with the animating move of the other side, null unless the animating move came from the server
+
+    /**
+     * Connects to the configured NetServer and asks to join the configured game.
+     * @param parent The main PApplet instance, asked for a frame when the server sends one
+     * @param config The configuration naming the server and game
+     * @param manager The game the server's moves are handed to
+     * @return The network game, or null when playing locally or if the server cannot be reached
+     */
+    static NetworkGame connect(PApplet parent, Configuration config, GameObjectManager manager) {
+        String host = config.getNetworkHost();
+        if (host == null) {
+            return null;
+        }
+        if (config.getBoardWidth() != Position.DEFAULT_WIDTH || config.getBoardHeight() != Position.DEFAULT_HEIGHT) {
+            System.out.println("Network games are played on the standard board; playing locally");
+            return null;
+        }
+        try {
+            return new NetworkGame(parent, manager, host, config.getNetworkPort(), config.getNetworkGame());
+        } catch (IOException e) {
+            System.out.println("Cannot connect to " + host + ":" + config.getNetworkPort() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private NetworkGame(PApplet parent, GameObjectManager manager, String host, int port, int game) throws IOException {
+        this.parent = parent;
+        this.manager = manager;
+        this.client = new NetClient(host, port, this);
+        this.client.join(game);
+    }
+
+    public void joined(int game, int seat) {
+        this.game = game;
+        this.seat = seat;
+        System.out.println(seat == NetProtocol.SEAT_NONE
+            ? "Network game " + game + " does not exist"
+            : "Joined network game " + game + " as " + SEATS[seat]);
+        this.parent.redraw();
+    }
+
+    public void moved(int game, int from, int to, String result, long whiteMs, long blackMs) {
+        this.events.add(new long[] {from, to, NetProtocol.resultCode(result), whiteMs, blackMs});
+        this.parent.redraw();
+    }
+
+    public void rejected(int game, int from, int to) {
+        this.events.add(new long[] {-1, from, to});
+        this.parent.redraw();
+    }
+
+    public void snapshot(int game, int ply, Position position, String result, long whiteMs, long blackMs) {
+        this.snapshots.add(position);
+        this.events.add(new long[] {-2, ply, NetProtocol.resultCode(result), whiteMs, blackMs});
+        this.parent.redraw();
+    }
+
+    /**
+     * Checks if the board may be used to move a side.
+     * @param whiteToMove True if white is to move
+     * @return True when seated on the side to move
+     */
+    boolean canMove(boolean whiteToMove) {
+        return whiteToMove ? this.seat == NetProtocol.SEAT_WHITE : this.seat == NetProtocol.SEAT_BLACK;
+    }
+
+    /**
+     * Checks if frames have arrived that the board has not handled yet.
+     * @return True if poll has work to do
+     */
+    boolean hasPendingEvents() {
+        return !this.events.isEmpty();
+    }
+
+    /**
+     * Handles the frames received from the server since the last frame. Echoes of moves made
+     * on this board only update the clocks; a move of the other side is animated like a move
+     * made on the board, or shown at once while more moves are waiting, for example when
+     * catching up with a game joined late. A rejected move is taken back, and a snapshot
+     * sent to a spectator replaces the game on the board. Moves the server has confirmed are
+     * committed to the record file.
+     */
+    void poll() {
+        while (this.manager.isIdle()) {
+            long[] event = this.events.poll();
+            if (event == null) {
+                return;
+            }
+            if (event[0] == -2) {
+                this.confirmedPly = 0;
+                this.manager.followSnapshot(this.snapshots.poll(), event[3], event[4]);
+                this.manager.endByServer(NetProtocol.result((byte) event[2]));
+                continue;
+            }
+            if (event[0] < 0) {
+                System.out.println("Move rejected by the server");
+                if (this.manager.getPly() > this.confirmedPly) {
+                    this.manager.takeBack();
+                }
+                continue;
+            }
+            this.manager.setClocks(event[3], event[4]);
+            this.confirmedPly++;
+            String result = NetProtocol.result((byte) event[2]);
+            if (this.confirmedPly <= this.manager.getPly()) {
+                this.manager.saveClocks(this.confirmedPly);
+                this.manager.commitMoves(this.confirmedPly);
+                this.manager.endByServer(result);
+                continue;
+            }
+            int move = this.manager.findMove((int) event[0], (int) event[1]);
+            if (move == Move.NONE) {
+                System.out.println("Move " + Move.toString(this.manager.getPosition(), Move.of((int) event[0], (int) event[1]))
+                    + " from the server not recognised");
+                return;
+            }
+            if (!this.events.isEmpty()) {
+                this.manager.showMove(move);
+                this.manager.commitMoves(this.confirmedPly);
+            } else {
+                this.pendingResult = result;
+                this.manager.animateMove(move);
+            }
+        }
+    }
+
+    /**
+     * Called once a move has landed on the board: sends a move made on the board to the server,
+     * or ends the game if the server ended it with the move of the other side.
+     * @param move The encoded move
+     */
+    void moveLanded(int move) {
+        if (this.pendingResult != null) {
+            String result = this.pendingResult;
+            this.pendingResult = null;
+            this.manager.commitMoves(this.confirmedPly);
+            this.manager.endByServer(result);
+        } else {
+            this.client.move(this.game, Move.from(move), Move.to(move));
+        }
+    }
+
+    /**
+     * Leaves the network game.
+     * @throws IOException If closing the connection fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.client.close();
+    }
+}
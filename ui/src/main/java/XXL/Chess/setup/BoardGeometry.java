@@ -0,0 +1,82 @@
+package XXL.Chess.setup;
+
+/**
+ * Size of the board in cells and of the board and window in pixels, derived from the
+ * configured board size. Cells keep their full size up to 14 cells and shrink on larger
+ * boards so the window still fits. Not changed once created.
+ */
+public final class BoardGeometry {
+    private final int width; // Width of the chess board (number of cells)
+    private final int height; // Height of the chess board (number of cells)
+    private final int cellSize; // Size of each cell on the chess board in pixels
+
+    /**
+     * Constructor for BoardGeometry.
+     *
+     * @param width  Number of cells across, from MIN_BOARD_SIZE to MAX_BOARD_SIZE
+     * @param height Number of cells down, from MIN_BOARD_SIZE to MAX_BOARD_SIZE
+     * @throws IllegalArgumentException If a side is out of range
+     */
+    public BoardGeometry(int width, int height) {
+        if (width < Constants.MIN_BOARD_SIZE || height < Constants.MIN_BOARD_SIZE
+                || width > Constants.MAX_BOARD_SIZE || height > Constants.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board is " + width + "x" + height
+                    + ", sides must be " + Constants.MIN_BOARD_SIZE + " to " + Constants.MAX_BOARD_SIZE);
+        }
+        this.width = width;
+        this.height = height;
+        this.cellSize = Math.min(Constants.MAX_CELLSIZE, Constants.BOARD_PIXELS / Math.max(width, height));
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getCellSize() {
+        return this.cellSize;
+    }
+
+    /**
+     * Gets the width of the game window: the board and the sidebar.
+     *
+     * @return Width in pixels
+     */
+    public int getWindowWidth() {
+        return this.cellSize * this.width + Constants.SIDEBAR;
+    }
+
+    /**
+     * Gets the height of the game window, that of the board.
+     *
+     * @return Height in pixels
+     */
+    public int getWindowHeight() {
+        return this.cellSize * this.height;
+    }
+
+    /**
+     * Checks if the given coordinates (x, y) are within the bounds of the chess board.
+     *
+     * @param x The x-coordinate to check
+     * @param y The y-coordinate to check
+     * @return true if (x, y) is within the board boundaries, false otherwise
+     */
+    public boolean isWithinRange(int x, int y) {
+        return x >= 0 && y >= 0 && x < this.width && y < this.height;
+    }
+
+    /**
+     * Checks if the given floating point coordinates (x, y) are within the bounds of the chess board.
+     *
+     * @param x The x-coordinate to check
+     * @param y The y-coordinate to check
+     * @return true if (x, y) is within the board boundaries, false otherwise
+     */
+    public boolean isWithinRange(float x, float y) {
+        return x >= 0 && y >= 0 && x < this.width && y < this.height;
+    }
+}
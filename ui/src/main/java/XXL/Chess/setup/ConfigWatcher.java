@@ -0,0 +1,160 @@
+package XXL.Chess.setup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watches config.json and the layout file and reads them again when they change.
+ * Reading happens on a background thread, so the render thread only picks up the finished
+ * Configuration with poll() at a point where swapping it in is safe. A configuration that
+ * cannot be read, or that changes the board size or the declared pieces, is reported and
+ * ignored, and the game keeps the configuration it has.
+ */
+public class ConfigWatcher implements Closeable {
+    private static final long SETTLE_MS = 50; // Quiet time after a change before reading, since editors save in several writes
+
+    private final Configuration startup; // Configuration read at startup, fixing the board size and pieces
+    private final Runnable changed; // Called on the watcher thread when a new configuration is ready
+    private final WatchService watcher;
+    private final Thread loop; // Thread waiting for file changes
+    private final Set<Path> directories = new HashSet<>(); // Directories registered with the watcher
+    private final AtomicReference<Configuration> pending = new AtomicReference<>(); // Latest configuration not yet picked up, null if none
+    private volatile Path layoutFile; // Layout file of the latest configuration read
+    private volatile boolean closed = false;
+
+    /**
+     * Starts watching the configuration and layout files.
+     *
+     * @param startup The configuration read at startup
+     * @param changed Called on the watcher thread when a new configuration is ready, for example to request a frame
+     * @throws IOException If the files cannot be watched
+     */
+    public ConfigWatcher(Configuration startup, Runnable changed) throws IOException {
+        this.startup = startup;
+        this.changed = changed;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        this.layoutFile = resolve(startup.getLayoutFile());
+        watchDirectoryOf(resolve(Constants.configPath));
+        watchDirectoryOf(this.layoutFile);
+        this.loop = new Thread(this::run, "config-watcher");
+        this.loop.setDaemon(true);
+        this.loop.start();
+    }
+
+    /**
+     * Takes the configuration read since the last call.
+     * Called on the render thread; only the latest configuration is kept if several were read.
+     *
+     * @return The new configuration, or null if the files have not changed
+     */
+    public Configuration poll() {
+        return this.pending.getAndSet(null);
+    }
+
+    /**
+     * Stops watching the files.
+     *
+     * @throws IOException If closing the watch service fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.watcher.close();
+    }
+
+    /**
+     * Waits for changes to the watched files, lets them settle, then reads the configuration.
+     */
+    private void run() {
+        try {
+            while (!this.closed) {
+                boolean relevant = drain(this.watcher.take());
+                WatchKey key;
+                while ((key = this.watcher.poll(SETTLE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(key);
+                }
+                if (relevant) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    /**
+     * Reads the events of a watch key and re-arms it.
+     *
+     * @param key The signalled key
+     * @return True if one of the events touched config.json or the layout file
+     */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true; // Events were lost, so read anyway
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            relevant |= file.equals(resolve(Constants.configPath)) || file.equals(this.layoutFile);
+        }
+        key.reset();
+        return relevant;
+    }
+
+    /**
+     * Reads the configuration and hands it to the render thread if it can be used.
+     */
+    private void reload() {
+        Configuration config;
+        try {
+            config = Configuration.read();
+        } catch (Exception e) {
+            System.out.println("Configuration not reloaded: " + e.getMessage());
+            return;
+        }
+        if (!config.hasSameBoard(this.startup)) {
+            System.out.println("Configuration not reloaded: the board size and pieces take effect after restarting the app");
+            return;
+        }
+        this.layoutFile = resolve(config.getLayoutFile());
+        try {
+            watchDirectoryOf(this.layoutFile);
+        } catch (IOException e) {
+            System.out.println("Cannot watch " + this.layoutFile + ": " + e.getMessage());
+        }
+        this.pending.set(config);
+        this.changed.run();
+    }
+
+    /**
+     * Registers the directory holding a file, unless it is registered already.
+     *
+     * @param file The file to watch
+     * @throws IOException If the directory cannot be watched
+     */
+    private void watchDirectoryOf(Path file) throws IOException {
+        Path directory = file.getParent();
+        if (this.directories.add(directory)) {
+            directory.register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+    }
+
+    private static Path resolve(String file) {
+        return Paths.get(file).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,360 @@
+package XXL.Chess.setup;
+
+import processing.data.JSONObject;
+import processing.data.JSONArray;
+
+import XXL.Chess.GameObject.Player; // Assuming Player class exists in XXL.Chess.GameObject package
+import XXL.Chess.physics.Vector2D; // Assuming Vector2D class exists in XXL.Chess.physics package
+
+import XXL.Chess.engine.FairyPieces;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Scanner;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class for loading and managing configurations for a chess game.
+ * A Configuration is not changed once read, so one read off the render thread by the
+ * ConfigWatcher can be handed to the game as it is.
+ */
+public class Configuration {
+
+    private JSONObject conf; // JSON object holding configuration data
+
+    private String layoutFile; // File path to the layout configuration
+    private HashMap<Vector2D, Character> layout; // Map to store layout data (position and character)
+    private int boardWidth; // Width of the board in cells
+    private int boardHeight; // Height of the board in cells
+    private BoardGeometry geometry; // Board size in cells and pixels
+
+    private Player player1; // Player 1 as configured, copied for each game
+    private Player player2; // Player 2 as configured, copied for each game
+    
+    private float pieceMovementSpeed; // Speed at which pieces can move
+    private float maxMovementTime; // Maximum allowed movement time
+    private boolean redrawOnDemand; // Flag indicating frames are drawn only when something changes
+    private String recordFile; // File games are appended to, or null to not record games
+    private String journalFile; // File the game in progress is journalled to, or null to not journal
+    private String networkHost; // Host of the NetServer to play on, or null to play locally
+    private int networkPort; // Port of the NetServer
+    private int networkGame; // Game to join on the NetServer, 0 to create a new game
+    private LinkedHashMap<Character, String> pieceSprites = new LinkedHashMap<>(); // Sprite name of each declared piece, by lower-case layout letter
+    private LinkedHashMap<Character, String> pieceRules = new LinkedHashMap<>(); // Betza notation of each declared piece, by lower-case layout letter
+    private LinkedHashMap<Character, Integer> pieceValues = new LinkedHashMap<>(); // Value of each declared piece in centipawns, by lower-case layout letter
+    
+    private boolean playerTurn; // Flag indicating current player's turn
+
+    /**
+     * Constructor to initialize the Configuration object at startup.
+     * Declares the configured pieces, and exits if the configuration is invalid.
+     */
+    public Configuration() {
+        try {
+            // Load configuration data
+            conf = JSONObject.parse(readFile(Constants.configPath));
+            load();
+            // Declare the pieces for the rest of the run
+            declarePieces();
+
+        } catch (FileNotFoundException e) {
+            System.out.println("Layout File Doesn't Exist");
+            System.exit(1);
+        } catch (Exception e) {
+            System.out.println("Error loading configuration: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Constructor for a configuration read while the game runs. Nothing outside the
+     * configuration is changed, so it can run on any thread.
+     *
+     * @param conf The parsed configuration file
+     * @throws Exception If the configuration or layout is invalid
+     */
+    private Configuration(JSONObject conf) throws Exception {
+        this.conf = conf;
+        load();
+    }
+
+    /**
+     * Reads the configuration and layout files again, for example after they were edited.
+     * Unlike the constructor, this does not declare pieces, and reports errors instead of exiting.
+     *
+     * @return The configuration as the files are now
+     * @throws Exception If a file cannot be read or the configuration or layout is invalid
+     */
+    public static Configuration read() throws Exception {
+        return new Configuration(JSONObject.parse(readFile(Constants.configPath)));
+    }
+
+    /**
+     * Reads the settings, players and layout from the parsed configuration.
+     *
+     * @throws Exception If the configuration or layout is invalid
+     */
+    private void load() throws Exception {
+        // Load configuration data
+        loadConfiguration();
+        // Initialize players based on configuration
+        initializePlayers();
+        // Determine which player's turn it is
+        determinePlayerTurn();
+        // Load layout configuration
+        loadLayout();
+    }
+
+    /**
+     * Reads the settings of the parsed configuration file.
+     * 
+     * @throws Exception If there's an error parsing the configuration.
+     */
+    private void loadConfiguration() throws Exception {
+        // Read specific configuration values
+        layoutFile = conf.getString("layout");
+        pieceMovementSpeed = (float) conf.getFloat("piece_movement_speed");
+        maxMovementTime = conf.getFloat("max_movement_time");
+        redrawOnDemand = conf.getBoolean("redraw_on_demand", false);
+        recordFile = conf.getString("record_file", null);
+        journalFile = conf.getString("journal_file", null);
+        JSONObject network = conf.hasKey("network") ? conf.getJSONObject("network") : null;
+        if (network != null) {
+            networkHost = network.getString("host", "127.0.0.1");
+            networkPort = network.getInt("port", 7015);
+            networkGame = network.getInt("game", 0);
+        }
+        JSONArray pieces = conf.hasKey("pieces") ? conf.getJSONArray("pieces") : null;
+        if (pieces != null) {
+            loadPieces(pieces);
+        }
+    }
+
+    /**
+     * Reads the pieces listed in the configuration, so layouts can use their letters.
+     * Each entry gives the layout letter, the movement in Betza notation, the material value
+     * and the name of the sprite files "w-&lt;sprite&gt;.png" and "b-&lt;sprite&gt;.png".
+     *
+     * @param pieces The "pieces" array of the configuration.
+     * @throws IllegalArgumentException If a declaration is invalid.
+     */
+    private void loadPieces(JSONArray pieces) {
+        for (int i = 0; i < pieces.size(); i++) {
+            JSONObject piece = pieces.getJSONObject(i);
+            String letter = piece.getString("letter");
+            if (letter.length() != 1) {
+                throw new IllegalArgumentException("Piece letter must be one character: \"" + letter + "\"");
+            }
+            char lower = Character.toLowerCase(letter.charAt(0));
+            pieceRules.put(lower, piece.getString("betza"));
+            pieceValues.put(lower, piece.getInt("value"));
+            pieceSprites.put(lower, piece.getString("sprite"));
+        }
+    }
+
+    /**
+     * Declares the pieces read from the configuration with the engine.
+     *
+     * @throws IllegalArgumentException If a declaration is invalid.
+     */
+    private void declarePieces() {
+        for (Map.Entry<Character, String> rule : pieceRules.entrySet()) {
+            FairyPieces.define(rule.getKey(), rule.getValue(), pieceValues.get(rule.getKey()));
+        }
+    }
+
+    /**
+     * Initializes player objects based on configuration data.
+     * 
+     * @throws Exception If there's an error initializing player details from configuration.
+     */
+    private void initializePlayers() throws Exception {
+        JSONObject playerDetails = conf.getJSONObject("time_controls");
+        JSONObject p1 = playerDetails.getJSONObject("player");
+        JSONObject p2 = playerDetails.getJSONObject("cpu");
+
+        // Determine player color based on configuration
+        boolean isPlayer1White = conf.getString("player_colour").equals("white");
+
+        // Initialize player objects
+        player1 = new Player("player", p1.getInt("seconds"), p1.getInt("increment"), isPlayer1White);
+        player2 = new Player("cpu", p2.getInt("seconds"), p2.getInt("increment"), !isPlayer1White);
+    }
+
+    /**
+     * Determines which player's turn it is based on initial configuration.
+     */
+    private void determinePlayerTurn() {
+        playerTurn = player1.isWhite(); // Assuming isWhite() method determines if player is white
+    }
+
+    /**
+     * Loads the layout configuration file and populates the layout map.
+     * The board size is taken from "board_width" and "board_height" if set, otherwise
+     * from the longest line and the number of lines of the layout file.
+     * 
+     * @throws FileNotFoundException If the layout configuration file is not found.
+     * @throws IllegalArgumentException If the layout does not fit the board or lacks a king of either colour.
+     */
+    private void loadLayout() throws FileNotFoundException {
+        // Load layout file
+        File f = new File(layoutFile);
+        Scanner scan = new Scanner(f);
+        layout = new HashMap<>();
+
+        // Read layout file line by line
+        int i = 0;
+        int longest = 0;
+        while (scan.hasNext()) {
+            String s = scan.nextLine();
+            char[] ch = s.toCharArray();
+            longest = Math.max(longest, s.stripTrailing().length());
+            for (int j = 0; j < ch.length; j++) {
+                if (ch.length > 0 && ch[j] != ' ') {
+                    Vector2D temp_coord = new Vector2D(j, i);
+                    layout.put(temp_coord, ch[j]);
+                }
+            }
+            i++;
+        }
+        scan.close();
+
+        // The board is as large as the layout unless the configuration sets its size
+        boardWidth = conf.getInt("board_width", longest);
+        boardHeight = conf.getInt("board_height", i);
+        geometry = new BoardGeometry(boardWidth, boardHeight);
+        for (Vector2D coord : layout.keySet()) {
+            if (coord.getX() >= boardWidth || coord.getY() >= boardHeight) {
+                throw new IllegalArgumentException("Layout does not fit a " + boardWidth + "x" + boardHeight + " board");
+            }
+        }
+        if (!layout.containsValue('K') || !layout.containsValue('k')) {
+            throw new IllegalArgumentException("Layout needs a king of each colour");
+        }
+    }
+
+    /**
+     * Checks if another configuration has the same board size and declared pieces.
+     * Those are fixed for the run, since the window is sized from the board and the engine's
+     * piece tables are shared by every game; the other settings may differ.
+     *
+     * @param other The configuration to compare with
+     * @return True if the board size and piece declarations match
+     */
+    public boolean hasSameBoard(Configuration other) {
+        return boardWidth == other.boardWidth && boardHeight == other.boardHeight
+            && pieceRules.equals(other.pieceRules) && pieceValues.equals(other.pieceValues)
+            && pieceSprites.equals(other.pieceSprites);
+    }
+
+    /**
+     * Returns the layout map containing positions and characters based on layout configuration.
+     * 
+     * @return HashMap representing the layout configuration.
+     */
+    public HashMap<Vector2D, Character> getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Utility method to read a file and return its content as a string.
+     * 
+     * @param filePath Path of the file to read.
+     * @return Content of the file as a string.
+     * @throws FileNotFoundException If the file specified by filePath is not found.
+     */
+    private static String readFile(String filePath) throws FileNotFoundException {
+        StringBuilder contentBuilder = new StringBuilder();
+        try (Scanner scanner = new Scanner(new File(filePath))) {
+            while (scanner.hasNextLine()) {
+                contentBuilder.append(scanner.nextLine()).append("\n");
+            }
+        }
+        return contentBuilder.toString();
+    }
+
+    // Getter methods for various configuration values
+
+    public String getLayoutFile() {
+        return this.layoutFile;
+    }
+
+    public int getBoardWidth() {
+        return this.boardWidth;
+    }
+
+    public int getBoardHeight() {
+        return this.boardHeight;
+    }
+
+    public BoardGeometry getGeometry() {
+        return this.geometry;
+    }
+
+    public float getMovementSpeed() {
+        return this.pieceMovementSpeed;
+    }
+
+    public float getMaxTime() {
+        return this.maxMovementTime;
+    }
+
+    /**
+     * Creates player 1 with a full clock. Each game gets its own Player, since the clock
+     * runs down during play while the configuration is kept across restarts.
+     *
+     * @return A new Player for player 1
+     */
+    public Player createPlayer() {
+        return copy(this.player1);
+    }
+
+    /**
+     * Creates the opponent with a full clock, as createPlayer does.
+     *
+     * @return A new Player for player 2
+     */
+    public Player createOpponent() {
+        return copy(this.player2);
+    }
+
+    private static Player copy(Player player) {
+        return new Player(player.name, player.time, player.increment, player.isWhite);
+    }
+
+    public boolean getPlayerTurn() {
+        return this.playerTurn;
+    }
+
+    public boolean isRedrawOnDemand() {
+        return this.redrawOnDemand;
+    }
+
+    public String getRecordFile() {
+        return this.recordFile;
+    }
+
+    public String getJournalFile() {
+        return this.journalFile;
+    }
+
+    public LinkedHashMap<Character, String> getPieceSprites() {
+        return this.pieceSprites;
+    }
+
+    public String getNetworkHost() {
+        return this.networkHost;
+    }
+
+    public int getNetworkPort() {
+        return this.networkPort;
+    }
+
+    public int getNetworkGame() {
+        return this.networkGame;
+    }
+
+}
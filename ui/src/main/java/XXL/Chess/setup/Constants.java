@@ -0,0 +1,32 @@
+package XXL.Chess.setup;
+
+/**
+ * Constants for a chess game setup.
+ */
+public class Constants {
+
+    // Size constants
+    public static final int SPRITESIZE = 480; // Size of sprites
+    public static final int MAX_CELLSIZE = 48; // Size of each cell on boards up to 14 cells wide and high
+    public static final int BOARD_PIXELS = 672; // Largest width or height of the board in pixels; cells shrink to fit
+    public static final int SIDEBAR = 120;   // Width of the sidebar
+    public static final int MIN_BOARD_SIZE = 8; // Smallest board width or height in cells
+    public static final int MAX_BOARD_SIZE = 32; // Largest board width or height in cells, as the engine's Position.MAX_SIZE
+
+    // Game configuration
+    public static final int FPS = 60;          // Frames per second
+    public static final String configPath = "config.json"; // Path to the configuration file
+    public static final long JOURNAL_COMMIT_MS = 100; // Longest time a journalled move waits to be forced to disk
+    public static final int REPLAY_KEYFRAME_INTERVAL = 16; // Plies between board snapshots when reviewing a game
+
+    // RGB color definitions
+    public static final int[] whiteRGB = {236, 218, 185};
+    public static final int[] blackRGB = {174, 138, 104};
+    public static final int[] greenRGB = {112, 137, 83};
+    public static final int[] blueRGB = {201, 223, 231};
+    public static final int[] lightRedRGB = {242, 168, 113};
+    public static final int[] redRGB = {197, 41, 28};
+    public static final int[] lightYellowRGB = {206, 210, 120};
+    public static final int[] purpleRGB = {75, 0, 130};
+
+}
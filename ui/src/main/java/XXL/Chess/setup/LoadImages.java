@@ -0,0 +1,248 @@
+package XXL.Chess.setup;
+
+import processing.core.PApplet;
+import processing.core.PConstants;
+import processing.core.PImage;
+
+import XXL.Chess.engine.Piece;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class responsible for loading chess piece images.
+ * All sprites are scaled once to the cell size and packed into a single atlas image,
+ * so drawing a piece is an unscaled copy of one atlas cell. Sprites for the pieces in the
+ * layout are decoded in parallel at startup; the others are loaded on first use.
+ * Pieces declared in the configuration get a column of the atlas after the built-in ones.
+ */
+public class LoadImages {
+
+    // Sprite names of the built-in pieces in atlas column order, loaded from "w-<name>.png" and "b-<name>.png"
+    private static final String[] NAMES = {
+        "pawn", "rook", "queen", "knight", "king", "knight-king", "chancellor", "camel", "bishop", "archbishop", "amazon"
+    };
+    private static final String PIECE_CHARS = "prqnkgecbha"; // Layout characters of the built-in pieces in atlas column order
+
+    private String pieceChars = PIECE_CHARS; // Layout characters in atlas column order, declared pieces last
+    private int columns; // Number of sprites per atlas row
+    private String[] filenames; // Sprite files in atlas order: white pieces on the first row, black pieces on the second
+    private Sprite[] sprites; // One shared sprite per piece type and colour, in atlas order
+
+    private PApplet sketch; // Processing PApplet instance
+    private PImage atlas; // Single image holding every sprite scaled to the cell size
+    private int atlasCellSize; // Cell size the atlas was built for
+    private boolean[] loaded; // Flags marking sprites already in the atlas
+
+    /**
+     * Constructor for LoadImages.
+     * 
+     * @param sketch   The PApplet sketch instance
+     * @param geometry The board size, giving the cell size the sprites are scaled to
+     * @param pieces   Layout characters of the pieces on the board, loaded upfront
+     * @param declared Sprite names of the pieces declared in the configuration, by lower-case layout character
+     */
+    public LoadImages(PApplet sketch, BoardGeometry geometry, Collection<Character> pieces, Map<Character, String> declared) {    
+        this.sketch = sketch;  
+        List<String> names = new ArrayList<>(List.of(NAMES));
+        for (Map.Entry<Character, String> entry : declared.entrySet()) {
+            this.pieceChars += entry.getKey();
+            names.add(entry.getValue());
+        }
+        this.columns = names.size();
+        this.filenames = new String[2 * this.columns];
+        this.sprites = new Sprite[this.filenames.length];
+        for (int i = 0; i < this.columns; i++) {
+            this.filenames[i] = "w-" + names.get(i) + ".png";
+            this.filenames[this.columns + i] = "b-" + names.get(i) + ".png";
+        }
+        for (int i = 0; i < this.sprites.length; i++) {
+            this.sprites[i] = new Sprite(this, i);
+        }
+        createAtlas(geometry.getCellSize());
+        loadImages(spritesInLayout(pieces)); // Load the sprites in use upon initialization
+    }
+
+    /**
+     * Gets the sprite of a piece. Every piece of the same type and colour shares it.
+     *
+     * @param piece The encoded engine piece
+     * @return The sprite
+     */
+    public Sprite sprite(byte piece) {
+        int column = this.pieceChars.indexOf(Character.toLowerCase(Piece.toLetter(piece)));
+        return this.sprites[(Piece.isWhite(piece) ? 0 : this.columns) + column];
+    }
+
+    /**
+     * Allocates an empty atlas for the given cell size. Sprites are added as they are loaded.
+     *
+     * @param cellSize The width and height of one sprite in the atlas
+     */
+    private void createAtlas(int cellSize) {
+        this.atlas = this.sketch.createImage(this.columns * cellSize, 2 * cellSize, PConstants.ARGB);
+        this.atlasCellSize = cellSize;
+        this.loaded = new boolean[this.filenames.length];
+    }
+
+    /**
+     * Finds the sprites needed by the pieces in a layout.
+     * A side with pawns also needs its queen, since pawns promote to queens.
+     *
+     * @param pieces Layout characters of the pieces on the board
+     * @return Indices of the sprites to load
+     */
+    private List<Integer> spritesInLayout(Collection<Character> pieces) {
+        boolean[] needed = new boolean[this.filenames.length];
+        for (char piece : pieces) {
+            int column = this.pieceChars.indexOf(Character.toLowerCase(piece));
+            if (column < 0) {
+                continue;
+            }
+            int row = Character.isUpperCase(piece) ? 0 : this.columns;
+            needed[row + column] = true;
+            if (column == 0) {
+                needed[row + this.pieceChars.indexOf('q')] = true;
+            }
+        }
+
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < needed.length; i++) {
+            if (needed[i]) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Decodes and scales the given sprites in parallel, then packs them into the atlas.
+     *
+     * @param indices Indices of the sprites to load
+     */
+    private void loadImages(List<Integer> indices) {
+        long start = System.nanoTime();
+        int threads = Math.max(1, Math.min(indices.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            // Decode and scale on the pool
+            List<Callable<PImage>> tasks = new ArrayList<>();
+            for (int index : indices) {
+                tasks.add(() -> loadScaledImage(this.filenames[index], this.atlasCellSize));
+            }
+            List<Future<PImage>> images = pool.invokeAll(tasks);
+
+            // Pack into the atlas on this thread, since PImage is not thread-safe; a sprite that failed stays empty
+            for (int i = 0; i < indices.size(); i++) {
+                PImage image = null;
+                try {
+                    image = images.get(i).get();
+                } catch (ExecutionException e) {
+                    System.out.println("Cannot load " + this.filenames[indices.get(i)] + ": " + e.getCause());
+                }
+                addToAtlas(indices.get(i), image);
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Loading sprites interrupted; the rest load on first use");
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Loaded " + indices.size() + " sprites in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Copies a scaled sprite into its atlas cell and marks it as loaded.
+     *
+     * @param index Index of the sprite
+     * @param image The sprite scaled to the cell size, or null if it failed to load
+     */
+    private void addToAtlas(int index, PImage image) {
+        if (image != null) {
+            this.atlas.set(atlasX(index), atlasY(index), image);
+        }
+        this.loaded[index] = true;
+    }
+
+    /**
+     * Draws one sprite of the atlas, rebuilding the atlas first if the cell size changed.
+     *
+     * @param app   The PApplet to draw on
+     * @param index Index of the sprite in the atlas
+     * @param x     The x-coordinate in pixels
+     * @param y     The y-coordinate in pixels
+     * @param size  The width and height to draw the sprite at in pixels
+     */
+    public void drawSprite(PApplet app, int index, float x, float y, int size) {
+        if (size != this.atlasCellSize) {
+            createAtlas(size);
+        }
+        if (!this.loaded[index]) {
+            // Lazy-load sprites that were not in the layout
+            addToAtlas(index, loadScaledImage(this.filenames[index], size));
+        }
+        int u = atlasX(index);
+        int v = atlasY(index);
+        app.image(this.atlas, x, y, size, size, u, v, u + size, v + size);
+    }
+
+    /**
+     * Gets the x-coordinate of a sprite's cell in the atlas.
+     *
+     * @param index Index of the sprite
+     * @return The x-coordinate in pixels
+     */
+    private int atlasX(int index) {
+        return (index % this.columns) * this.atlasCellSize;
+    }
+
+    /**
+     * Gets the y-coordinate of a sprite's cell in the atlas.
+     *
+     * @param index Index of the sprite
+     * @return The y-coordinate in pixels
+     */
+    private int atlasY(int index) {
+        return (index / this.columns) * this.atlasCellSize;
+    }
+
+    /**
+     * Loads an image and scales it to the cell size.
+     *
+     * @param filename The filename of the image to load
+     * @param cellSize The width and height to scale the image to
+     * @return The scaled PImage object, or null if it failed to load
+     */
+    private PImage loadScaledImage(String filename, int cellSize) {
+        PImage image = loadImage(filename);
+        if (image != null) {
+            image.resize(cellSize, cellSize);
+        }
+        return image;
+    }
+
+    /**
+     * Loads an image from the file path relative to the sketch.
+     * 
+     * @param filename The filename of the image to load
+     * @return The loaded PImage object
+     */
+    private PImage loadImage(String filename) {
+        try {
+            // Get the file path relative to the sketch
+            String filePath = this.sketch.getClass().getResource(filename).getPath().replace("%20", " ");
+            // Load the image using Processing's loadImage method
+            return sketch.loadImage(filePath);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null; // or handle the error in an appropriate way
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package XXL.Chess.setup;
+
+import processing.core.PApplet;
+
+/**
+ * A chess piece sprite stored as one cell of the sprite atlas built by LoadImages.
+ */
+public class Sprite {
+    private LoadImages atlas; // Atlas holding the pre-scaled sprite
+    private int index; // Index of the sprite's cell in the atlas
+
+    /**
+     * Constructor for Sprite.
+     *
+     * @param atlas The atlas holding the sprite
+     * @param index Index of the sprite's cell in the atlas
+     */
+    public Sprite(LoadImages atlas, int index) {
+        this.atlas = atlas;
+        this.index = index;
+    }
+
+    /**
+     * Gets the index of the sprite's cell in the atlas.
+     *
+     * @return The index of the sprite
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Draws the sprite with its top-left corner at the given position.
+     *
+     * @param app  The PApplet to draw on
+     * @param x    The x-coordinate in pixels
+     * @param y    The y-coordinate in pixels
+     * @param size The width and height to draw the sprite at in pixels
+     */
+    public void draw(PApplet app, float x, float y, int size) {
+        this.atlas.drawSprite(app, this.index, x, y, size);
+    }
+}